@@ -0,0 +1,70 @@
+package io.security.springsecuritymaster.security.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 요청 스레드가 감사 이벤트 하나에 쓰는 시간. 저장은 하지 않는 sink 로 쓰기 스레드만 돌려 버퍼가 비워지게 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class AuditTrailPublisherBenchmark {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditTrailPublisherBenchmark.class);
+  private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+  private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+  private final Supplier<Authentication> authentication =
+      () -> new TestingAuthenticationToken("user", null, "ROLE_USER");
+  private HttpServletRequest request;
+  private AuditTrailPublisher publisher;
+
+  @Setup
+  public void setup() {
+    request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+          case "getMethod" -> "GET";
+          case "getRequestURI" -> "/admin/users/7";
+          default -> null;
+        });
+    publisher = new AuditTrailPublisher(events -> {
+    }, 65536, 1024, Duration.ofMillis(1), 0.01);
+    publisher.start();
+  }
+
+  @TearDown
+  public void tearDown() {
+    publisher.stop();
+    // 시간만으로는 버퍼가 넘쳐 버린 이벤트가 빠른 것처럼 보일 수 있어 함께 남긴다.
+    log.info("Audit events written={} dropped={}", publisher.getWritten(), publisher.getDropped());
+  }
+
+  @Benchmark
+  public void denied() {
+    publisher.publishAuthorizationEvent(authentication, request, DENIED);
+  }
+
+  @Benchmark
+  public void grantedSampled() {
+    publisher.publishAuthorizationEvent(authentication, request, GRANTED);
+  }
+}
@@ -0,0 +1,90 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static io.security.springsecuritymaster.security.manager.AuthorizationManagerFixture.stub;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.security.matcher.PathPatternRequestMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+
+/**
+ * 매핑 수에 따라 {@code check()} 한 번의 비용을 잰다. 비교 대상은 트라이 도입 전처럼 모든 매핑을 순서대로 비교하는 방식이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorizationCheckBenchmark {
+
+  private static final AuthorizationDecision ACCESS = new AuthorizationDecision(true);
+
+  @Param({"10", "1000", "50000"})
+  private int mappings;
+
+  private final Supplier<Authentication> authentication =
+      () -> new TestingAuthenticationToken("user", null, "ROLE_USER");
+  private final List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> linear = new ArrayList<>();
+  private CustomDynamicAuthorizationManager manager;
+  private RequestAuthorizationContext context;
+
+  @Setup
+  public void setup() {
+    List<UrlRoleDto> urlRoles = new ArrayList<>();
+    for (int i = 0; i < mappings; i++) {
+      String pattern = "/module" + i + "/items/{id}";
+      String role = i % 2 == 0 ? "ROLE_USER" : "ROLE_MANAGER";
+      urlRoles.add(new UrlRoleDto((long) i, pattern, null, i, role));
+      linear.add(new RequestMatcherEntry<>(PathPatternRequestMatcher.of(pattern),
+          AuthorityAuthorizationManager.hasAuthority(role)));
+    }
+
+    ResourcesRepository resourcesRepository = stub(ResourcesRepository.class, urlRoles);
+    manager = AuthorizationManagerFixture.of(resourcesRepository).build();
+
+    // 마지막 매핑에 걸리는 요청이 순차 비교에는 가장 나쁜 경우다.
+    context = new RequestAuthorizationContext(
+        new MockHttpServletRequest("GET", "/module" + (mappings - 1) + "/items/42"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    manager.destroy();
+  }
+
+  @Benchmark
+  public AuthorizationDecision check() {
+    return manager.check(authentication, context);
+  }
+
+  @Benchmark
+  public AuthorizationDecision linearScan() {
+    for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> entry : linear) {
+      RequestMatcher.MatchResult matchResult = entry.getRequestMatcher().matcher(context.getRequest());
+      if (matchResult.isMatch()) {
+        return entry.getEntry().check(authentication,
+            new RequestAuthorizationContext(context.getRequest(), matchResult.getVariables()));
+      }
+    }
+    return ACCESS;
+  }
+}
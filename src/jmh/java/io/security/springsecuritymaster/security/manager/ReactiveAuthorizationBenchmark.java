@@ -0,0 +1,107 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static io.security.springsecuritymaster.security.manager.AuthorizationManagerFixture.stub;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * 같은 규칙 집합을 서블릿 경로({@code check(Supplier, RequestAuthorizationContext)})와 리액티브 경로로 판단하는 처리량을 비교한다.
+ * 요청 객체는 미리 만들어 두므로 판단 자체의 비용만 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class ReactiveAuthorizationBenchmark {
+
+  private static final int RESOURCES = 500;
+  private static final int REQUESTS = 1024;
+
+  private final Mono<Authentication> authentication =
+      Mono.just(new TestingAuthenticationToken("manager", null, "ROLE_MANAGER", "ROLE_USER"));
+  private CustomDynamicAuthorizationManager servletManager;
+  private ReactiveDynamicAuthorizationManager reactiveManager;
+
+  @Setup
+  public void setup() {
+    List<UrlRoleDto> urlRoles = new ArrayList<>();
+    for (int i = 0; i < RESOURCES; i++) {
+      String role = switch (i % 3) {
+        case 0 -> "ROLE_USER";
+        case 1 -> "ROLE_MANAGER";
+        default -> "hasRole('ADMIN') or hasRole('DBA')";
+      };
+      urlRoles.add(new UrlRoleDto((long) i, "/api/v" + (i % 5) + "/resource" + i + "/**", null, i, role));
+    }
+    urlRoles.add(new UrlRoleDto((long) RESOURCES, "/", null, 0, "permitAll"));
+
+    ResourcesRepository resourcesRepository = stub(ResourcesRepository.class, urlRoles);
+    servletManager = AuthorizationManagerFixture.of(resourcesRepository)
+        .roleHierarchyService(stub(RoleHierarchyService.class, "ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER"))
+        .build();
+    reactiveManager = new ReactiveDynamicAuthorizationManager(servletManager, new TenantResolver(resourcesRepository));
+  }
+
+  @TearDown
+  public void tearDown() {
+    servletManager.destroy();
+  }
+
+  // 서블릿 판단은 요청 속성에 파싱한 경로를 잠시 저장하므로 요청 객체를 스레드마다 따로 둔다.
+  @State(Scope.Thread)
+  public static class Requests {
+
+    private final RequestAuthorizationContext[] servletRequests = new RequestAuthorizationContext[REQUESTS];
+    private final AuthorizationContext[] exchanges = new AuthorizationContext[REQUESTS];
+    private int next;
+
+    @Setup
+    public void setup() {
+      for (int i = 0; i < REQUESTS; i++) {
+        int resource = (i * 7919) % RESOURCES;
+        String path = "/api/v" + (resource % 5) + "/resource" + resource + "/items/" + i;
+        servletRequests[i] = new RequestAuthorizationContext(new MockHttpServletRequest("GET", path));
+        exchanges[i] = new AuthorizationContext(MockServerWebExchange.from(MockServerHttpRequest.get(path)));
+      }
+    }
+
+    int next() {
+      next = (next + 1) & (REQUESTS - 1);
+      return next;
+    }
+  }
+
+  @Benchmark
+  public AuthorizationDecision servlet(Requests requests) {
+    return servletManager.check(authentication::block, requests.servletRequests[requests.next()]);
+  }
+
+  @Benchmark
+  public AuthorizationDecision reactive(Requests requests) {
+    return reactiveManager.check(authentication, requests.exchanges[requests.next()]).block();
+  }
+}
@@ -0,0 +1,63 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathTrieBenchmark {
+
+  private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+  @Param({"10", "100", "1000", "10000", "50000"})
+  private int mappings;
+
+  private final List<String> patterns = new ArrayList<>();
+  private final PathTrie<String> trie = new PathTrie<>();
+  private String path;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < mappings; i++) {
+      String pattern = switch (i % 3) {
+        case 0 -> "/module" + i + "/items";
+        case 1 -> "/module" + i + "/items/{id}";
+        default -> "/module" + i + "/**";
+      };
+      patterns.add(pattern);
+      trie.insert(pattern, i, pattern);
+    }
+    path = "/module" + (mappings - 1) + "/items/42";
+  }
+
+  @Benchmark
+  public String linearScan() {
+    for (String pattern : patterns) {
+      if (ANT_PATH_MATCHER.match(pattern, path)) {
+        return pattern;
+      }
+    }
+    return null;
+  }
+
+  @Benchmark
+  public String trieLookup() {
+    for (String pattern : trie.candidates(path)) {
+      if (ANT_PATH_MATCHER.match(pattern, path)) {
+        return pattern;
+      }
+    }
+    return null;
+  }
+}
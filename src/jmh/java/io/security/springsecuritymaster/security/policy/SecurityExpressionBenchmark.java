@@ -0,0 +1,69 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.security.manager.CachedExpressionAuthorizationManager;
+import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecurityExpressionBenchmark {
+
+  private static final String EXPRESSION = "hasRole('DBA') or hasRole('MANAGER')";
+
+  @Param({"OFF", "IMMEDIATE"})
+  private SpelCompilerMode compilerMode;
+
+  private final Supplier<Authentication> authentication =
+      () -> new TestingAuthenticationToken("user", null, "ROLE_USER", "ROLE_MANAGER");
+  private RoleHierarchyImpl roleHierarchy;
+  private RequestAuthorizationContext context;
+  private WebExpressionAuthorizationManager perRuleManager;
+  private CachedExpressionAuthorizationManager<RequestAuthorizationContext> cachedManager;
+
+  @Setup
+  public void setup() {
+    roleHierarchy = new RoleHierarchyImpl();
+    roleHierarchy.setHierarchy("ROLE_ADMIN > ROLE_MANAGER\nROLE_ADMIN > ROLE_DBA\nROLE_MANAGER > ROLE_USER");
+    HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> null);
+    context = new RequestAuthorizationContext(request);
+
+    // 변경 전 방식: 규칙마다 handler 를 만들고 기본(인터프리터) 파서로 파싱한다.
+    DefaultHttpSecurityExpressionHandler handler = new DefaultHttpSecurityExpressionHandler();
+    handler.setRoleHierarchy(roleHierarchy);
+    perRuleManager = new WebExpressionAuthorizationManager(EXPRESSION);
+    perRuleManager.setExpressionHandler(handler);
+
+    SecurityExpressionCache cache = new SecurityExpressionCache(roleHierarchy, compilerMode);
+    cachedManager = new CachedExpressionAuthorizationManager<>(cache.get(EXPRESSION), cache.getExpressionHandler());
+  }
+
+  @Benchmark
+  public AuthorizationDecision perRuleHandler() {
+    return perRuleManager.check(authentication, context);
+  }
+
+  @Benchmark
+  public AuthorizationDecision sharedCachedExpression() {
+    return cachedManager.check(authentication, context);
+  }
+}
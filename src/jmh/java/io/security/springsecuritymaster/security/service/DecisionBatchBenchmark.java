@@ -0,0 +1,90 @@
+package io.security.springsecuritymaster.security.service;
+
+import static io.security.springsecuritymaster.security.manager.AuthorizationManagerFixture.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.security.manager.AuthorizationManagerFixture;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 1,000 개 튜플 묶음을 본문 파싱부터 판단까지 처리하는 비용. 결과 단위는 초당 판단 수다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class DecisionBatchBenchmark {
+
+  private static final int RESOURCES = 500;
+  private static final int BATCH_SIZE = 1_000;
+
+  private CustomDynamicAuthorizationManager authorizationManager;
+  private AuthorizationDecisionService service;
+  private byte[] body;
+
+  @Setup
+  public void setup() {
+    List<UrlRoleDto> urlRoles = new ArrayList<>();
+    for (int i = 0; i < RESOURCES; i++) {
+      String role = switch (i % 3) {
+        case 0 -> "ROLE_USER";
+        case 1 -> "ROLE_MANAGER";
+        default -> "hasRole('ADMIN') or hasRole('DBA')";
+      };
+      urlRoles.add(new UrlRoleDto((long) i, "/api/v" + (i % 5) + "/resource" + i + "/**", null, i, role));
+    }
+
+    AuthoritySetRegistry authoritySetRegistry = new AuthoritySetRegistry();
+    AccountGrants accountGrants = new AccountGrants(stub(AccountResourcesRepository.class, List.of()));
+    authorizationManager = AuthorizationManagerFixture.of(stub(ResourcesRepository.class, urlRoles))
+        .authoritySetRegistry(authoritySetRegistry)
+        .accountGrants(accountGrants)
+        .roleHierarchyService(stub(RoleHierarchyService.class, "ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER"))
+        .build();
+    service = new AuthorizationDecisionService(authorizationManager, authoritySetRegistry, accountGrants,
+        stub(UserRepository.class, List.of()), new ObjectMapper());
+
+    StringBuilder json = new StringBuilder("{\"authorities\":[[\"ROLE_USER\"],[\"ROLE_MANAGER\"],[\"ROLE_DBA\"],null],"
+        + "\"tuples\":[");
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      int resource = (i * 7919) % RESOURCES;
+      json.append(i == 0 ? "" : ",").append('[').append(i & 3).append(",\"GET\",\"/api/v").append(resource % 5)
+          .append("/resource").append(resource).append("/items/").append(i).append("\"]");
+    }
+    body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @TearDown
+  public void tearDown() {
+    authorizationManager.destroy();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public boolean[] batch() throws IOException {
+    return service.decide(new ByteArrayInputStream(body));
+  }
+}
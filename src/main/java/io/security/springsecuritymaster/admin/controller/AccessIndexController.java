@@ -0,0 +1,80 @@
+package io.security.springsecuritymaster.admin.controller;
+
+import io.security.springsecuritymaster.admin.repository.qdto.AccountSummaryDto;
+import io.security.springsecuritymaster.admin.service.AccessIndexService;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.policy.AccessIndex;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+@RequiredArgsConstructor
+@Controller
+public class AccessIndexController {
+
+  private static final int MAX_PAGE_SIZE = 500;
+
+  private final AccessIndexService accessIndexService;
+
+  @GetMapping(value = "/admin/access")
+  public String getAccess(@RequestParam(required = false) String pattern,
+      @RequestParam(required = false) String role,
+      @RequestParam(required = false) String tenant,
+      @RequestParam(defaultValue = "0") int page,
+      @AuthenticationPrincipal AccountDto admin, Model model) {
+
+    String resolved = tenant(admin, tenant);
+    if (pattern != null && !pattern.isBlank()) {
+      model.addAttribute("entries", accessIndexService.findByPattern(resolved, pattern));
+      model.addAttribute("accounts", accessIndexService.findAccounts(resolved, pattern, PageRequest.of(page, 20)));
+    } else if (role != null && !role.isBlank()) {
+      model.addAttribute("entries", accessIndexService.findByRole(resolved, role));
+    } else {
+      model.addAttribute("entries", accessIndexService.getEntries(resolved));
+    }
+    model.addAttribute("pattern", pattern);
+    model.addAttribute("role", role);
+    model.addAttribute("tenant", resolved);
+
+    return "admin/access";
+  }
+
+  @ResponseBody
+  @GetMapping(value = "/admin/api/access-index/patterns")
+  public List<AccessIndex.Entry> getPattern(@RequestParam String pattern,
+      @RequestParam(required = false) String tenant, @AuthenticationPrincipal AccountDto admin) {
+    return accessIndexService.findByPattern(tenant(admin, tenant), pattern);
+  }
+
+  @ResponseBody
+  @GetMapping(value = "/admin/api/access-index/roles")
+  public List<AccessIndex.Entry> getRole(@RequestParam String role,
+      @RequestParam(required = false) String tenant, @AuthenticationPrincipal AccountDto admin) {
+    return accessIndexService.findByRole(tenant(admin, tenant), role);
+  }
+
+  @ResponseBody
+  @GetMapping(value = "/admin/api/access-index/accounts")
+  public Page<AccountSummaryDto> getAccounts(@RequestParam String pattern,
+      @RequestParam(required = false) String tenant,
+      @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size,
+      @AuthenticationPrincipal AccountDto admin) {
+    return accessIndexService.findAccounts(tenant(admin, tenant), pattern,
+        PageRequest.of(page, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+  }
+
+  // 테넌트 계정은 자기 테넌트의 색인만 본다. 기본 테넌트의 관리자는 tenant 파라미터로 테넌트를 고를 수 있다.
+  private static String tenant(AccountDto admin, String requested) {
+    if (admin != null && admin.getTenant() != null) {
+      return admin.getTenant();
+    }
+    return requested == null || requested.isBlank() ? null : requested;
+  }
+}
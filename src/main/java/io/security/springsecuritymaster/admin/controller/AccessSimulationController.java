@@ -0,0 +1,25 @@
+package io.security.springsecuritymaster.admin.controller;
+
+import io.security.springsecuritymaster.admin.service.AccessSimulationService;
+import io.security.springsecuritymaster.domain.dto.AccessSimulationRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RequiredArgsConstructor
+@RestController
+public class AccessSimulationController {
+
+  private final AccessSimulationService accessSimulationService;
+
+  @PostMapping(value = "/admin/access-simulations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> simulate(@RequestBody AccessSimulationRequest request) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(out -> accessSimulationService.simulate(request, out));
+  }
+}
@@ -0,0 +1,45 @@
+package io.security.springsecuritymaster.admin.controller;
+
+import io.security.springsecuritymaster.admin.service.AccountGrantService;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 역할을 만들지 않고 특정 계정에 URL 자원 하나를 직접 허용하거나 회수한다. 바뀐 허용은 그 계정의 기존 세션에도 다음 요청부터 적용된다.
+ */
+@RequiredArgsConstructor
+@RestController
+public class AccountGrantController {
+
+  private final AccountGrantService accountGrantService;
+
+  @GetMapping(value = "/admin/api/accounts/{accountId}/grants")
+  public List<Long> getGrants(@PathVariable Long accountId) {
+    return accountGrantService.getGrants(accountId);
+  }
+
+  @PutMapping(value = "/admin/api/accounts/{accountId}/grants/{resourceId}")
+  public ResponseEntity<Void> grant(@PathVariable Long accountId, @PathVariable Long resourceId) {
+    accountGrantService.grant(accountId, resourceId);
+    return ResponseEntity.noContent().build();
+  }
+
+  @DeleteMapping(value = "/admin/api/accounts/{accountId}/grants/{resourceId}")
+  public ResponseEntity<Void> revoke(@PathVariable Long accountId, @PathVariable Long resourceId) {
+    accountGrantService.revoke(accountId, resourceId);
+    return ResponseEntity.noContent().build();
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+  }
+}
@@ -0,0 +1,32 @@
+package io.security.springsecuritymaster.admin.controller;
+
+import io.security.springsecuritymaster.admin.service.ResourcesService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * {@code ip} 자원을 한 줄에 하나씩 적은 CIDR 목록으로 한꺼번에 등록한다. 빈 줄과 {@code #} 으로 시작하는 줄은 건너뛴다.
+ */
+@RequiredArgsConstructor
+@RestController
+public class IpRangeController {
+
+  private final ResourcesService resourcesService;
+
+  @PostMapping(value = "/admin/ip-ranges", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public Map<String, Integer> importIpRanges(@RequestParam String roleName, @RequestBody String ranges) {
+    return Map.of("imported", resourcesService.importIpRanges(roleName, ranges.lines().toList()));
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+  }
+}
@@ -1,7 +1,6 @@
 package io.security.springsecuritymaster.admin.controller;
 
 import io.security.springsecuritymaster.admin.repository.RoleRepository;
-import io.security.springsecuritymaster.admin.repository.RoleResourcesRepository;
 import io.security.springsecuritymaster.admin.service.ResourcesService;
 import io.security.springsecuritymaster.admin.service.RoleService;
 import io.security.springsecuritymaster.domain.dto.ResourcesDto;
@@ -17,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -27,7 +27,6 @@ public class ResourcesController {
 
   private final ResourcesService resourcesService;
   private final RoleRepository roleRepository;
-  private final RoleResourcesRepository roleResourcesRepository;
   private final RoleService roleService;
   private final ModelMapper modelMapper;
 
@@ -41,18 +40,23 @@ public class ResourcesController {
 
   @PostMapping(value = "/admin/resources")
   public String createResources(ResourcesDto resourcesDto) {
-    Role role = roleRepository.findByRoleName(resourcesDto.getRoleName());
+    if (!StringUtils.hasText(resourcesDto.getTenant())) {
+      resourcesDto.setTenant(null);
+    }
+    Role role = roleRepository.findAllVisibleToTenant(resourcesDto.getRoleName(), resourcesDto.getTenant()).stream()
+        .findFirst()
+        .orElse(null);
     Resources resources = modelMapper.map(resourcesDto, Resources.class);
     resources.setHttpMethod(resourcesDto.getHttpMethod());
-
-    Resources savedResources = resourcesService.createResources(resources);
-    roleResourcesRepository.save(
+    // 권한 정책이 저장 시점에 역할까지 함께 읽을 수 있도록 RoleResources 를 cascade 로 같이 저장한다.
+    resources.addRoleResourcesList(
         RoleResources.builder()
             .role(role)
-            .resources(savedResources)
             .build()
     );
-    
+
+    resourcesService.createResources(resources);
+
     return "redirect:/admin/resources";
   }
 
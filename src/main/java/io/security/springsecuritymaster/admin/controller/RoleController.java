@@ -1,5 +1,6 @@
 package io.security.springsecuritymaster.admin.controller;
 
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
 import io.security.springsecuritymaster.admin.service.RoleService;
 import io.security.springsecuritymaster.domain.dto.RoleDto;
 import io.security.springsecuritymaster.domain.entity.Role;
@@ -8,15 +9,18 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RequiredArgsConstructor
 @Controller
 public class RoleController {
 
   private final RoleService roleService;
+  private final RoleHierarchyService roleHierarchyService;
   private final ModelMapper modelMapper;
 
   @GetMapping(value = "/admin/roles")
@@ -39,6 +43,9 @@ public class RoleController {
 
   @PostMapping(value = "/admin/roles")
   public String createRole(RoleDto roleDto) {
+    if (!StringUtils.hasText(roleDto.getTenant())) {
+      roleDto.setTenant(null);
+    }
     Role role = modelMapper.map(roleDto, Role.class);
     role.setExpression(roleDto.getIsExpression());
     roleService.createRole(role);
@@ -46,6 +53,14 @@ public class RoleController {
     return "redirect:/admin/roles";
   }
 
+  @PostMapping(value = "/admin/roles/hierarchy")
+  public String changeRoleHierarchy(@RequestParam String roleName,
+      @RequestParam(required = false) String parentRoleName, @RequestParam(required = false) String tenant) {
+    roleHierarchyService.changeParent(StringUtils.hasText(tenant) ? tenant : null, roleName, parentRoleName);
+
+    return "redirect:/admin/roles";
+  }
+
   @GetMapping(value = "/admin/roles/{id}")
   public String getRole(@PathVariable Long id, Model model) {
     Role role = roleService.getRole(id);
@@ -0,0 +1,34 @@
+package io.security.springsecuritymaster.admin.repository;
+
+import io.security.springsecuritymaster.admin.repository.qdto.AccountGrantDto;
+import io.security.springsecuritymaster.domain.entity.AccountResources;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountResourcesRepository extends JpaRepository<AccountResources, Long> {
+
+  @Query("select new io.security.springsecuritymaster.admin.repository.qdto."
+      + "   AccountGrantDto(ar.account.id, ar.resources.id) "
+      + "from AccountResources ar")
+  List<AccountGrantDto> findAllGrants();
+
+  @Query("select ar.resources.id from AccountResources ar where ar.account.id = :accountId")
+  List<Long> findResourceIdsByAccountId(@Param("accountId") Long accountId);
+
+  boolean existsByAccount_IdAndResources_Id(Long accountId, Long resourceId);
+
+  @Modifying
+  @Query("delete from AccountResources ar where ar.account.id = :accountId and ar.resources.id = :resourceId")
+  int deleteGrant(@Param("accountId") Long accountId, @Param("resourceId") Long resourceId);
+
+  @Modifying
+  @Query("delete from AccountResources ar where ar.account.id = :accountId")
+  int deleteByAccountId(@Param("accountId") Long accountId);
+
+  @Modifying
+  @Query("delete from AccountResources ar where ar.resources.id = :resourceId")
+  int deleteByResourceId(@Param("resourceId") Long resourceId);
+}
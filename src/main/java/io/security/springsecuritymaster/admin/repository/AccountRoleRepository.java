@@ -1,13 +1,38 @@
 package io.security.springsecuritymaster.admin.repository;
 
+import io.security.springsecuritymaster.admin.repository.qdto.AccountSummaryDto;
 import io.security.springsecuritymaster.domain.entity.Account;
 import io.security.springsecuritymaster.domain.entity.AccountRole;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountRoleRepository extends JpaRepository<AccountRole, Long> {
 
   void deleteByAccount(Account account);
 
   List<AccountRole> findAllByRole_RoleNameIn(List<String> roleNames);
+
+  @Query("select ar from AccountRole ar join fetch ar.account a join fetch ar.role where a.username in :usernames")
+  List<AccountRole> findAllWithRoleByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+  @Query(value = "select distinct new io.security.springsecuritymaster.admin.repository.qdto."
+      + "   AccountSummaryDto(a.id, a.username) "
+      + "from AccountRole ar "
+      + "join ar.account a "
+      + "join ar.role r "
+      + "where r.roleName in :roleNames "
+      + "and (a.tenant = :tenant or (:tenant is null and a.tenant is null))",
+      countQuery = "select count(distinct a.id) "
+          + "from AccountRole ar "
+          + "join ar.account a "
+          + "join ar.role r "
+          + "where r.roleName in :roleNames "
+          + "and (a.tenant = :tenant or (:tenant is null and a.tenant is null))")
+  Page<AccountSummaryDto> findAccountsByRoleNameIn(@Param("tenant") String tenant,
+      @Param("roleNames") Collection<String> roleNames, Pageable pageable);
 }
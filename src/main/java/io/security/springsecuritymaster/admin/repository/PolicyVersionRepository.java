@@ -0,0 +1,18 @@
+package io.security.springsecuritymaster.admin.repository;
+
+import io.security.springsecuritymaster.domain.entity.PolicyVersion;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PolicyVersionRepository extends JpaRepository<PolicyVersion, Long> {
+
+  @Query("select v.version from PolicyVersion v where v.id = :id")
+  Optional<Long> findVersion(@Param("id") Long id);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update PolicyVersion v set v.version = v.version + 1 where v.id = :id")
+  int increment(@Param("id") Long id);
+}
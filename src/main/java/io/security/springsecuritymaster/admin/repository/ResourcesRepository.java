@@ -5,17 +5,63 @@ import io.security.springsecuritymaster.domain.entity.Resources;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ResourcesRepository extends JpaRepository<Resources, Long> {
 
   @Query("select new io.security.springsecuritymaster.admin.repository.qdto."
-      + "   UrlRoleDto(r.resourceName, role.roleName) "
+      + "   UrlRoleDto(r.id, r.resourceName, r.httpMethod, r.orderNum, role.roleName) "
       + "from Resources r "
       + "join RoleResources rr "
       + "on r.id = rr.resources.id "
       + "join Role role "
       + "on rr.role.id = role.id "
       + "where r.resourceType = 'url' "
+      + "and r.tenant is null "
       + "order by r.orderNum desc")
   List<UrlRoleDto> findAllResources();
+
+  @Query("select new io.security.springsecuritymaster.admin.repository.qdto."
+      + "   UrlRoleDto(r.id, r.resourceName, r.httpMethod, r.orderNum, role.roleName) "
+      + "from Resources r "
+      + "join RoleResources rr "
+      + "on r.id = rr.resources.id "
+      + "join Role role "
+      + "on rr.role.id = role.id "
+      + "where r.resourceType = 'url' "
+      + "and r.tenant = :tenant "
+      + "order by r.orderNum desc")
+  List<UrlRoleDto> findAllResourcesByTenant(@Param("tenant") String tenant);
+
+  @Query("select new io.security.springsecuritymaster.admin.repository.qdto."
+      + "   UrlRoleDto(r.id, r.resourceName, r.httpMethod, r.orderNum, role.roleName) "
+      + "from Resources r "
+      + "join RoleResources rr "
+      + "on r.id = rr.resources.id "
+      + "join Role role "
+      + "on rr.role.id = role.id "
+      + "where r.resourceType = 'url' "
+      + "and r.tenant is null "
+      + "and r.id = :id")
+  List<UrlRoleDto> findResources(@Param("id") Long id);
+
+  @Query("select new io.security.springsecuritymaster.admin.repository.qdto."
+      + "   UrlRoleDto(r.id, r.resourceName, r.httpMethod, r.orderNum, role.roleName) "
+      + "from Resources r "
+      + "join RoleResources rr "
+      + "on r.id = rr.resources.id "
+      + "join Role role "
+      + "on rr.role.id = role.id "
+      + "where r.resourceType = :resourceType "
+      + "and r.tenant is null "
+      + "order by r.orderNum desc")
+  List<UrlRoleDto> findAllResourcesByType(@Param("resourceType") String resourceType);
+
+  @Query("select r.resourceName from Resources r where r.resourceType = :resourceType and r.tenant is null")
+  List<String> findResourceNames(@Param("resourceType") String resourceType);
+
+  @Query("select distinct r.tenant from Resources r where r.tenant is not null")
+  List<String> findTenants();
+
+  boolean existsByResourceNameAndResourceType(String resourceName, String resourceType);
 }
@@ -1,8 +1,25 @@
 package io.security.springsecuritymaster.admin.repository;
 
 import io.security.springsecuritymaster.domain.entity.RoleHierarchy;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RoleHierarchyRepository extends JpaRepository<RoleHierarchy, Long> {
 
+  @Query("select rh from RoleHierarchy rh where rh.roleName = :roleName "
+      + "and (rh.tenant = :tenant or (:tenant is null and rh.tenant is null))")
+  Optional<RoleHierarchy> findByRoleName(@Param("roleName") String roleName, @Param("tenant") String tenant);
+
+  @Query("select rh from RoleHierarchy rh where rh.tenant = :tenant or (:tenant is null and rh.tenant is null)")
+  List<RoleHierarchy> findAllByTenant(@Param("tenant") String tenant);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select rh from RoleHierarchy rh where rh.tenant = :tenant or (:tenant is null and rh.tenant is null)")
+  List<RoleHierarchy> findAllByTenantForUpdate(@Param("tenant") String tenant);
+
 }
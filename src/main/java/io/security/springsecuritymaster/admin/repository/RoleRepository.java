@@ -3,12 +3,20 @@ package io.security.springsecuritymaster.admin.repository;
 import io.security.springsecuritymaster.domain.entity.Role;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
   List<Role> findAllByExpressionIs(boolean expression);
 
-  Role findByRoleName(String roleName);
+  @Query("select r from Role r where r.roleName = :roleName and r.tenant is null")
+  Role findByRoleName(@Param("roleName") String roleName);
+
+  // 테넌트의 역할이 있으면 그것을, 없으면 기본 테넌트의 역할을 앞에 둔다.
+  @Query("select r from Role r where r.roleName = :roleName and (r.tenant = :tenant or r.tenant is null) "
+      + "order by case when r.tenant is null then 1 else 0 end")
+  List<Role> findAllVisibleToTenant(@Param("roleName") String roleName, @Param("tenant") String tenant);
 
   List<Role> findAllByRoleNameIn(List<String> roleNames);
 }
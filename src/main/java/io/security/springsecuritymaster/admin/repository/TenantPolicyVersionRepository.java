@@ -0,0 +1,18 @@
+package io.security.springsecuritymaster.admin.repository;
+
+import io.security.springsecuritymaster.domain.entity.TenantPolicyVersion;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TenantPolicyVersionRepository extends JpaRepository<TenantPolicyVersion, String> {
+
+  @Query("select v.version from TenantPolicyVersion v where v.tenant = :tenant")
+  Optional<Long> findVersion(@Param("tenant") String tenant);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update TenantPolicyVersion v set v.version = v.version + 1 where v.tenant = :tenant")
+  int increment(@Param("tenant") String tenant);
+}
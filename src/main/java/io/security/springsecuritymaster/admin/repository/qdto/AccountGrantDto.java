@@ -0,0 +1,12 @@
+package io.security.springsecuritymaster.admin.repository.qdto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AccountGrantDto {
+
+  private Long accountId;
+  private Long resourceId;
+}
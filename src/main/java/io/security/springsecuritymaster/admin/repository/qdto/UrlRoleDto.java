@@ -1,12 +1,35 @@
 package io.security.springsecuritymaster.admin.repository.qdto;
 
-import lombok.AllArgsConstructor;
+import java.util.Arrays;
 import lombok.Getter;
+import org.springframework.http.HttpMethod;
 
 @Getter
-@AllArgsConstructor
 public class UrlRoleDto {
 
+  private Long resourceId;
   private String resourceName;
+  private HttpMethod httpMethod;
+  private Integer orderNum;
   private String roleName;
+
+  public UrlRoleDto(Long resourceId, String resourceName, HttpMethod httpMethod, Integer orderNum, String roleName) {
+    this.resourceId = resourceId;
+    this.resourceName = resourceName;
+    this.httpMethod = standardOrAny(httpMethod);
+    this.orderNum = orderNum;
+    this.roleName = roleName;
+  }
+
+  public UrlRoleDto(String resourceName, String roleName) {
+    this(null, resourceName, null, null, roleName);
+  }
+
+  // 예전 화면은 빈 값이나 임의의 문자열도 HttpMethod 로 저장했다. 그런 규칙은 어떤 요청과도 맞지 않으므로 메서드 무관으로 본다.
+  private static HttpMethod standardOrAny(HttpMethod httpMethod) {
+    if (httpMethod == null) {
+      return null;
+    }
+    return Arrays.asList(HttpMethod.values()).contains(httpMethod) ? httpMethod : null;
+  }
 }
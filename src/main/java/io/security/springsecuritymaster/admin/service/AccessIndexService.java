@@ -0,0 +1,30 @@
+package io.security.springsecuritymaster.admin.service;
+
+import io.security.springsecuritymaster.admin.repository.qdto.AccountSummaryDto;
+import io.security.springsecuritymaster.security.policy.AccessIndex;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * 모든 조회는 주어진 테넌트의 정책 스냅샷을 본다. {@code tenant} 가 {@code null} 이면 기본 테넌트다.
+ */
+public interface AccessIndexService {
+
+  List<AccessIndex.Entry> getEntries(String tenant);
+
+  /**
+   * 패턴에 걸린 규칙과 각 규칙을 통과하는 역할(계층 확장 포함).
+   */
+  List<AccessIndex.Entry> findByPattern(String tenant, String pattern);
+
+  /**
+   * 역할이 통과할 수 있는 규칙.
+   */
+  List<AccessIndex.Entry> findByRole(String tenant, String roleName);
+
+  /**
+   * 패턴의 규칙 중 하나라도 통과하는, 그 테넌트에 속한 계정. 역할 밖의 조건에 달린 규칙은 제외한다.
+   */
+  Page<AccountSummaryDto> findAccounts(String tenant, String pattern, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package io.security.springsecuritymaster.admin.service;
+
+import io.security.springsecuritymaster.domain.dto.AccessSimulationRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AccessSimulationService {
+
+  /**
+   * 현재 URL 정책으로 모든 조합을 평가해 한 줄에 하나씩 JSON(NDJSON)으로 쓴다.
+   */
+  void simulate(AccessSimulationRequest request, OutputStream out) throws IOException;
+}
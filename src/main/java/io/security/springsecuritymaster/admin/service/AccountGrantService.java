@@ -0,0 +1,15 @@
+package io.security.springsecuritymaster.admin.service;
+
+import java.util.List;
+
+public interface AccountGrantService {
+
+  List<Long> getGrants(Long accountId);
+
+  /**
+   * @throws IllegalArgumentException 계정이 없거나 자원이 url 타입이 아닐 때
+   */
+  void grant(Long accountId, Long resourceId);
+
+  void revoke(Long accountId, Long resourceId);
+}
@@ -0,0 +1,17 @@
+package io.security.springsecuritymaster.admin.service;
+
+import java.util.Map;
+
+public interface PolicyVersionService {
+
+  long currentVersion();
+
+  long bump();
+
+  /**
+   * @return 테넌트별 버전. 한 번도 바뀌지 않은 테넌트는 없다.
+   */
+  Map<String, Long> tenantVersions();
+
+  long bump(String tenant);
+}
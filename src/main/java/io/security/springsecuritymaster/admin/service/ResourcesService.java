@@ -1,6 +1,7 @@
 package io.security.springsecuritymaster.admin.service;
 
 import io.security.springsecuritymaster.domain.entity.Resources;
+import java.util.Collection;
 import java.util.List;
 
 public interface ResourcesService {
@@ -12,4 +13,13 @@ public interface ResourcesService {
   Resources getResources(Long id);
 
   void deleteResources(Long id);
+
+  /**
+   * CIDR 목록을 {@code ip} 자원으로 등록하고 모두 주어진 역할에 연결한다. 이미 그 역할에 연결된 범위는 건너뛰며, 범위 트리는 커밋 뒤
+   * 한 번만 다시 만든다.
+   *
+   * @return 새로 등록한 범위 수
+   * @throws IllegalArgumentException 역할이 없거나 CIDR 형식이 맞지 않을 때. 이때는 아무것도 저장하지 않는다.
+   */
+  int importIpRanges(String roleName, Collection<String> ranges);
 }
@@ -3,4 +3,16 @@ package io.security.springsecuritymaster.admin.service;
 public interface RoleHierarchyService {
 
   String findAllHierarchy();
+
+  /**
+   * @param tenant null 이면 기본 테넌트
+   */
+  String findAllHierarchy(String tenant);
+
+  void changeParent(String roleName, String parentRoleName);
+
+  /**
+   * 테넌트 안에서 역할의 상위 역할을 바꾼다. parentRoleName 이 비어 있으면 최상위가 된다. 바꾼 결과에 순환이 생기면 저장하지 않는다.
+   */
+  void changeParent(String tenant, String roleName, String parentRoleName);
 }
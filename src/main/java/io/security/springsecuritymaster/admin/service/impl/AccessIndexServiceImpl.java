@@ -0,0 +1,64 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.AccountSummaryDto;
+import io.security.springsecuritymaster.admin.service.AccessIndexService;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccessIndex;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 색인은 테넌트의 현재 정책 스냅샷에 달려 있으므로 정책이 다시 로딩되면 다음 조회부터 새 색인을 쓴다.
+ */
+@RequiredArgsConstructor
+@Service
+public class AccessIndexServiceImpl implements AccessIndexService {
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final AccountRoleRepository accountRoleRepository;
+  private final UserRepository userRepository;
+
+  @Override
+  public List<AccessIndex.Entry> getEntries(String tenant) {
+    return index(tenant).getEntries();
+  }
+
+  @Override
+  public List<AccessIndex.Entry> findByPattern(String tenant, String pattern) {
+    return index(tenant).forPattern(pattern);
+  }
+
+  @Override
+  public List<AccessIndex.Entry> findByRole(String tenant, String roleName) {
+    return index(tenant).forRole(roleName);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<AccountSummaryDto> findAccounts(String tenant, String pattern, Pageable pageable) {
+    List<AccessIndex.Entry> entries = index(tenant).forPattern(pattern);
+    if (entries.stream().anyMatch(entry -> entry.getReach() == AccessIndex.Reach.EVERYONE)) {
+      return userRepository.findAllByTenant(tenant, pageable).map(account -> new AccountSummaryDto(account.getId(),
+          account.getUsername()));
+    }
+
+    Set<String> roles = new LinkedHashSet<>();
+    entries.forEach(entry -> roles.addAll(entry.getRoles()));
+    if (roles.isEmpty()) {
+      return Page.empty(pageable);
+    }
+    return accountRoleRepository.findAccountsByRoleNameIn(tenant, roles, pageable);
+  }
+
+  private AccessIndex index(String tenant) {
+    return authorizationManager.getSnapshot(tenant).getAccessIndex();
+  }
+}
@@ -0,0 +1,204 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
+import io.security.springsecuritymaster.admin.service.AccessSimulationService;
+import io.security.springsecuritymaster.domain.dto.AccessSimulationRequest;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.domain.entity.Account;
+import io.security.springsecuritymaster.domain.entity.AccountRole;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * 조합을 {@value #CHUNK_SIZE} 개씩 fork/join 풀에서 나눠 평가하고, 끝난 묶음부터 요청 순서대로 내보낸다. 계정은 자기 테넌트의
+ * 정책으로, 역할 조합은 기본 테넌트의 정책으로 평가한다. 테넌트마다 시작할 때 잡은 스냅샷 하나로 평가하므로 도중에 정책이 바뀌어도
+ * 결과가 섞이지 않는다.
+ */
+@RequiredArgsConstructor
+@Service
+public class AccessSimulationServiceImpl implements AccessSimulationService {
+
+  private static final int CHUNK_SIZE = 1 << 16;
+  private static final int LEAF_SIZE = 1 << 10;
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final AccountRoleRepository accountRoleRepository;
+  private final ObjectMapper objectMapper;
+  private final AuthoritySetRegistry authoritySetRegistry;
+  private final AccountGrants accountGrants;
+  private final UserRepository userRepository;
+  private ForkJoinPool pool;
+
+  // 0 이면 코어 수
+  @Value("${security.simulation.parallelism:0}")
+  private int parallelism;
+
+  @PostConstruct
+  public void init() {
+    pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  @PreDestroy
+  public void destroy() {
+    pool.shutdownNow();
+  }
+
+  @Override
+  public void simulate(AccessSimulationRequest request, OutputStream out) throws IOException {
+    List<Subject> subjects = subjects(request);
+    List<Target> targets = request.getTargets().stream()
+        .map(target -> new Target(HttpMethod.valueOf(target.getMethod().toUpperCase(Locale.ROOT)), target.getPath()))
+        .toList();
+
+    long total = (long) subjects.size() * targets.size();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.setRootValueSeparator(new SerializedString("\n"));
+      for (long start = 0; start < total; start += CHUNK_SIZE) {
+        boolean[] granted = new boolean[(int) Math.min(CHUNK_SIZE, total - start)];
+        pool.invoke(new Evaluation(subjects, targets, start, granted, 0, granted.length));
+
+        for (int i = 0; i < granted.length; i++) {
+          long index = start + i;
+          Subject subject = subjects.get((int) (index / targets.size()));
+          Target target = targets.get((int) (index % targets.size()));
+          generator.writeStartObject();
+          generator.writeStringField("subject", subject.name);
+          generator.writeStringField("method", target.method.name());
+          generator.writeStringField("path", target.path);
+          generator.writeBooleanField("granted", granted[i]);
+          generator.writeEndObject();
+        }
+        generator.flush();
+      }
+      generator.writeRaw('\n');
+    }
+  }
+
+  // 계정은 DB 의 역할과 계정에 직접 허용한 자원으로, 역할 조합은 역할만으로 인증 객체를 만든다. 역할이 없는 계정은 권한 없이
+  // 평가되고, 역할 조합에는 직접 허용이 없다.
+  private List<Subject> subjects(AccessSimulationRequest request) {
+    Map<String, List<String>> rolesByUsername = new LinkedHashMap<>();
+    Map<String, AccountDto> principals = new HashMap<>();
+    request.getUsernames().forEach(username -> rolesByUsername.put(username, new ArrayList<>()));
+    if (!rolesByUsername.isEmpty()) {
+      for (AccountRole accountRole : accountRoleRepository.findAllWithRoleByUsernameIn(rolesByUsername.keySet())) {
+        rolesByUsername.get(accountRole.getAccount().getUsername()).add(accountRole.getRole().getRoleName());
+      }
+      for (Account account : userRepository.findAllByUsernameIn(rolesByUsername.keySet())) {
+        principals.put(account.getUsername(), AccountDto.builder().id(account.getId())
+            .username(account.getUsername()).tenant(account.getTenant()).build());
+      }
+    }
+
+    Map<String, PolicySnapshot> policies = new HashMap<>();
+    List<Subject> subjects = new ArrayList<>();
+    rolesByUsername.forEach((username, roles) -> {
+      AccountDto account = principals.get(username);
+      String tenant = account != null ? account.getTenant() : null;
+      subjects.add(subject(username, account != null ? account : username, roles,
+          policies.computeIfAbsent(tenant, authorizationManager::getSnapshot)));
+    });
+    request.getRoleSets().forEach(roles -> {
+      String name = String.join(",", roles);
+      subjects.add(subject(name, name, roles, policies.computeIfAbsent(null, authorizationManager::getSnapshot)));
+    });
+    return subjects;
+  }
+
+  // 요청에 담긴 역할 조합은 전역 레지스트리에 등록하지 않는다. 이미 등록된 조합일 때만 그 캐시를 함께 쓴다. 직접 허용은 여러
+  // 스레드가 평가하기 전에 미리 읽어 둔다.
+  private Subject subject(String name, Object principal, List<String> roles, PolicySnapshot policy) {
+    List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(roles);
+    AccountAuthenticationToken authentication = new AccountAuthenticationToken(principal, null, authorities);
+    authentication.setAuthoritySetId(authoritySetRegistry.lookup(authorities));
+    accountGrants.attach(authentication);
+    return new Subject(name, authentication, policy);
+  }
+
+  private class Evaluation extends RecursiveAction {
+
+    private final List<Subject> subjects;
+    private final List<Target> targets;
+    private final long offset;
+    private final boolean[] granted;
+    private final int from;
+    private final int to;
+
+    private Evaluation(List<Subject> subjects, List<Target> targets, long offset, boolean[] granted, int from,
+        int to) {
+      this.subjects = subjects;
+      this.targets = targets;
+      this.offset = offset;
+      this.granted = granted;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= LEAF_SIZE) {
+        for (int i = from; i < to; i++) {
+          long index = offset + i;
+          Subject subject = subjects.get((int) (index / targets.size()));
+          Target target = targets.get((int) (index % targets.size()));
+          granted[i] = authorizationManager.isGranted(subject.policy, subject.authentication, target.method,
+              target.path);
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new Evaluation(subjects, targets, offset, granted, from, middle),
+          new Evaluation(subjects, targets, offset, granted, middle, to));
+    }
+  }
+
+  private static final class Subject {
+
+    private final String name;
+    private final Authentication authentication;
+    private final PolicySnapshot policy;
+
+    private Subject(String name, Authentication authentication, PolicySnapshot policy) {
+      this.name = name;
+      this.authentication = authentication;
+      this.policy = policy;
+    }
+  }
+
+  private static final class Target {
+
+    private final HttpMethod method;
+    private final String path;
+
+    private Target(HttpMethod method, String path) {
+      this.method = method;
+      this.path = path;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.service.AccountGrantService;
+import io.security.springsecuritymaster.domain.entity.Account;
+import io.security.springsecuritymaster.domain.entity.AccountResources;
+import io.security.springsecuritymaster.domain.entity.Resources;
+import io.security.springsecuritymaster.security.event.AccountGrantsChangedEvent;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Transactional
+@Service
+public class AccountGrantServiceImpl implements AccountGrantService {
+
+  private static final String URL_RESOURCE_TYPE = "url";
+
+  private final AccountResourcesRepository accountResourcesRepository;
+  private final UserRepository userRepository;
+  private final ResourcesRepository resourcesRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Transactional(readOnly = true)
+  @Override
+  public List<Long> getGrants(Long accountId) {
+    return accountResourcesRepository.findResourceIdsByAccountId(accountId);
+  }
+
+  @Override
+  public void grant(Long accountId, Long resourceId) {
+    if (accountResourcesRepository.existsByAccount_IdAndResources_Id(accountId, resourceId)) {
+      return;
+    }
+    Account account = userRepository.findById(accountId)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown account: " + accountId));
+    Resources resources = resourcesRepository.findById(resourceId)
+        .filter(r -> URL_RESOURCE_TYPE.equals(r.getResourceType()))
+        .orElseThrow(() -> new IllegalArgumentException("Unknown url resource: " + resourceId));
+    accountResourcesRepository.save(AccountResources.builder()
+        .account(account)
+        .resources(resources)
+        .build());
+    eventPublisher.publishEvent(new AccountGrantsChangedEvent(accountId));
+  }
+
+  @Override
+  public void revoke(Long accountId, Long resourceId) {
+    if (accountResourcesRepository.deleteGrant(accountId, resourceId) > 0) {
+      eventPublisher.publishEvent(new AccountGrantsChangedEvent(accountId));
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import io.security.springsecuritymaster.admin.repository.PolicyVersionRepository;
+import io.security.springsecuritymaster.admin.repository.TenantPolicyVersionRepository;
+import io.security.springsecuritymaster.admin.service.PolicyVersionService;
+import io.security.springsecuritymaster.domain.entity.PolicyVersion;
+import io.security.springsecuritymaster.domain.entity.TenantPolicyVersion;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class PolicyVersionServiceImpl implements PolicyVersionService {
+
+  private final PolicyVersionRepository policyVersionRepository;
+  private final TenantPolicyVersionRepository tenantPolicyVersionRepository;
+
+  @Override
+  public long currentVersion() {
+    return policyVersionRepository.findVersion(PolicyVersion.ID).orElse(0L);
+  }
+
+  /**
+   * 호출한 쪽의 트랜잭션에 참여한다. update 가 행 잠금을 잡으므로 동시에 들어온 변경도 커밋 순서대로 버전이 증가한다.
+   */
+  @Transactional
+  @Override
+  public long bump() {
+    if (policyVersionRepository.increment(PolicyVersion.ID) == 0) {
+      policyVersionRepository.saveAndFlush(new PolicyVersion(PolicyVersion.ID, 1L));
+    }
+    return currentVersion();
+  }
+
+  @Override
+  public Map<String, Long> tenantVersions() {
+    Map<String, Long> versions = new HashMap<>();
+    tenantPolicyVersionRepository.findAll().forEach(version -> versions.put(version.getTenant(), version.getVersion()));
+    return versions;
+  }
+
+  @Transactional
+  @Override
+  public long bump(String tenant) {
+    if (tenantPolicyVersionRepository.increment(tenant) == 0) {
+      tenantPolicyVersionRepository.saveAndFlush(new TenantPolicyVersion(tenant, 1L));
+    }
+    return tenantPolicyVersionRepository.findVersion(tenant).orElse(0L);
+  }
+}
@@ -1,11 +1,27 @@
 package io.security.springsecuritymaster.admin.service.impl;
 
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
 import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.RoleRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
 import io.security.springsecuritymaster.admin.service.ResourcesService;
 import io.security.springsecuritymaster.domain.entity.Resources;
-import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.domain.entity.Role;
+import io.security.springsecuritymaster.domain.entity.RoleResources;
+import io.security.springsecuritymaster.security.event.AccountGrantsChangedEvent;
+import io.security.springsecuritymaster.security.event.IpRangesChangedEvent;
+import io.security.springsecuritymaster.security.event.ResourcesChangedEvent;
+import io.security.springsecuritymaster.security.event.RoleResourcesChangedEvent;
+import io.security.springsecuritymaster.security.event.TenantPolicyChangedEvent;
+import io.security.springsecuritymaster.security.policy.IpAccessPolicy;
+import io.security.springsecuritymaster.security.policy.IpRadixTree;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +31,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class ResourcesServiceImpl implements ResourcesService {
 
   private final ResourcesRepository resourcesRepository;
-  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final AccountResourcesRepository accountResourcesRepository;
+  private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public List<Resources> getResources() {
@@ -25,7 +43,14 @@ public class ResourcesServiceImpl implements ResourcesService {
   @Override
   public Resources createResources(Resources resources) {
     Resources saved = resourcesRepository.save(resources);
-    authorizationManager.reload();
+    // 테넌트 자원은 그 테넌트의 정책에만 있으므로 기본 정책과 메서드, IP, 정적 자원 정책은 다시 읽지 않는다.
+    if (saved.getTenant() != null) {
+      eventPublisher.publishEvent(new TenantPolicyChangedEvent(saved.getTenant()));
+      return saved;
+    }
+    eventPublisher.publishEvent(new ResourcesChangedEvent(saved.getId()));
+    saved.getRoleResourcesList().forEach(roleResources -> eventPublisher.publishEvent(
+        new RoleResourcesChangedEvent(saved.getId(), roleResources.getRole().getId())));
     return saved;
   }
 
@@ -36,7 +61,55 @@ public class ResourcesServiceImpl implements ResourcesService {
 
   @Override
   public void deleteResources(Long id) {
+    String tenant = resourcesRepository.findById(id).map(Resources::getTenant).orElse(null);
+    int revoked = accountResourcesRepository.deleteByResourceId(id);
     resourcesRepository.deleteById(id);
-    authorizationManager.reload();
+    // 테넌트 자원은 기본 정책에 없으므로 그 테넌트의 정책만 다시 읽는다.
+    if (tenant != null) {
+      eventPublisher.publishEvent(new TenantPolicyChangedEvent(tenant));
+    } else {
+      eventPublisher.publishEvent(new ResourcesChangedEvent(id));
+    }
+    if (revoked > 0) {
+      eventPublisher.publishEvent(new AccountGrantsChangedEvent(null));
+    }
+  }
+
+  @Override
+  public int importIpRanges(String roleName, Collection<String> ranges) {
+    Role role = roleRepository.findByRoleName(roleName);
+    if (role == null) {
+      throw new IllegalArgumentException("Unknown role: " + roleName);
+    }
+    Set<String> registered = new HashSet<>();
+    for (UrlRoleDto resource : resourcesRepository.findAllResourcesByType(IpAccessPolicy.RESOURCE_TYPE)) {
+      if (roleName.equals(resource.getRoleName())) {
+        registered.add(resource.getResourceName());
+      }
+    }
+
+    List<Resources> created = new ArrayList<>();
+    for (String range : ranges) {
+      String cidr = range.trim();
+      if (cidr.isEmpty() || cidr.startsWith("#")) {
+        continue;
+      }
+      IpRadixTree.Prefix.parse(cidr);
+      if (!registered.add(cidr)) {
+        continue;
+      }
+      Resources resources = Resources.builder()
+          .resourceName(cidr)
+          .orderNum(0)
+          .resourceType(IpAccessPolicy.RESOURCE_TYPE)
+          .build();
+      resources.addRoleResourcesList(RoleResources.builder().role(role).build());
+      created.add(resources);
+    }
+    if (!created.isEmpty()) {
+      resourcesRepository.saveAll(created);
+      eventPublisher.publishEvent(new IpRangesChangedEvent());
+    }
+    return created.size();
   }
 }
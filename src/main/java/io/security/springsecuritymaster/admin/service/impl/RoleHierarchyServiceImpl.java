@@ -3,10 +3,17 @@ package io.security.springsecuritymaster.admin.service.impl;
 import io.security.springsecuritymaster.admin.repository.RoleHierarchyRepository;
 import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
 import io.security.springsecuritymaster.domain.entity.RoleHierarchy;
+import io.security.springsecuritymaster.security.event.RoleHierarchyChangedEvent;
+import io.security.springsecuritymaster.security.event.TenantPolicyChangedEvent;
+import io.security.springsecuritymaster.security.policy.ReloadableRoleHierarchy;
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -14,16 +21,57 @@ import org.springframework.transaction.annotation.Transactional;
 public class RoleHierarchyServiceImpl implements RoleHierarchyService {
 
   private final RoleHierarchyRepository roleHierarchyRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public String findAllHierarchy() {
-    List<RoleHierarchy> hierarchyList = roleHierarchyRepository.findAll();
+    return findAllHierarchy(null);
+  }
+
+  @Override
+  public String findAllHierarchy(String tenant) {
+    return hierarchyOf(roleHierarchyRepository.findAllByTenant(tenant), RoleHierarchy::getParent);
+  }
+
+  @Transactional
+  @Override
+  public void changeParent(String roleName, String parentRoleName) {
+    changeParent(null, roleName, parentRoleName);
+  }
+
+  @Transactional
+  @Override
+  public void changeParent(String tenant, String roleName, String parentRoleName) {
+    // 검증과 저장 사이에 다른 트랜잭션이 계층을 바꾸면 각자 검증을 통과한 두 변경이 합쳐져 순환이 될 수 있으므로, 테넌트의 계층 행을
+    // 먼저 잠그고 잠금을 얻은 뒤의 계층으로 검증한다.
+    roleHierarchyRepository.findAllByTenantForUpdate(tenant);
+    RoleHierarchy role = findOrCreate(tenant, roleName);
+    RoleHierarchy parent = StringUtils.hasText(parentRoleName) ? findOrCreate(tenant, parentRoleName) : null;
+
+    // 엔티티를 바꾸기 전에 바뀐 뒤의 계층을 검증한다.
+    List<RoleHierarchy> hierarchyList = roleHierarchyRepository.findAllByTenant(tenant);
+    ReloadableRoleHierarchy.validate(hierarchyOf(hierarchyList,
+        roleHierarchy -> roleHierarchy == role ? parent : roleHierarchy.getParent()));
+
+    role.changeParent(parent);
+    // 테넌트의 계층은 그 테넌트의 정책에만 쓰이므로 기본 계층과 다른 테넌트는 다시 만들지 않는다.
+    eventPublisher.publishEvent(tenant == null ? new RoleHierarchyChangedEvent() : new TenantPolicyChangedEvent(tenant));
+  }
+
+  private RoleHierarchy findOrCreate(String tenant, String roleName) {
+    return roleHierarchyRepository.findByRoleName(roleName, tenant)
+        .orElseGet(() -> roleHierarchyRepository.save(RoleHierarchy.builder().roleName(roleName).tenant(tenant)
+            .children(new HashSet<>()).build()));
+  }
 
+  private static String hierarchyOf(List<RoleHierarchy> hierarchyList,
+      Function<RoleHierarchy, RoleHierarchy> parentOf) {
     StringBuilder hierarchyRole = new StringBuilder();
 
     for (RoleHierarchy roleHierarchy : hierarchyList) {
-      if (roleHierarchy.getParent() != null) {
-        hierarchyRole.append(roleHierarchy.getParent().getRoleName())
+      RoleHierarchy parent = parentOf.apply(roleHierarchy);
+      if (parent != null) {
+        hierarchyRole.append(parent.getRoleName())
             .append(" > ")
             .append(roleHierarchy.getRoleName())
             .append("\n");
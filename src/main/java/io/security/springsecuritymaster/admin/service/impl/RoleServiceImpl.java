@@ -3,8 +3,10 @@ package io.security.springsecuritymaster.admin.service.impl;
 import io.security.springsecuritymaster.admin.repository.RoleRepository;
 import io.security.springsecuritymaster.admin.service.RoleService;
 import io.security.springsecuritymaster.domain.entity.Role;
+import io.security.springsecuritymaster.security.event.RoleChangedEvent;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class RoleServiceImpl implements RoleService {
 
   private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public List<Role> getRolesWithoutExpression() {
@@ -29,6 +32,7 @@ public class RoleServiceImpl implements RoleService {
   @Override
   public void createRole(Role role) {
     roleRepository.save(role);
+    eventPublisher.publishEvent(new RoleChangedEvent(role.getId()));
   }
 
   @Override
@@ -40,5 +44,6 @@ public class RoleServiceImpl implements RoleService {
   @Override
   public void deleteRole(Long id) {
     roleRepository.deleteById(id);
+    eventPublisher.publishEvent(new RoleChangedEvent(id));
   }
 }
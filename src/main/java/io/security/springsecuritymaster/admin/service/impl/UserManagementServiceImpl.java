@@ -1,5 +1,6 @@
 package io.security.springsecuritymaster.admin.service.impl;
 
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
 import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
 import io.security.springsecuritymaster.admin.repository.RoleRepository;
 import io.security.springsecuritymaster.admin.service.UserManagementService;
@@ -7,10 +8,13 @@ import io.security.springsecuritymaster.domain.dto.AccountDto;
 import io.security.springsecuritymaster.domain.entity.Account;
 import io.security.springsecuritymaster.domain.entity.AccountRole;
 import io.security.springsecuritymaster.domain.entity.Role;
+import io.security.springsecuritymaster.security.event.AccountGrantsChangedEvent;
+import io.security.springsecuritymaster.security.event.AccountRolesChangedEvent;
 import io.security.springsecuritymaster.users.repository.UserRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,9 +26,11 @@ public class UserManagementServiceImpl implements UserManagementService {
 
   private final UserRepository userRepository;
   private final AccountRoleRepository accountRoleRepository;
+  private final AccountResourcesRepository accountResourcesRepository;
   private final PasswordEncoder passwordEncoder;
   private final ModelMapper modelMapper;
   private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public List<Account> getUsers() {
@@ -50,6 +56,7 @@ public class UserManagementServiceImpl implements UserManagementService {
       noneMatchRoleList.forEach(role -> accountRoleRepository.save(
           createAccountRole(role, account)
       ));
+      eventPublisher.publishEvent(new AccountRolesChangedEvent(account.getId(), account.getUsername()));
     }
   }
 
@@ -73,6 +80,11 @@ public class UserManagementServiceImpl implements UserManagementService {
   @Transactional
   @Override
   public void deleteUser(Long id) {
+    userRepository.findById(id).ifPresent(account -> eventPublisher.publishEvent(
+        new AccountRolesChangedEvent(account.getId(), account.getUsername())));
+    if (accountResourcesRepository.deleteByAccountId(id) > 0) {
+      eventPublisher.publishEvent(new AccountGrantsChangedEvent(id));
+    }
     userRepository.deleteById(id);
   }
 }
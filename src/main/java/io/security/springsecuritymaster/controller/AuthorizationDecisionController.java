@@ -0,0 +1,53 @@
+package io.security.springsecuritymaster.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.security.springsecuritymaster.security.service.AuthorizationDecisionService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 다른 서비스용 일괄 인가 API. 응답은 튜플 순서대로 JSON 이면 {@code "1"}/{@code "0"} 문자열, octet-stream 이면 튜플 i 를
+ * i/8 번째 바이트의 (i%8) 번째 비트(최하위 비트부터)로 담는다.
+ */
+@RequiredArgsConstructor
+@RestController
+public class AuthorizationDecisionController {
+
+  private final AuthorizationDecisionService authorizationDecisionService;
+
+  @PostMapping(value = "/internal/decisions", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  public Map<String, String> decide(InputStream body) throws IOException {
+    boolean[] granted = authorizationDecisionService.decide(body);
+    char[] flags = new char[granted.length];
+    for (int i = 0; i < granted.length; i++) {
+      flags[i] = granted[i] ? '1' : '0';
+    }
+    return Map.of("decisions", new String(flags));
+  }
+
+  @PostMapping(value = "/internal/decisions", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public byte[] decideBits(InputStream body) throws IOException {
+    boolean[] granted = authorizationDecisionService.decide(body);
+    byte[] bits = new byte[(granted.length + 7) >>> 3];
+    for (int i = 0; i < granted.length; i++) {
+      if (granted[i]) {
+        bits[i >>> 3] |= (byte) (1 << (i & 7));
+      }
+    }
+    return bits;
+  }
+
+  @ExceptionHandler({IllegalArgumentException.class, JsonProcessingException.class})
+  public ResponseEntity<Map<String, String>> badRequest(Exception e) {
+    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+  }
+}
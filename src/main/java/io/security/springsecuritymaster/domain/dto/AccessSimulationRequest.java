@@ -0,0 +1,29 @@
+package io.security.springsecuritymaster.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 접근 검토 시뮬레이션 요청. (계정 또는 역할 조합) x (메서드, 경로) 의 모든 조합을 평가한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessSimulationRequest {
+
+  private List<String> usernames = new ArrayList<>();
+  private List<List<String>> roleSets = new ArrayList<>();
+  private List<Target> targets = new ArrayList<>();
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Target {
+
+    private String method;
+    private String path;
+  }
+}
@@ -1,10 +1,13 @@
 package io.security.springsecuritymaster.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -17,4 +20,19 @@ public class AccountDto {
   private String password;
   private int age;
   private List<String> roles;
+  // 로그인한 계정의 테넌트. 요청에서 정한 테넌트와 다르면 인가에서 거부한다. null 이면 기본 테넌트
+  @JsonIgnore
+  private String tenant;
+
+  // 계정에 직접 허용한 URL 자원 ID(오름차순)와 그 목록을 읽은 AccountGrants 세대. 로그인 방식과 관계없이 인증 객체의
+  // principal 에 담기도록 여기에 둔다. 세대가 0 이면 다음 인가 때 다시 읽는다.
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  @Builder.Default
+  private long[] grantedResourceIds = new long[0];
+  @JsonIgnore
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private transient volatile long grantGeneration;
 }
@@ -18,6 +18,7 @@ public class ResourcesDto {
   private String httpMethod;
   private int orderNum;
   private String resourceType;
+  private String tenant;
   private String roleName;
   private Set<Role> roleSet;
 }
@@ -15,6 +15,7 @@ public class RoleDto {
   private String roleName;
   private String roleDesc;
   private String isExpression;
+  private String tenant;
 
   public void convertExpression(boolean expression) {
     this.isExpression = expression ? "Y" : "N";
@@ -25,7 +25,8 @@ public class Account implements Serializable {
   private String password;
   //  private String roles;
   private int age;
-
+  // 계정이 속한 테넌트. null 이면 기본 테넌트
+  private String tenant;
 
   @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<AccountRole> accountRoleList = new ArrayList<>();
@@ -0,0 +1,43 @@
+package io.security.springsecuritymaster.domain.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 역할을 거치지 않고 특정 계정에 직접 허용한 URL 자원.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "account_resources", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "resources_id"}))
+@Entity
+public class AccountResources {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "account_id")
+  private Account account;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "resources_id")
+  private Resources resources;
+
+  @Builder
+  public AccountResources(Account account, Resources resources) {
+    this.account = account;
+    this.resources = resources;
+  }
+}
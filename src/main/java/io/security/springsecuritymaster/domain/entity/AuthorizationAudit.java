@@ -0,0 +1,43 @@
+package io.security.springsecuritymaster.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 인가 감사 로그. 쓰기는 JPA 를 거치지 않고 {@code JdbcAuditEventSink} 가 배치 insert 로 한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "authorization_audit", indexes = @Index(name = "idx_authorization_audit_occurred_at", columnList = "occurred_at"))
+@Entity
+public class AuthorizationAudit {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "occurred_at", nullable = false)
+  private Instant occurredAt;
+
+  @Column(name = "principal")
+  private String principal;
+
+  // HTTP 메서드, 메서드 호출이면 INVOKE
+  @Column(name = "action")
+  private String action;
+
+  @Column(name = "target", length = 1024)
+  private String target;
+
+  @Column(name = "granted", nullable = false)
+  private boolean granted;
+}
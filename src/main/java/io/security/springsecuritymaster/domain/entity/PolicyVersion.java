@@ -0,0 +1,33 @@
+package io.security.springsecuritymaster.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 권한 정책(자원, 역할, 역할 계층)이 바뀔 때마다 같은 트랜잭션에서 1씩 증가하는 단일 행 버전.
+ * 각 노드는 이 값만 주기적으로 읽어 자신이 반영한 버전과 다를 때만 정책을 다시 만든다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "policy_version")
+@Entity
+public class PolicyVersion {
+
+  public static final Long ID = 1L;
+
+  @Id
+  private Long id;
+
+  @Column(nullable = false)
+  private long version;
+
+  public PolicyVersion(Long id, long version) {
+    this.id = id;
+    this.version = version;
+  }
+}
@@ -11,9 +11,11 @@ import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
@@ -37,11 +39,24 @@ public class Resources {
   @Column
   private String resourceType;
 
+  // null 이면 기본 테넌트
+  @Column
+  private String tenant;
+
   @OneToMany(mappedBy = "resources", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<RoleResources> roleResourcesList = new ArrayList<>();
 
+  @Builder
+  public Resources(String resourceName, String httpMethod, Integer orderNum, String resourceType, String tenant) {
+    this.resourceName = resourceName;
+    this.orderNum = orderNum;
+    this.resourceType = resourceType;
+    this.tenant = tenant;
+    setHttpMethod(httpMethod);
+  }
+
   public void setHttpMethod(String httpMethod) {
-    this.httpMethod = HttpMethod.valueOf(httpMethod);
+    this.httpMethod = StringUtils.hasText(httpMethod) ? HttpMethod.valueOf(httpMethod.trim().toUpperCase()) : null;
   }
 
   public void setRoleResourcesList(List<RoleResources> roleResourcesList) {
@@ -33,6 +33,10 @@ public class Role {
   @Column(name = "is_expression")
   private boolean expression;
 
+  // null 이면 기본 테넌트의 역할이며 모든 테넌트가 함께 쓴다.
+  @Column
+  private String tenant;
+
   @OneToMany(mappedBy = "role", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<AccountRole> accountRoleList = new ArrayList<>();
 
@@ -54,10 +58,12 @@ public class Role {
   }
 
   @Builder
-  public Role(String roleName, String roleDesc, boolean expression, List<AccountRole> accountRoleList, List<RoleResources> roleResourcesList) {
+  public Role(String roleName, String roleDesc, boolean expression, String tenant, List<AccountRole> accountRoleList,
+      List<RoleResources> roleResourcesList) {
     this.roleName = roleName;
     this.roleDesc = roleDesc;
     this.expression = expression;
+    this.tenant = tenant;
     this.accountRoleList = accountRoleList;
     this.roleResourcesList = roleResourcesList;
   }
@@ -30,6 +30,10 @@ public class RoleHierarchy {
   @Column
   private String roleName;
 
+  // null 이면 기본 테넌트의 계층
+  @Column
+  private String tenant;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "parent_id")
   private RoleHierarchy parent;
@@ -38,9 +42,14 @@ public class RoleHierarchy {
   private Set<RoleHierarchy> children = new HashSet<>();
 
   @Builder
-  public RoleHierarchy(String roleName, RoleHierarchy parent, Set<RoleHierarchy> children) {
+  public RoleHierarchy(String roleName, String tenant, RoleHierarchy parent, Set<RoleHierarchy> children) {
     this.roleName = roleName;
+    this.tenant = tenant;
     this.parent = parent;
     this.children = children;
   }
+
+  public void changeParent(RoleHierarchy parent) {
+    this.parent = parent;
+  }
 }
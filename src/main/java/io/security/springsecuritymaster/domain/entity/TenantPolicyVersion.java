@@ -0,0 +1,31 @@
+package io.security.springsecuritymaster.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 테넌트의 자원이나 역할 계층이 바뀔 때마다 같은 트랜잭션에서 1씩 증가하는 테넌트별 버전. 테넌트 변경은 {@link PolicyVersion} 을
+ * 올리지 않으므로, 다른 노드는 기본 정책을 건드리지 않고 버전이 바뀐 테넌트의 정책만 다시 만든다.
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "tenant_policy_version")
+@Entity
+public class TenantPolicyVersion {
+
+  @Id
+  private String tenant;
+
+  @Column(nullable = false)
+  private long version;
+
+  public TenantPolicyVersion(String tenant, long version) {
+    this.tenant = tenant;
+    this.version = version;
+  }
+}
@@ -0,0 +1,11 @@
+package io.security.springsecuritymaster.security.audit;
+
+import java.util.List;
+
+/**
+ * 버퍼에서 꺼낸 감사 로그를 한 묶음씩 저장한다. 쓰기 스레드 하나에서만 호출된다.
+ */
+public interface AuditEventSink {
+
+  void write(List<AuthorizationAuditEvent> events);
+}
@@ -0,0 +1,93 @@
+package io.security.springsecuritymaster.security.audit;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 생산자, 한 소비자용 고정 크기 링 버퍼. 락 없이 슬롯마다 시퀀스 번호로 소유권을 넘기며, 가득 차면 기다리지 않고
+ * {@link #offer(Object)} 가 false 를 돌려준다.
+ * <p>
+ * 슬롯 i 의 시퀀스가 위치 p 와 같으면 생산자가 쓸 수 있고, p + 1 이면 소비자가 읽을 수 있다. 소비자는 읽은 뒤 다음 바퀴의 위치
+ * p + capacity 로 돌려놓는다.
+ */
+public final class AuditRingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  public AuditRingBuffer(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.elements = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  public boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        // 다른 생산자가 이미 이 위치를 가져갔다.
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * 소비자 스레드 하나에서만 호출한다.
+   */
+  public E poll() {
+    long position = head.get();
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    E element = elements.get(index);
+    elements.lazySet(index, null);
+    sequences.set(index, position + mask + 1);
+    head.lazySet(position + 1);
+    return element;
+  }
+
+  /**
+   * 소비자 스레드 하나에서만 호출한다.
+   */
+  public int drainTo(Collection<? super E> target, int maxElements) {
+    int drained = 0;
+    E element;
+    while (drained < maxElements && (element = poll()) != null) {
+      target.add(element);
+      drained++;
+    }
+    return drained;
+  }
+
+  public int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+}
@@ -0,0 +1,201 @@
+package io.security.springsecuritymaster.security.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인가 결과를 감사 로그로 남긴다. 거부는 모두, 허용은 {@code granted-sample-rate} 비율만 기록한다.
+ * <p>
+ * 요청 스레드는 이벤트를 {@link AuditRingBuffer} 에 넣기만 하고, 쓰기 스레드 하나가 버퍼를 비우며 배치로 저장한다. 버퍼가 가득 차면
+ * 요청을 기다리게 하지 않고 이벤트를 버린 뒤 개수만 센다. 종료할 때는 웹 서버가 멈춘 뒤 남은 이벤트를 모두 저장한다.
+ * <p>
+ * 이 빈이 있으면 {@code authorizeHttpRequests} 가 기본 publisher 대신 이것을 쓴다.
+ */
+@Slf4j
+@Component
+public class AuditTrailPublisher implements AuthorizationEventPublisher, SmartLifecycle, MeterBinder {
+
+  private static final int MAX_TARGET_LENGTH = 1024;
+  private static final String INVOKE = "INVOKE";
+
+  private final AuditEventSink sink;
+  private final AuditRingBuffer<AuthorizationAuditEvent> buffer;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final double grantedSampleRate;
+  private final LongAdder written = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private volatile boolean running;
+  private Thread writer;
+
+  public AuditTrailPublisher(AuditEventSink sink,
+      @Value("${security.audit.buffer-size:8192}") int bufferSize,
+      @Value("${security.audit.batch-size:256}") int batchSize,
+      @Value("${security.audit.flush-interval:PT0.2S}") Duration flushInterval,
+      @Value("${security.audit.granted-sample-rate:0.01}") double grantedSampleRate) {
+    this.sink = sink;
+    this.buffer = new AuditRingBuffer<>(bufferSize);
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = flushInterval.toNanos();
+    this.grantedSampleRate = grantedSampleRate;
+  }
+
+  @Override
+  public <T> void publishAuthorizationEvent(Supplier<Authentication> authentication, T object,
+      AuthorizationDecision decision) {
+    if (decision == null || (decision.isGranted() && !sampled())) {
+      return;
+    }
+    Authentication current = authentication.get();
+    String principal = current != null ? current.getName() : null;
+    AuthorizationAuditEvent event;
+    if (object instanceof RequestAuthorizationContext context) {
+      event = requestEvent(principal, context.getRequest(), decision.isGranted());
+    } else if (object instanceof HttpServletRequest request) {
+      event = requestEvent(principal, request, decision.isGranted());
+    } else if (object instanceof MethodInvocation invocation) {
+      String target = invocation.getMethod().getDeclaringClass().getName() + "." + invocation.getMethod().getName();
+      event = new AuthorizationAuditEvent(System.currentTimeMillis(), principal, INVOKE, target, decision.isGranted());
+    } else {
+      String target = object != null ? object.getClass().getName() : null;
+      event = new AuthorizationAuditEvent(System.currentTimeMillis(), principal, null, target, decision.isGranted());
+    }
+    if (!buffer.offer(event)) {
+      dropped.increment();
+    }
+  }
+
+  private boolean sampled() {
+    return grantedSampleRate > 0 && (grantedSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < grantedSampleRate);
+  }
+
+  private AuthorizationAuditEvent requestEvent(String principal, HttpServletRequest request, boolean granted) {
+    String target = request.getRequestURI();
+    if (target != null && target.length() > MAX_TARGET_LENGTH) {
+      target = target.substring(0, MAX_TARGET_LENGTH);
+    }
+    return new AuthorizationAuditEvent(System.currentTimeMillis(), principal, request.getMethod(), target, granted);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    writer = new Thread(this::drainLoop, "authorization-audit-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public void stop() {
+    Thread current;
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      running = false;
+      current = writer;
+      writer = null;
+    }
+    LockSupport.unpark(current);
+    try {
+      current.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // 웹 서버(graceful shutdown 포함)가 먼저 멈춘 뒤에 마지막 flush 를 하도록 그보다 낮은 phase 를 쓴다.
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void drainLoop() {
+    List<AuthorizationAuditEvent> batch = new ArrayList<>(batchSize);
+    while (running) {
+      int drained = buffer.drainTo(batch, batchSize);
+      if (drained > 0) {
+        write(batch);
+      }
+      if (drained < batchSize) {
+        LockSupport.parkNanos(flushIntervalNanos);
+      }
+    }
+    while (buffer.drainTo(batch, batchSize) > 0) {
+      write(batch);
+    }
+  }
+
+  private void write(List<AuthorizationAuditEvent> batch) {
+    try {
+      sink.write(batch);
+      written.add(batch.size());
+    } catch (RuntimeException e) {
+      failed.add(batch.size());
+      log.warn("Failed to write {} authorization audit events", batch.size(), e);
+    } finally {
+      batch.clear();
+    }
+  }
+
+  public long getWritten() {
+    return written.sum();
+  }
+
+  public long getDropped() {
+    return dropped.sum();
+  }
+
+  public long getFailed() {
+    return failed.sum();
+  }
+
+  public int getBuffered() {
+    return buffer.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("authorization.audit.events", written, LongAdder::sum)
+        .tag("result", "written")
+        .register(registry);
+    FunctionCounter.builder("authorization.audit.events", dropped, LongAdder::sum)
+        .tag("result", "dropped")
+        .description("Audit events discarded because the buffer was full")
+        .register(registry);
+    FunctionCounter.builder("authorization.audit.events", failed, LongAdder::sum)
+        .tag("result", "failed")
+        .register(registry);
+    Gauge.builder("authorization.audit.buffer", buffer, AuditRingBuffer::size)
+        .register(registry);
+  }
+}
@@ -0,0 +1,24 @@
+package io.security.springsecuritymaster.security.audit;
+
+import lombok.Getter;
+
+/**
+ * 감사 로그 한 건. 요청 스레드에서 만들어 버퍼에 넣으므로 문자열 참조와 원시 값만 담는다.
+ */
+@Getter
+public final class AuthorizationAuditEvent {
+
+  private final long timestamp;
+  private final String principal;
+  private final String action;
+  private final String target;
+  private final boolean granted;
+
+  public AuthorizationAuditEvent(long timestamp, String principal, String action, String target, boolean granted) {
+    this.timestamp = timestamp;
+    this.principal = principal;
+    this.action = action;
+    this.target = target;
+    this.granted = granted;
+  }
+}
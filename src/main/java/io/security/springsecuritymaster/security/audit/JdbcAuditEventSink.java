@@ -0,0 +1,28 @@
+package io.security.springsecuritymaster.security.audit;
+
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class JdbcAuditEventSink implements AuditEventSink {
+
+  private static final String INSERT = "insert into authorization_audit "
+      + "(occurred_at, principal, action, target, granted) values (?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void write(List<AuthorizationAuditEvent> events) {
+    jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, event) -> {
+      ps.setTimestamp(1, new Timestamp(event.getTimestamp()));
+      ps.setString(2, event.getPrincipal());
+      ps.setString(3, event.getAction());
+      ps.setString(4, event.getTarget());
+      ps.setBoolean(5, event.isGranted());
+    });
+  }
+}
@@ -1,12 +1,15 @@
 package io.security.springsecuritymaster.security.configs;
 
 import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.security.policy.PolicySnapshotFile;
+import io.security.springsecuritymaster.security.policy.ReloadableRoleHierarchy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.session.HttpSessionEventPublisher;
 
 @Configuration
 public class AuthConfig {
@@ -17,10 +20,24 @@ public class AuthConfig {
   }
 
   @Bean
-  public RoleHierarchy roleHierarchy(RoleHierarchyService roleHierarchyService) {
-    String allHierarchy = roleHierarchyService.findAllHierarchy();
-    RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
-    roleHierarchy.setHierarchy(allHierarchy);
-    return roleHierarchy;
+  public ReloadableRoleHierarchy roleHierarchy(RoleHierarchyService roleHierarchyService,
+      PolicySnapshotFile policySnapshotFile) {
+    // 저장해 둔 정책 파일이 있으면 DB 를 기다리지 않는다. 최신 계층은 SecurityCacheRefresher 가 반영한다.
+    String allHierarchy = policySnapshotFile.load()
+        .map(PolicySnapshotFile.Contents::getHierarchy)
+        .orElseGet(roleHierarchyService::findAllHierarchy);
+    return new ReloadableRoleHierarchy(allHierarchy);
+  }
+
+  // 역할이 바뀐 계정의 세션을 끝낼 수 있도록 로그인한 세션을 기록한다.
+  @Bean
+  public SessionRegistry sessionRegistry() {
+    return new SessionRegistryImpl();
+  }
+
+  // 컨테이너에서 끝난 세션이 SessionRegistry 에 남지 않도록 세션 이벤트를 스프링 이벤트로 넘긴다.
+  @Bean
+  public HttpSessionEventPublisher httpSessionEventPublisher() {
+    return new HttpSessionEventPublisher();
   }
 }
@@ -0,0 +1,39 @@
+package io.security.springsecuritymaster.security.configs;
+
+import io.security.springsecuritymaster.security.manager.DynamicMethodAuthorizationManager;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
+
+@Configuration
+public class MethodSecurityConfig {
+
+  /**
+   * {@code @Service} 빈의 메서드 호출을 {@link DynamicMethodAuthorizationManager} 로 인가한다. 어떤 메서드에 규칙이 있는지는 실행 중에
+   * 바뀔 수 있으므로 프록시는 모든 {@code @Service} 빈에 만들고, 메서드별 판단은 manager 가 캐시한다.
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor dynamicMethodAuthorizationAdvisor(ObjectProvider<DynamicMethodAuthorizationManager> provider) {
+    // advisor 는 일반 빈보다 먼저 만들어지므로 manager 는 첫 호출 때 찾는다.
+    Supplier<DynamicMethodAuthorizationManager> manager = SingletonSupplier.of(provider::getObject);
+    AuthorizationManager<MethodInvocation> authorizationManager =
+        (authentication, invocation) -> manager.get().check(authentication, invocation);
+
+    AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+        new AnnotationMatchingPointcut(Service.class, true), authorizationManager);
+    interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+    return interceptor;
+  }
+}
@@ -0,0 +1,29 @@
+package io.security.springsecuritymaster.security.configs;
+
+import io.security.springsecuritymaster.security.manager.ReactiveDynamicAuthorizationManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * 리액티브 게이트웨이로 띄울 때만 적용된다. 서블릿 애플리케이션에서는 {@link SecurityConfig} 가 같은 정책을 쓴다.
+ */
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Configuration
+public class ReactiveSecurityConfig {
+
+  @Bean
+  public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+      ReactiveDynamicAuthorizationManager authorizationManager) {
+    return http
+        .authorizeExchange(exchange -> exchange.anyExchange().access(authorizationManager))
+        .httpBasic(Customizer.withDefaults())
+        .anonymous(Customizer.withDefaults())
+        .build();
+  }
+}
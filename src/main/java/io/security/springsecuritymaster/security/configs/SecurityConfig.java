@@ -8,19 +8,30 @@ import io.security.springsecuritymaster.security.handler.FormAuthenticationSucce
 import io.security.springsecuritymaster.security.handler.RestAccessDeniedHandler;
 import io.security.springsecuritymaster.security.handler.RestAuthenticationFailureHandler;
 import io.security.springsecuritymaster.security.handler.RestAuthenticationSuccessHandler;
+import io.security.springsecuritymaster.security.matcher.StaticResourceMatcher;
 import io.security.springsecuritymaster.security.provider.FormAuthenticationProvider;
 import io.security.springsecuritymaster.security.provider.RestAuthenticationProvider;
 import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationDetailsSource;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
@@ -38,8 +49,20 @@ public class SecurityConfig {
   private final FormAuthenticationFailureHandler formAuthenticationFailureHandler;
   private final RestAuthenticationFailureHandler restAuthenticationFailureHandler;
   private final AuthorizationManager<RequestAuthorizationContext> authorizationManager;
+  private final StaticResourceMatcher staticResourceMatcher;
+  private final SessionRegistry sessionRegistry;
 //  private final AuthorizationManager<HttpServletRequest> authorizationManager;
 
+  // 일괄 인가 API 를 부르는 서비스가 X-Decision-Token 헤더로 보낼 값. 비어 있으면 API 를 막는다.
+  @Value("${security.decision.token:}")
+  private String decisionToken;
+
+  // static 타입 자원은 보안 필터를 거치지 않는다.
+  @Bean
+  public WebSecurityCustomizer webSecurityCustomizer() {
+    return web -> web.ignoring().requestMatchers(staticResourceMatcher);
+  }
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     http
@@ -50,6 +73,8 @@ public class SecurityConfig {
 //            .requestMatchers("/manager").hasAuthority("ROLE_MANAGER")
 //            .requestMatchers("/admin/**").hasAuthority("ROLE_ADMIN")
 //            .anyRequest().authenticated()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority("ROLE_ADMIN")
                 .anyRequest().access(authorizationManager)
 //                .anyRequest().permitAll()
         )
@@ -64,12 +89,38 @@ public class SecurityConfig {
         .exceptionHandling(exception -> exception
             .accessDeniedHandler(new FormAccessDeniedHandler("/denied"))
         )
+        // 세션 수는 제한하지 않고, 만료시킨 세션의 다음 요청을 로그아웃시키기 위해 등록만 한다.
+        .sessionManagement(session -> session
+            .maximumSessions(-1)
+            .sessionRegistry(sessionRegistry)
+        )
 //        .addFilterAfter(customAuthorizationFilter(), ExceptionTranslationFilter.class)
     ;
 
     return http.build();
   }
 
+  // 서비스 간 호출이므로 세션, CSRF, 요청 캐시를 쓰지 않는다.
+  @Bean
+  @Order(0)
+  public SecurityFilterChain decisionSecurityFilterChain(HttpSecurity http) throws Exception {
+    byte[] expectedToken = decisionToken.getBytes(StandardCharsets.UTF_8);
+    http
+        .securityMatcher("/internal/decisions")
+        .authorizeHttpRequests(auth -> auth
+            .anyRequest().access((authentication, context) -> {
+              String token = context.getRequest().getHeader("X-Decision-Token");
+              return new AuthorizationDecision(expectedToken.length > 0 && token != null
+                  && MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8)));
+            })
+        )
+        .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        .requestCache(AbstractHttpConfigurer::disable)
+        .csrf(AbstractHttpConfigurer::disable);
+
+    return http.build();
+  }
+
   @Bean
   @Order(1)
   public SecurityFilterChain restSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -103,6 +154,10 @@ public class SecurityConfig {
             .authenticationEntryPoint(new RestAuthenticationEntryPoint())
             .accessDeniedHandler(new RestAccessDeniedHandler())
         )
+        .sessionManagement(session -> session
+            .maximumSessions(-1)
+            .sessionRegistry(sessionRegistry)
+        )
         .with(new RestApiDsl<>(), restApiDsl -> restApiDsl
             .restSuccessHandler(restAuthenticationSuccessHandler)
             .restFailureHandler(restAuthenticationFailureHandler)
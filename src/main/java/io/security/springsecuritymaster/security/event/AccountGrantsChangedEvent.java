@@ -0,0 +1,16 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountGrantsChangedEvent implements SecurityChangeEvent {
+
+  private final Long accountId;
+
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.grantsChanged();
+  }
+}
@@ -0,0 +1,17 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountRolesChangedEvent implements SecurityChangeEvent {
+
+  private final Long accountId;
+  private final String username;
+
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.accountChanged(username);
+  }
+}
@@ -0,0 +1,13 @@
+package io.security.springsecuritymaster.security.event;
+
+/**
+ * {@code ip} 자원을 한꺼번에 바꿨을 때 발행한다. 자원마다 {@link ResourcesChangedEvent} 를 내면 수만 건을 하나씩 반영하게 되므로
+ * 범위 트리만 한 번 다시 만든다.
+ */
+public class IpRangesChangedEvent implements SecurityChangeEvent {
+
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.ipRangesChanged();
+  }
+}
@@ -0,0 +1,16 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ResourcesChangedEvent implements SecurityChangeEvent {
+
+  private final Long resourceId;
+
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.resourceChanged(resourceId);
+  }
+}
@@ -0,0 +1,17 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class RoleChangedEvent implements SecurityChangeEvent {
+
+  private final Long roleId;
+
+  // 역할은 여러 자원과 계층에 걸쳐 있으므로 정책 전체를 다시 읽는다.
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.rolesChanged();
+  }
+}
@@ -0,0 +1,9 @@
+package io.security.springsecuritymaster.security.event;
+
+public class RoleHierarchyChangedEvent implements SecurityChangeEvent {
+
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.hierarchyChanged();
+  }
+}
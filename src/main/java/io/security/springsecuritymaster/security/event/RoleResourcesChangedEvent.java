@@ -0,0 +1,18 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class RoleResourcesChangedEvent implements SecurityChangeEvent {
+
+  private final Long resourceId;
+  private final Long roleId;
+
+  // 자원에 연결된 역할이 바뀌면 그 자원의 규칙만 다시 만들면 된다.
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.resourceChanged(resourceId);
+  }
+}
@@ -0,0 +1,113 @@
+package io.security.springsecuritymaster.security.event;
+
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.manager.DynamicMethodAuthorizationManager;
+import io.security.springsecuritymaster.security.matcher.StaticResourceMatcher;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.IpAccessPolicy;
+import io.security.springsecuritymaster.security.policy.ReloadableRoleHierarchy;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.util.Collection;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 권한 데이터에서 파생된 캐시(URL 정책, 역할 계층, static 자원, 메서드 정책, ip 범위, 계정별 허용, 테넌트별 정책)를 다시 만든다.
+ * 역할이 바뀐 계정은 세션에 저장된 인증 객체가 이전 역할을 들고 있으므로 세션을 만료시킨다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SecurityCacheRefresher {
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final DynamicMethodAuthorizationManager methodAuthorizationManager;
+  private final StaticResourceMatcher staticResourceMatcher;
+  private final ReloadableRoleHierarchy roleHierarchy;
+  private final IpAccessPolicy ipAccessPolicy;
+  private final AccountGrants accountGrants;
+  private final TenantResolver tenantResolver;
+  private final SessionRegistry sessionRegistry;
+
+  /**
+   * 계층을 읽지 못하면 나머지 캐시는 다시 만든 뒤 예외를 던진다. 호출한 쪽이 정책 버전을 반영한 것으로 기록하지 않으므로 다음
+   * 폴링에서 다시 시도한다.
+   */
+  public void refreshAll() {
+    authorizationManager.reloadTenants();
+    staticResourceMatcher.reload();
+    ipAccessPolicy.reload();
+    accountGrants.reload();
+    tenantResolver.reload();
+    refreshHierarchyDependents();
+  }
+
+  /**
+   * URL 정책, 메서드 정책, 역할 계층 빈이 서로 다른 계층을 보지 않도록 계층을 한 번만 읽어 셋 모두에 넘긴다. 계층을 읽지 못하거나
+   * 순환이 있으면 셋 다 이전 계층을 유지하고 예외를 그대로 던진다.
+   */
+  private void refreshHierarchyDependents() {
+    String hierarchy;
+    try {
+      hierarchy = authorizationManager.loadHierarchy();
+      roleHierarchy.apply(hierarchy);
+    } catch (RuntimeException e) {
+      log.error("Failed to refresh role hierarchy, keeping the previous URL, method and hierarchy policies");
+      throw e;
+    }
+    authorizationManager.reload(hierarchy);
+    methodAuthorizationManager.reload(hierarchy);
+  }
+
+  /**
+   * 주어진 테넌트의 정책만 다시 만든다. 기본 정책과 다른 테넌트는 건드리지 않는다.
+   */
+  public void refreshTenants(Collection<String> tenants) {
+    tenantResolver.reload();
+    tenants.forEach(authorizationManager::reloadTenant);
+  }
+
+  public void refresh(SecurityChangeSet changes) {
+    if (changes.isFullReload()) {
+      refreshAll();
+    } else {
+      if (!changes.getResourceIds().isEmpty()) {
+        authorizationManager.upsertResources(changes.getResourceIds());
+        staticResourceMatcher.reload();
+        methodAuthorizationManager.reload();
+        ipAccessPolicy.reload();
+      } else if (changes.isIpRangesChanged()) {
+        ipAccessPolicy.reload();
+      }
+      if (changes.isGrantsChanged()) {
+        accountGrants.reload();
+      }
+      if (!changes.getTenants().isEmpty()) {
+        refreshTenants(changes.getTenants());
+      }
+    }
+    if (!changes.getUsernames().isEmpty()) {
+      expireSessions(changes.getUsernames());
+    }
+  }
+
+  // 만료된 세션의 다음 요청은 로그아웃되고, 다시 로그인하면 바뀐 역할을 읽는다. SessionRegistry 는 노드마다 따로 있어 이 노드에
+  // 있는 세션만 만료된다.
+  private void expireSessions(Set<String> usernames) {
+    int expired = 0;
+    for (Object principal : sessionRegistry.getAllPrincipals()) {
+      if (principal instanceof AccountDto account && usernames.contains(account.getUsername())) {
+        for (SessionInformation session : sessionRegistry.getAllSessions(principal, false)) {
+          session.expireNow();
+          expired++;
+        }
+      }
+    }
+    log.info("Expired {} sessions of accounts whose roles changed: {}", expired, usernames);
+  }
+}
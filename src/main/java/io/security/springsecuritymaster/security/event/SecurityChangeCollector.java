@@ -0,0 +1,86 @@
+package io.security.springsecuritymaster.security.event;
+
+import io.security.springsecuritymaster.admin.service.PolicyVersionService;
+import io.security.springsecuritymaster.security.policy.PolicyVersionWatcher;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 안에서 발행된 {@link SecurityChangeEvent} 를 모아 커밋된 뒤 한 번만 반영한다. 롤백되면 아무것도 하지 않는다.
+ * <p>
+ * 정책에 영향을 주는 첫 이벤트에서 같은 트랜잭션으로 정책 버전을 올리고, 반영이 끝나면 그 버전을 이 노드가 반영한 것으로 기록해
+ * {@link PolicyVersionWatcher} 가 같은 변경으로 다시 읽지 않게 한다. 테넌트 변경은 전체 버전 대신 그 테넌트의 버전만 올린다. 반영에
+ * 실패하면 기록하지 않으므로 다음 폴링이 다시 읽는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SecurityChangeCollector {
+
+  private final PolicyVersionService policyVersionService;
+  private final PolicyVersionWatcher policyVersionWatcher;
+  private final SecurityCacheRefresher securityCacheRefresher;
+
+  @EventListener
+  public void on(SecurityChangeEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      PendingChanges pending = new PendingChanges();
+      add(pending, event);
+      pending.apply();
+      return;
+    }
+    PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      pending = new PendingChanges();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    add(pending, event);
+  }
+
+  private void add(PendingChanges pending, SecurityChangeEvent event) {
+    event.applyTo(pending.changes);
+    if (pending.version == null && pending.changes.isPolicyChanged()) {
+      pending.version = policyVersionService.bump();
+    }
+    for (String tenant : pending.changes.getTenants()) {
+      pending.tenantVersions.computeIfAbsent(tenant, policyVersionService::bump);
+    }
+  }
+
+  private class PendingChanges implements TransactionSynchronization {
+
+    private final SecurityChangeSet changes = new SecurityChangeSet();
+    private final Map<String, Long> tenantVersions = new HashMap<>();
+    private Long version;
+
+    @Override
+    public void afterCommit() {
+      apply();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(SecurityChangeCollector.this);
+    }
+
+    private void apply() {
+      try {
+        securityCacheRefresher.refresh(changes);
+      } catch (RuntimeException e) {
+        log.warn("Failed to refresh security caches after commit, leaving it to the next policy version poll", e);
+        return;
+      }
+      if (version != null) {
+        policyVersionWatcher.markApplied(version);
+      }
+      tenantVersions.forEach(policyVersionWatcher::markApplied);
+    }
+  }
+}
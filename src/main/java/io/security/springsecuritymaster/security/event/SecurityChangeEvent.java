@@ -0,0 +1,10 @@
+package io.security.springsecuritymaster.security.event;
+
+/**
+ * 권한 관련 데이터가 바뀌었음을 알리는 도메인 이벤트. 관리 서비스가 트랜잭션 안에서 발행하고, {@link SecurityChangeCollector} 가
+ * 트랜잭션 단위로 모아 커밋 후에 한 번 반영한다.
+ */
+public interface SecurityChangeEvent {
+
+  void applyTo(SecurityChangeSet changes);
+}
@@ -0,0 +1,84 @@
+package io.security.springsecuritymaster.security.event;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 한 트랜잭션에서 일어난 변경을 합친 것. 같은 자원이 여러 번 바뀌어도 한 번만 다시 만든다.
+ */
+public class SecurityChangeSet {
+
+  private final Set<Long> resourceIds = new LinkedHashSet<>();
+  private final Set<String> usernames = new LinkedHashSet<>();
+  private final Set<String> tenants = new LinkedHashSet<>();
+  private boolean rolesChanged;
+  private boolean hierarchyChanged;
+  private boolean ipRangesChanged;
+  private boolean grantsChanged;
+
+  void resourceChanged(Long resourceId) {
+    resourceIds.add(resourceId);
+  }
+
+  void rolesChanged() {
+    rolesChanged = true;
+  }
+
+  void hierarchyChanged() {
+    hierarchyChanged = true;
+  }
+
+  void ipRangesChanged() {
+    ipRangesChanged = true;
+  }
+
+  void grantsChanged() {
+    grantsChanged = true;
+  }
+
+  void tenantChanged(String tenant) {
+    tenants.add(tenant);
+  }
+
+  void accountChanged(String username) {
+    usernames.add(username);
+  }
+
+  public Set<Long> getResourceIds() {
+    return Collections.unmodifiableSet(resourceIds);
+  }
+
+  public Set<String> getUsernames() {
+    return Collections.unmodifiableSet(usernames);
+  }
+
+  public Set<String> getTenants() {
+    return Collections.unmodifiableSet(tenants);
+  }
+
+  public boolean isRolesChanged() {
+    return rolesChanged;
+  }
+
+  public boolean isHierarchyChanged() {
+    return hierarchyChanged;
+  }
+
+  public boolean isIpRangesChanged() {
+    return ipRangesChanged;
+  }
+
+  public boolean isGrantsChanged() {
+    return grantsChanged;
+  }
+
+  // 다른 노드도 기본 정책을 다시 읽어야 하는 변경인지. 계정의 역할은 정책에 들어가지 않고, 테넌트 변경은 테넌트별 버전으로 알린다.
+  public boolean isPolicyChanged() {
+    return rolesChanged || hierarchyChanged || ipRangesChanged || grantsChanged || !resourceIds.isEmpty();
+  }
+
+  public boolean isFullReload() {
+    return rolesChanged || hierarchyChanged;
+  }
+}
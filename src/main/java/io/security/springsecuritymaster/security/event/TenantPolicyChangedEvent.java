@@ -0,0 +1,17 @@
+package io.security.springsecuritymaster.security.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class TenantPolicyChangedEvent implements SecurityChangeEvent {
+
+  private final String tenant;
+
+  // 그 테넌트의 정책만 다시 만든다. 다른 테넌트와 기본 정책은 건드리지 않는다.
+  @Override
+  public void applyTo(SecurityChangeSet changes) {
+    changes.tenantChanged(tenant);
+  }
+}
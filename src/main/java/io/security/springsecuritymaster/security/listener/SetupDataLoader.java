@@ -1,10 +1,15 @@
 package io.security.springsecuritymaster.security.listener;
 
 import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
+import io.security.springsecuritymaster.admin.repository.PolicyVersionRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
 import io.security.springsecuritymaster.admin.repository.RoleRepository;
 import io.security.springsecuritymaster.domain.entity.Account;
 import io.security.springsecuritymaster.domain.entity.AccountRole;
+import io.security.springsecuritymaster.domain.entity.PolicyVersion;
+import io.security.springsecuritymaster.domain.entity.Resources;
 import io.security.springsecuritymaster.domain.entity.Role;
+import io.security.springsecuritymaster.security.matcher.StaticResourceMatcher;
 import io.security.springsecuritymaster.users.repository.UserRepository;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +29,9 @@ public class SetupDataLoader implements ApplicationListener<ContextRefreshedEven
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
   private final AccountRoleRepository accountRoleRepository;
+  private final PolicyVersionRepository policyVersionRepository;
+  private final ResourcesRepository resourcesRepository;
+  private final StaticResourceMatcher staticResourceMatcher;
   private final PasswordEncoder passwordEncoder;
   private final FilterChainProxy filterChainProxy;
 
@@ -47,6 +55,25 @@ public class SetupDataLoader implements ApplicationListener<ContextRefreshedEven
     Role adminRole = createRoleIfNotFound("ROLE_ADMIN", "관리자");
     AccountRole accountRole = createAccountRole(adminRole);
     createUserIfNotFound("admin", "admin@admin.com", "pass", accountRole);
+    createPolicyVersionIfNotFound();
+    List.of("/css/**", "/js/**", "/images/**", "/favicon.*").forEach(this::createStaticResourceIfNotFound);
+    staticResourceMatcher.reload();
+  }
+
+  public void createStaticResourceIfNotFound(String resourceName) {
+    if (!resourcesRepository.existsByResourceNameAndResourceType(resourceName, StaticResourceMatcher.RESOURCE_TYPE)) {
+      resourcesRepository.save(Resources.builder()
+          .resourceName(resourceName)
+          .orderNum(0)
+          .resourceType(StaticResourceMatcher.RESOURCE_TYPE)
+          .build());
+    }
+  }
+
+  public void createPolicyVersionIfNotFound() {
+    if (!policyVersionRepository.existsById(PolicyVersion.ID)) {
+      policyVersionRepository.save(new PolicyVersion(PolicyVersion.ID, 0L));
+    }
   }
 
   public Role createRoleIfNotFound(String roleName, String roleDesc) {
@@ -0,0 +1,38 @@
+package io.security.springsecuritymaster.security.manager;
+
+import java.util.function.Supplier;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.SecurityExpressionHandler;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.ExpressionAuthorizationDecision;
+import org.springframework.security.core.Authentication;
+
+/**
+ * {@code WebExpressionAuthorizationManager}, {@code PreAuthorizeAuthorizationManager} 와 같지만 표현식을 직접 파싱하지 않고 미리 파싱(컴파일)된 표현식과 공유 handler 를 받는다.
+ */
+public class CachedExpressionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+  private final Expression expression;
+  private final SecurityExpressionHandler<T> expressionHandler;
+
+  public CachedExpressionAuthorizationManager(Expression expression,
+      SecurityExpressionHandler<T> expressionHandler) {
+    this.expression = expression;
+    this.expressionHandler = expressionHandler;
+  }
+
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, T context) {
+    EvaluationContext evaluationContext = expressionHandler.createEvaluationContext(authentication, context);
+    boolean granted = ExpressionUtils.evaluateAsBoolean(expression, evaluationContext);
+    return new ExpressionAuthorizationDecision(granted, expression);
+  }
+
+  @Override
+  public String toString() {
+    return "CachedExpressionAuthorizationManager[expression='" + expression.getExpressionString() + "']";
+  }
+}
@@ -1,58 +1,366 @@
 package io.security.springsecuritymaster.security.manager;
 
 import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
 import io.security.springsecuritymaster.security.mapper.PersistentUrlRoleMapper;
+import io.security.springsecuritymaster.security.matcher.PathPatternRequestMatcher;
+import io.security.springsecuritymaster.security.matcher.UrlMatchingMode;
+import io.security.springsecuritymaster.security.metrics.AuthorizationMetrics;
+import io.security.springsecuritymaster.security.metrics.RuleStats;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.DecisionTable;
+import io.security.springsecuritymaster.security.policy.IpAccessPolicy;
+import io.security.springsecuritymaster.security.policy.PolicyLoadState;
+import io.security.springsecuritymaster.security.policy.PolicyRule;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.security.policy.PolicySnapshotFile;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import io.security.springsecuritymaster.security.policy.RuleClassifier;
+import io.security.springsecuritymaster.security.policy.RuleEvaluation;
+import io.security.springsecuritymaster.security.policy.RuleExpression;
+import io.security.springsecuritymaster.security.policy.SecurityExpressionCache;
+import io.security.springsecuritymaster.security.policy.TenantPolicyCache;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
 import io.security.springsecuritymaster.security.service.DynamicAuthorizationService;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
-import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.expression.SecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
-import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
-import org.springframework.security.web.util.matcher.RequestMatcherEntry;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class CustomDynamicAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
 
   private static final AuthorizationDecision DENY = new AuthorizationDecision(false);
   private static final AuthorizationDecision ACCESS = new AuthorizationDecision(true);
-  List<RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>>> mappings;
+  private static final UrlPathHelper URL_PATH_HELPER = UrlPathHelper.defaultInstance;
+  private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+  private final AtomicReference<PolicySnapshot> snapshot = new AtomicReference<>(PolicySnapshot.EMPTY);
   private final HandlerMappingIntrospector handlerMappingIntrospector;
   private final ResourcesRepository resourcesRepository;
-  private final RoleHierarchy roleHierarchy;
+  private final SecurityExpressionCache securityExpressionCache;
+  private final AuthoritySetRegistry authoritySetRegistry;
+  private final AuthorizationMetrics authorizationMetrics;
+  private final RoleHierarchyService roleHierarchyService;
+  private final PolicySnapshotFile policySnapshotFile;
+  private final IpAccessPolicy ipAccessPolicy;
+  private final AccountGrants accountGrants;
+  private final TenantResolver tenantResolver;
+  private final PolicyLoadState loadState = new PolicyLoadState();
   private DynamicAuthorizationService dynamicAuthorizationService;
+  private TenantPolicyCache tenantPolicies;
+  private ExecutorService loader;
+  private ScheduledExecutorService retryScheduler;
+  private ScheduledFuture<?> pendingRetry;
 
+  private UrlMatchingMode matchingMode = UrlMatchingMode.PATH_PATTERN;
+  private boolean denyOtherMethods = true;
+  private Set<HttpMethod> otherMethodFallthrough = Set.of(HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+  // DB 에서 정책을 읽는 데 이보다 오래 걸리면 포기하고 이전 정책을 유지한다.
+  @Value("${security.policy.load-timeout:PT10S}")
+  private Duration loadTimeout = Duration.ofSeconds(10);
+
+  @Value("${security.policy.retry-initial-backoff:PT1S}")
+  private Duration retryInitialBackoff = Duration.ofSeconds(1);
+
+  @Value("${security.policy.retry-max-backoff:PT1M}")
+  private Duration retryMaxBackoff = Duration.ofMinutes(1);
+
+  // 테넌트별 스냅샷 추정 크기의 합이 이를 넘으면 오래 쓰지 않은 테넌트부터 버린다.
+  @Value("${security.tenant.policy-cache-budget:64MB}")
+  private DataSize tenantPolicyBudget = DataSize.ofMegabytes(64);
+
+  /**
+   * {@link #mapping()} 전에 정한다. 이미 만든 matcher 에는 적용되지 않는다.
+   */
+  @Value("${security.policy.matching-mode:PATH_PATTERN}")
+  public void setMatchingMode(UrlMatchingMode matchingMode) {
+    this.matchingMode = matchingMode;
+  }
+
+  /**
+   * 자기 메서드의 규칙도, 메서드 무관 규칙도 맞지 않는 요청은 허용한다. 켜 두면 다른 메서드에만 규칙이 걸린 경로는 예외로 거부한다.
+   * {@code POST /admin/**} 만 등록해도 같은 경로가 GET 으로 열리지 않게 하려는 것이다.
+   */
+  @Value("${security.policy.deny-other-methods:true}")
+  public void setDenyOtherMethods(boolean denyOtherMethods) {
+    this.denyOtherMethods = denyOtherMethods;
+  }
+
+  /**
+   * {@link #setDenyOtherMethods} 가 켜져 있어도 규칙이 없을 때처럼 허용할 메서드. 기본은 CORS preflight 인 OPTIONS 와 HEAD 다.
+   */
+  @Value("${security.policy.other-method-fallthrough:HEAD,OPTIONS}")
+  public void setOtherMethodFallthrough(Set<HttpMethod> otherMethodFallthrough) {
+    this.otherMethodFallthrough = Set.copyOf(otherMethodFallthrough);
+  }
+
+  /**
+   * 저장해 둔 정책 파일이 있으면 DB 를 읽지 않고 그 정책으로 먼저 시작한다. DB 와의 대조는 {@code PolicyVersionWatcher} 의 첫
+   * 폴링이 백그라운드에서 전체를 다시 읽으며 한다. 파일도 없고 DB 도 읽지 못하면 정책을 읽을 때까지 모든 요청을 거부하고 재시도한다.
+   */
   @PostConstruct
   public void mapping() {
     dynamicAuthorizationService = new DynamicAuthorizationService(new PersistentUrlRoleMapper(resourcesRepository));
-    setMapping();
+    loader = Executors.newCachedThreadPool(daemon("policy-loader"));
+    retryScheduler = Executors.newSingleThreadScheduledExecutor(daemon("policy-load-retry"));
+    tenantPolicies = new TenantPolicyCache(this::loadTenant, tenantPolicyBudget.toBytes(), retryInitialBackoff);
+
+    Optional<PolicySnapshotFile.Contents> saved = policySnapshotFile.load();
+    if (saved.isPresent()) {
+      PolicySnapshotFile.Contents contents = saved.get();
+      apply(compile(contents.getUrlRoles(), contents.getHierarchy()));
+      loadState.loaded(PolicyLoadState.Source.SNAPSHOT_FILE, Instant.ofEpochMilli(contents.getSavedAt()));
+      log.info("Serving URL policy from snapshot file saved at {} until it is reconciled with the database",
+          Instant.ofEpochMilli(contents.getSavedAt()));
+      return;
+    }
+    reload();
+  }
+
+  @PreDestroy
+  public void destroy() {
+    retryScheduler.shutdownNow();
+    loader.shutdownNow();
   }
 
   @Override
   public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext request) {
-    for (RequestMatcherEntry<AuthorizationManager<RequestAuthorizationContext>> mapping : mappings) {
-      RequestMatcher requestMatcher = mapping.getRequestMatcher();
-      RequestMatcher.MatchResult matchResult = requestMatcher.matcher(request.getRequest());
-
-      if (matchResult.isMatch()) {
-        AuthorizationManager<RequestAuthorizationContext> manager = mapping.getEntry();
-        return manager.check(authentication,
-            new RequestAuthorizationContext(request.getRequest(), matchResult.getVariables()));
+    HttpServletRequest servletRequest = request.getRequest();
+    boolean parsedHere = matchingMode == UrlMatchingMode.PATH_PATTERN
+        && !ServletRequestPathUtils.hasParsedRequestPath(servletRequest);
+    if (parsedHere) {
+      ServletRequestPathUtils.parseAndCache(servletRequest);
+    }
+    try {
+      long start = System.nanoTime();
+      String path = URL_PATH_HELPER.getPathWithinApplication(servletRequest);
+      HttpMethod method = HttpMethod.valueOf(servletRequest.getMethod());
+      String tenant = tenantResolver.resolve(servletRequest);
+      if (isOtherTenant(authentication.get(), tenant)) {
+        return DENY;
+      }
+      PolicySnapshot policy = tenant == null ? snapshot.get() : tenantPolicies.get(tenant);
+      if (policy == PolicySnapshot.EMPTY) {
+        // 한 번도 정책을 읽지 못했다. 규칙이 없다고 보고 허용하면 보호된 URL 이 열린다.
+        return DENY;
+      }
+      if (!ipAccessPolicy.isEmpty()) {
+        Authentication restricted = ipAccessPolicy.apply(authentication.get(), servletRequest.getRemoteAddr(),
+            policy.getRoleIndex());
+        if (restricted == null) {
+          return DENY;
+        }
+        authentication = () -> restricted;
+      }
+      int tested = 0;
+      for (PolicyRule rule : policy.candidates(method, path)) {
+        tested++;
+        RequestMatcher requestMatcher = rule.getRequestMatcher();
+        RequestMatcher.MatchResult matchResult = requestMatcher.matcher(servletRequest);
+
+        if (matchResult.isMatch()) {
+          AuthorizationDecision decision = decide(policy, rule, authentication,
+              new RequestAuthorizationContext(servletRequest, matchResult.getVariables()), true);
+          if (rule.getStats() != null) {
+            rule.getStats().record(tested, decision != null && decision.isGranted(), System.nanoTime() - start);
+          }
+          return decision;
+        }
+      }
+      for (PolicyRule rule : otherMethodCandidates(policy, method, path)) {
+        if (rule.getRequestMatcher().matches(servletRequest)) {
+          // 다른 메서드에만 규칙이 있는 경로다. 규칙이 없다고 보고 허용하면 그 경로가 이 메서드로 열린다.
+          return DENY;
+        }
+      }
+      authorizationMetrics.fallthrough();
+      return ACCESS;
+    } finally {
+      if (parsedHere) {
+        ServletRequestPathUtils.clearParsedRequestPath(servletRequest);
+      }
+    }
+  }
+
+  /**
+   * 요청 객체 없이 주어진 정책으로 (권한, 메서드, 경로) 조합을 판단한다. 접근 검토처럼 실제 요청이 아닌 조합을 평가할 때 쓰며,
+   * {@code SecurityContextHolder} 와 규칙 통계는 건드리지 않는다. 경로는 PathPattern(파싱되지 않으면 Ant 패턴)으로 비교하고,
+   * 요청 정보가 필요한 {@code hasIpAddress} 나 요청을 읽는 SpEL 규칙은 거부로 보고, 주소가 없으므로 {@code ip} 자원 범위는
+   * 적용하지 않는다.
+   *
+   * @param path 컨텍스트 경로를 뺀 애플리케이션 내 경로
+   */
+  public boolean isGranted(PolicySnapshot policy, Authentication authentication, HttpMethod method, String path) {
+    return evaluate(policy, () -> authentication, method, path, null, false);
+  }
+
+  /**
+   * 서블릿 요청 없이 현재 정책으로 판단한다. 리액티브 체인처럼 실제 요청을 다른 형태로 받는 곳에서 쓰며, 서블릿 경로와 같이 규칙 통계와
+   * 지표를 기록한다.
+   *
+   * @param path 컨텍스트 경로를 뺀 애플리케이션 내 경로
+   * @param remoteAddress {@code ip} 자원 범위와 비교할 주소. 모르면 {@code null}
+   * @param tenant {@link TenantResolver} 가 정한 테넌트. 기본 테넌트이면 {@code null}
+   */
+  public AuthorizationDecision check(Supplier<Authentication> authentication, HttpMethod method, PathContainer path,
+      InetAddress remoteAddress, String tenant) {
+    if (isOtherTenant(authentication.get(), tenant)) {
+      return DENY;
+    }
+    PolicySnapshot policy = tenant == null ? snapshot.get() : tenantPolicies.get(tenant);
+    if (!ipAccessPolicy.isEmpty()) {
+      Authentication restricted = ipAccessPolicy.apply(authentication.get(), remoteAddress, policy.getRoleIndex());
+      if (restricted == null) {
+        return DENY;
+      }
+      authentication = () -> restricted;
+    }
+    return evaluate(policy, authentication, method, path.value(), path, true) ? ACCESS : DENY;
+  }
+
+  /**
+   * @return {@link #check(Supplier, HttpMethod, PathContainer, InetAddress, String)} 가 테넌트 정책이나 계정의 직접 허용을 DB 에서
+   * 읽을 수 있는지. 리액티브 체인은 이때만 판단을 이벤트 루프 밖으로 넘긴다.
+   */
+  public boolean mayBlock(Authentication authentication, String tenant) {
+    return (tenant != null && !tenantPolicies.isCached(tenant)) || accountGrants.isStale(authentication);
+  }
+
+  private boolean evaluate(PolicySnapshot policy, Supplier<Authentication> authentication, HttpMethod method,
+      String path, PathContainer pathContainer, boolean live) {
+    if (policy == PolicySnapshot.EMPTY) {
+      return false;
+    }
+    long start = live ? System.nanoTime() : 0L;
+    int tested = 0;
+    for (PolicyRule rule : policy.candidates(method, path)) {
+      tested++;
+      if (pathContainer == null) {
+        pathContainer = PathContainer.parsePath(path);
+      }
+      Map<String, String> variables = matchPath(rule, path, pathContainer);
+      if (variables != null) {
+        boolean granted;
+        try {
+          AuthorizationDecision decision = decide(policy, rule, authentication,
+              new RequestAuthorizationContext(null, variables), live);
+          granted = decision != null && decision.isGranted();
+        } catch (RuntimeException e) {
+          // 요청 객체를 읽는 SpEL 규칙처럼 요청 없이 평가할 수 없는 규칙은 거부로 본다.
+          log.debug("Denying '{}' for {} {}: rule cannot be evaluated without a request ({})",
+              rule.getAttribute(), method, path, e.toString());
+          granted = false;
+        }
+        if (live && rule.getStats() != null) {
+          rule.getStats().record(tested, granted, System.nanoTime() - start);
+        }
+        return granted;
+      }
+    }
+    for (PolicyRule rule : otherMethodCandidates(policy, method, path)) {
+      if (pathContainer == null) {
+        pathContainer = PathContainer.parsePath(path);
       }
+      if (matchPath(rule, path, pathContainer) != null) {
+        return false;
+      }
+    }
+    if (live) {
+      authorizationMetrics.fallthrough();
+    }
+    return true;
+  }
+
+  // 역할 규칙이 거부해도 계정에 그 자원이 직접 허용되어 있으면 허용한다. 허용이 없는 계정은 블룸 필터에서 바로 걸러진다.
+  private AuthorizationDecision decide(PolicySnapshot policy, PolicyRule rule, Supplier<Authentication> authentication,
+      RequestAuthorizationContext context, boolean live) {
+    AuthorizationDecision decision = decideByRule(policy, rule, authentication, context, live);
+    if (decision != null && !decision.isGranted()
+        && accountGrants.isGranted(authentication.get(), rule.getResourceId())) {
+      return ACCESS;
+    }
+    return decision;
+  }
+
+  private AuthorizationDecision decideByRule(PolicySnapshot policy, PolicyRule rule,
+      Supplier<Authentication> authentication, RequestAuthorizationContext context, boolean live) {
+    AuthorizationManager<RequestAuthorizationContext> manager = rule.getManager();
+    if (!rule.isCacheable()) {
+      return manager.check(authentication, context);
+    }
+
+    DecisionTable decisionTable = policy.getDecisionTable();
+    int authoritySetId = authoritySetRegistry.idOf(authentication.get());
+    byte cached = decisionTable.get(rule.getSlot(), authoritySetId);
+    if (cached != DecisionTable.UNKNOWN) {
+      if (live) {
+        authorizationMetrics.decisionTableHit();
+      }
+      return cached == DecisionTable.GRANTED ? ACCESS : DENY;
+    }
+
+    if (live) {
+      authorizationMetrics.decisionTableMiss();
+    }
+    AuthorizationDecision decision = manager.check(authentication, context);
+    if (decision != null) {
+      decisionTable.put(rule.getSlot(), authoritySetId, decision.isGranted());
     }
-    return ACCESS;
+    return decision;
   }
 
   @Override
@@ -60,31 +368,371 @@ public class CustomDynamicAuthorizationManager implements AuthorizationManager<R
     AuthorizationManager.super.verify(authentication, object);
   }
 
-  private AuthorizationManager<RequestAuthorizationContext> customAuthorizationManager(String role) {
-    if (role.startsWith("ROLE")) {
-      AuthorityAuthorizationManager<RequestAuthorizationContext> authorizationManager = AuthorityAuthorizationManager.hasAuthority(role);
-      authorizationManager.setRoleHierarchy(roleHierarchy);
-      return authorizationManager;
+  private boolean isAuthorityRule(String role) {
+    return role.startsWith("ROLE");
+  }
+
+  /**
+   * 같은 역할이나 표현식을 쓰는 규칙이 공유할 manager 와 평가 방식을 정한다. 단순 표현식은 SpEL 을 거치지 않는다.
+   *
+   * @param expressionHandler SpEL 규칙을 평가할 handler. {@code roleIndex} 와 같은 계층을 써야 한다.
+   */
+  private PolicyRule prototype(String role, RoleIndex roleIndex,
+      SecurityExpressionHandler<RequestAuthorizationContext> expressionHandler) {
+    PolicyRule.PolicyRuleBuilder prototype = PolicyRule.builder().attribute(role);
+    if (isAuthorityRule(role)) {
+      return prototype
+          .manager(new RoleBitsAuthorizationManager<>(role, roleIndex, authoritySetRegistry))
+          .evaluation(RuleEvaluation.ROLE_BITS)
+          .cacheable(true)
+          .build();
     }
 
-    DefaultHttpSecurityExpressionHandler handler = new DefaultHttpSecurityExpressionHandler();
-    handler.setRoleHierarchy(roleHierarchy);
-    WebExpressionAuthorizationManager authorizationManager = new WebExpressionAuthorizationManager(role);
-    authorizationManager.setExpressionHandler(handler);
+    Optional<RuleExpression> expression = RuleClassifier.classify(role);
+    if (expression.isPresent()) {
+      return prototype
+          .manager(NativeRuleAuthorizationManagers.of(expression.get(), roleIndex, authoritySetRegistry))
+          .evaluation(RuleEvaluation.NATIVE)
+          .cacheable(expression.get().isAuthorityOnly())
+          .build();
+    }
 
-    return authorizationManager;
+    return prototype
+        .manager(new CachedExpressionAuthorizationManager<>(securityExpressionCache.get(role), expressionHandler))
+        .evaluation(RuleEvaluation.SPEL)
+        .cacheable(false)
+        .build();
   }
 
+  /**
+   * 전체 정책을 다시 읽는다. 읽기가 실패하거나 시간 안에 끝나지 않으면 지금 정책을 그대로 두고 백오프하며 다시 시도한다.
+   */
   public synchronized void reload() {
-    this.mappings.clear();
-    setMapping();
+    try {
+      setMapping(withTimeout(roleHierarchyService::findAllHierarchy));
+    } catch (RuntimeException e) {
+      loadFailed(e);
+    }
+  }
+
+  /**
+   * 기본 테넌트의 역할 계층을 정책과 같은 시간 제한으로 읽는다.
+   *
+   * @throws IllegalStateException 읽기가 실패하거나 시간 안에 끝나지 않을 때
+   */
+  public String loadHierarchy() {
+    return withTimeout(roleHierarchyService::findAllHierarchy);
+  }
+
+  /**
+   * 전체 정책을 주어진 역할 계층으로 다시 읽는다. 메서드 정책과 역할 계층 빈이 같은 계층을 쓰도록 호출하는 쪽에서 한 번 읽어
+   * 넘긴다.
+   */
+  public synchronized void reload(String hierarchy) {
+    try {
+      setMapping(hierarchy);
+    } catch (RuntimeException e) {
+      loadFailed(e);
+    }
+  }
+
+  public void upsertResource(Long resourceId) {
+    upsertResources(Set.of(resourceId));
+  }
+
+  /**
+   * 바뀐 자원들의 규칙만 다시 읽어 현재 정책에 한 번에 반영한다. 나머지 규칙은 이미 만들어 둔 matcher 와 manager 를 그대로 쓴다.
+   */
+  public synchronized void upsertResources(Collection<Long> resourceIds) {
+    if (resourceIds.isEmpty()) {
+      return;
+    }
+    Map<Long, List<UrlRoleDto>> urlRolesById;
+    try {
+      urlRolesById = withTimeout(() -> {
+        Map<Long, List<UrlRoleDto>> loaded = new LinkedHashMap<>();
+        resourceIds.forEach(id -> loaded.put(id, dynamicAuthorizationService.getUrlRoleMappings(id)));
+        return loaded;
+      });
+    } catch (RuntimeException e) {
+      loadFailed(e);
+      return;
+    }
+    PolicySnapshot current = snapshot.get();
+    RoleIndex roleIndex = current.getRoleIndex()
+        .withRoles(requiredRoles(urlRolesById.values().stream().flatMap(List::stream).toList()));
+
+    // 역할 색인이 바뀌면 기존 manager 는 이전 색인을 보고 있으므로 전체를 다시 만든다.
+    if (roleIndex != current.getRoleIndex()) {
+      reload();
+      return;
+    }
+
+    Map<String, PolicyRule> prototypes = new HashMap<>();
+    current.getRules().forEach(rule -> prototypes.putIfAbsent(rule.getAttribute(), rule));
+    Map<Long, List<PolicyRule>> replacements = new LinkedHashMap<>();
+    urlRolesById.forEach((id, urlRoles) -> replacements.put(id,
+        urlRoles.stream().map(urlRole -> compile(urlRole, roleIndex, prototypes)).toList()));
+    publish(current.withResources(replacements));
+  }
+
+  public synchronized void removeResource(Long resourceId) {
+    publish(snapshot.get().withResources(Map.of(resourceId, List.of())));
+  }
+
+  /**
+   * 한 테넌트의 정책만 다시 읽는다. 아직 요청이 없어 캐시에 없는 테넌트는 다음 요청 때 읽으므로 건너뛴다. 기본 정책의 잠금을 잡지
+   * 않으므로 기본 정책이나 다른 테넌트의 재로딩과 서로 기다리지 않는다.
+   */
+  public void reloadTenant(String tenant) {
+    tenantPolicies.reload(tenant);
+  }
+
+  /**
+   * 캐시에 있는 테넌트를 각각 백그라운드에서 다시 읽는다. 다른 노드의 변경은 어느 테넌트인지 알 수 없을 때 쓴다.
+   */
+  public void reloadTenants() {
+    tenantPolicies.getCachedTenants().forEach(tenant -> loader.execute(() -> reloadTenant(tenant)));
+  }
+
+  /**
+   * 단건 반영이 누락되었거나 다른 경로로 테이블이 바뀐 경우를 대비해 주기적으로 DB 와 비교하고, 다르면 전체를 다시 읽는다.
+   */
+  @Scheduled(initialDelayString = "${security.policy.reconcile-interval:PT5M}",
+      fixedDelayString = "${security.policy.reconcile-interval:PT5M}")
+  public synchronized void reconcile() {
+    List<UrlRoleDto> urlRoles;
+    String hierarchy;
+    try {
+      urlRoles = withTimeout(dynamicAuthorizationService::getUrlRoleMappings);
+      hierarchy = withTimeout(roleHierarchyService::findAllHierarchy);
+    } catch (RuntimeException e) {
+      loadFailed(e);
+      return;
+    }
+    List<String> expected = urlRoles.stream()
+        .map(urlRole -> signature(urlRole.getResourceId(), urlRole.getHttpMethod(), urlRole.getResourceName(),
+            urlRole.getOrderNum(), urlRole.getRoleName()))
+        .sorted()
+        .toList();
+    List<String> actual = snapshot.get().getRules().stream()
+        .map(rule -> signature(rule.getResourceId(), rule.getHttpMethod(), rule.getPattern(), rule.getOrderNum(),
+            rule.getAttribute()))
+        .sorted()
+        .toList();
+
+    if (!expected.equals(actual)) {
+      log.warn("URL policy drifted from the resources table ({} rules, expected {}), rebuilding",
+          actual.size(), expected.size());
+      publish(compile(urlRoles, hierarchy));
+    }
+    loadState.loaded(PolicyLoadState.Source.DATABASE, Instant.now());
+  }
+
+  public PolicySnapshot getSnapshot() {
+    return snapshot.get();
+  }
+
+  /**
+   * @param tenant 기본 테넌트이면 {@code null}. 아직 읽지 않은 테넌트이면 DB 에서 읽는다.
+   */
+  public PolicySnapshot getSnapshot(String tenant) {
+    return tenant == null ? snapshot.get() : tenantPolicies.get(tenant);
+  }
+
+  public PolicyLoadState getLoadState() {
+    return loadState;
+  }
+
+  // 테넌트 정책은 규칙 통계를 남기지 않고 파일로도 저장하지 않는다. 통계 키가 자원 id 라 기본 정책의 통계와 섞이지 않게 한다.
+  // SpEL 규칙도 기본 계층이 아니라 테넌트의 계층으로 평가해야 역할 비트셋 규칙과 같은 답을 낸다.
+  private PolicySnapshot loadTenant(String tenant) {
+    List<UrlRoleDto> urlRoles = withTimeout(() -> dynamicAuthorizationService.getTenantUrlRoleMappings(tenant));
+    String hierarchy = withTimeout(() -> roleHierarchyService.findAllHierarchy(tenant));
+    RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
+    roleHierarchy.setHierarchy(hierarchy == null ? "" : hierarchy);
+    PolicySnapshot policy = compile(urlRoles, hierarchy, securityExpressionCache.expressionHandler(roleHierarchy),
+        false);
+    log.debug("Loaded URL policy of tenant '{}' with {} rules", tenant, policy.size());
+    return policy;
+  }
+
+  private void setMapping(String hierarchy) {
+    List<UrlRoleDto> urlRoles = withTimeout(dynamicAuthorizationService::getUrlRoleMappings);
+    publish(compile(urlRoles, hierarchy));
+    loadState.loaded(PolicyLoadState.Source.DATABASE, Instant.now());
+    cancelRetry();
+  }
+
+  /**
+   * DB 읽기를 별도 스레드에서 실행해 멈춘 커넥션이 재로딩을 잡고 있지 않게 한다. 시간을 넘기면 읽던 스레드를 인터럽트하고 포기한다.
+   */
+  private <T> T withTimeout(Callable<T> task) {
+    Future<T> future = loader.submit(task);
+    try {
+      return future.get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new IllegalStateException("Loading URL policy timed out after " + loadTimeout, e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Loading URL policy failed", e.getCause());
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading URL policy", e);
+    }
+  }
+
+  private void loadFailed(RuntimeException e) {
+    int failures = loadState.failed(e.getCause() != null ? e.getCause() : e, Instant.now());
+    if (pendingRetry != null && !pendingRetry.isDone()) {
+      log.warn("Failed to load URL policy ({} in a row), retry already scheduled: {}", failures, e.getMessage());
+      return;
+    }
+    // 1, 2, 4 ... 배로 늘리되 최대값을 넘지 않고, 여러 노드가 동시에 DB 로 몰리지 않게 최대 20% 를 흔든다.
+    long backoff = Math.min(retryInitialBackoff.toMillis() << Math.min(failures - 1, 20), retryMaxBackoff.toMillis());
+    backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    Instant retryAt = Instant.now().plusMillis(backoff);
+    loadState.retryScheduled(retryAt);
+    pendingRetry = retryScheduler.schedule(this::retry, backoff, TimeUnit.MILLISECONDS);
+    log.warn("Failed to load URL policy ({} in a row), keeping the previous policy and retrying in {} ms",
+        failures, backoff, e);
+  }
+
+  private synchronized void retry() {
+    pendingRetry = null;
+    reload();
+  }
+
+  private void cancelRetry() {
+    if (pendingRetry != null) {
+      pendingRetry.cancel(false);
+      pendingRetry = null;
+    }
+  }
+
+  private void publish(PolicySnapshot policy) {
+    apply(policy);
+    policySnapshotFile.save(policy);
+  }
+
+  private void apply(PolicySnapshot policy) {
+    snapshot.set(policy);
+    authorizationMetrics.retainRuleStats(policy.getRules().stream()
+        .map(PolicyRule::getStats)
+        .filter(Objects::nonNull)
+        .map(RuleStats::getKey)
+        .collect(Collectors.toSet()));
+    Map<RuleEvaluation, Integer> counts = policy.countByEvaluation();
+    authorizationMetrics.compiledRules(counts);
+    log.debug("Published URL policy with {} rules {}", policy.size(), counts);
+  }
+
+  private PolicySnapshot compile(List<UrlRoleDto> urlRoles, String hierarchy) {
+    return compile(urlRoles, hierarchy, securityExpressionCache.getExpressionHandler(), true);
+  }
+
+  private PolicySnapshot compile(List<UrlRoleDto> urlRoles, String hierarchy,
+      SecurityExpressionHandler<RequestAuthorizationContext> expressionHandler, boolean withStats) {
+    RoleIndex roleIndex = RoleIndex.build(requiredRoles(urlRoles), hierarchy);
+
+    // 같은 역할이나 표현식을 쓰는 URL 들은 하나의 manager 를 공유한다.
+    Map<String, PolicyRule> prototypes = new HashMap<>();
+    PolicySnapshot.Builder builder = PolicySnapshot.builder().roleIndex(roleIndex);
+    urlRoles.forEach(urlRole -> builder.add(compile(urlRole, roleIndex, prototypes, expressionHandler, withStats)));
+    return builder.build();
+  }
+
+  private PolicyRule compile(UrlRoleDto urlRole, RoleIndex roleIndex, Map<String, PolicyRule> prototypes) {
+    return compile(urlRole, roleIndex, prototypes, securityExpressionCache.getExpressionHandler(), true);
+  }
+
+  private PolicyRule compile(UrlRoleDto urlRole, RoleIndex roleIndex, Map<String, PolicyRule> prototypes,
+      SecurityExpressionHandler<RequestAuthorizationContext> expressionHandler, boolean withStats) {
+    RequestMatcher requestMatcher = requestMatcher(urlRole.getResourceName());
+    return prototypes.computeIfAbsent(urlRole.getRoleName(), role -> prototype(role, roleIndex, expressionHandler))
+        .toBuilder()
+        .resourceId(urlRole.getResourceId())
+        .orderNum(urlRole.getOrderNum())
+        .pattern(urlRole.getResourceName())
+        .httpMethod(urlRole.getHttpMethod())
+        .requestMatcher(requestMatcher)
+        .pathPattern(requestMatcher instanceof PathPatternRequestMatcher pathPatternRequestMatcher
+            ? pathPatternRequestMatcher.getPattern() : pathPattern(urlRole.getResourceName()))
+        .stats(withStats ? authorizationMetrics.ruleStats(urlRole.getResourceId(), urlRole.getHttpMethod(),
+            urlRole.getResourceName(), urlRole.getRoleName(), urlRole.getOrderNum()) : null)
+        .build();
+  }
+
+  // 역할 비트셋으로 검사할 권한 규칙과 단순 표현식에 등장하는 권한
+  private Set<String> requiredRoles(List<UrlRoleDto> urlRoles) {
+    Set<String> roles = new LinkedHashSet<>();
+    for (UrlRoleDto urlRole : urlRoles) {
+      String role = urlRole.getRoleName();
+      if (isAuthorityRule(role)) {
+        roles.add(role);
+      } else {
+        RuleClassifier.classify(role).ifPresent(expression -> roles.addAll(expression.getAuthorities()));
+      }
+    }
+    return roles;
+  }
+
+  private static ThreadFactory daemon(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static String signature(Long resourceId, HttpMethod httpMethod, String pattern, Integer orderNum,
+      String attribute) {
+    return resourceId + "|" + httpMethod + "|" + pattern + "|" + orderNum + "|" + attribute;
+  }
+
+  private List<PolicyRule> otherMethodCandidates(PolicySnapshot policy, HttpMethod method, String path) {
+    return denyOtherMethods && !otherMethodFallthrough.contains(method)
+        ? policy.otherMethodCandidates(method, path) : List.of();
+  }
+
+  // 다른 테넌트에 속한 계정이다. 헤더나 Host 를 바꿔 자기 테넌트에 없는 규칙의 경로로 들어오지 못하게 막는다. 계정이 아닌
+  // principal(익명 등)은 테넌트에 묶이지 않는다.
+  private static boolean isOtherTenant(Authentication authentication, String tenant) {
+    return authentication != null && authentication.getPrincipal() instanceof AccountDto account
+        && !Objects.equals(account.getTenant(), tenant);
   }
 
-  private void setMapping() {
-    this.mappings = dynamicAuthorizationService.getUrlRoleMappings().entrySet().stream()
-        .map(entry -> new RequestMatcherEntry<>(
-            new MvcRequestMatcher(handlerMappingIntrospector, entry.getKey()),
-            customAuthorizationManager(entry.getValue())))
-        .collect(Collectors.toList());
+  /**
+   * 요청 없이 규칙의 경로를 비교해 경로 변수를 돌려준다. 일치하지 않으면 {@code null}. PathPattern 으로 파싱되지 않아 서블릿 경로에서
+   * MVC 매칭을 쓰는 규칙은 같은 Ant 문법의 {@link AntPathMatcher} 로 비교한다.
+   */
+  private static Map<String, String> matchPath(PolicyRule rule, String path, PathContainer pathContainer) {
+    PathPattern pathPattern = rule.getPathPattern();
+    if (pathPattern != null) {
+      PathPattern.PathMatchInfo matchInfo = pathPattern.matchAndExtract(pathContainer);
+      return matchInfo != null ? matchInfo.getUriVariables() : null;
+    }
+    return ANT_PATH_MATCHER.match(rule.getPattern(), path)
+        ? ANT_PATH_MATCHER.extractUriTemplateVariables(rule.getPattern(), path) : null;
+  }
+
+  private static PathPattern pathPattern(String pattern) {
+    try {
+      return PathPatternParser.defaultInstance.parse(pattern);
+    } catch (PatternParseException e) {
+      return null;
+    }
+  }
+
+  private RequestMatcher requestMatcher(String pattern) {
+    if (matchingMode == UrlMatchingMode.PATH_PATTERN) {
+      try {
+        return PathPatternRequestMatcher.of(pattern);
+      } catch (PatternParseException e) {
+        log.warn("'{}' is not a valid PathPattern, falling back to MVC matching: {}", pattern, e.getMessage());
+      }
+    }
+    return new MvcRequestMatcher(handlerMappingIntrospector, pattern);
   }
 }
@@ -0,0 +1,128 @@
+package io.security.springsecuritymaster.security.manager;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.MethodPolicy;
+import io.security.springsecuritymaster.security.policy.MethodRule;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import io.security.springsecuritymaster.security.policy.RuleClassifier;
+import io.security.springsecuritymaster.security.policy.RuleExpression;
+import io.security.springsecuritymaster.security.policy.SecurityExpressionCache;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@code method} 타입 자원으로 서비스 메서드 호출을 인가한다. 규칙이 없는 메서드는 판단하지 않는다(null).
+ * <p>
+ * 정책은 URL 과 같이 불변 스냅샷을 {@link AtomicReference} 로 교체한다. 역할 계층을 읽는 서비스 호출 자체도 이 manager 를 거치므로,
+ * 최초 로딩은 모든 싱글톤이 만들어진 뒤에 한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class DynamicMethodAuthorizationManager implements AuthorizationManager<MethodInvocation>,
+    SmartInitializingSingleton {
+
+  public static final String RESOURCE_TYPE = "method";
+
+  private final ResourcesRepository resourcesRepository;
+  private final RoleHierarchyService roleHierarchyService;
+  private final SecurityExpressionCache securityExpressionCache;
+  private final AuthoritySetRegistry authoritySetRegistry;
+  private final AtomicReference<MethodPolicy> policy = new AtomicReference<>(MethodPolicy.EMPTY);
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    reload();
+  }
+
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+    Object target = invocation.getThis();
+    Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+    AuthorizationManager<MethodInvocation> manager = policy.get().resolve(invocation.getMethod(), targetClass);
+    return manager != null ? manager.check(authentication, invocation) : null;
+  }
+
+  public void reload() {
+    reload(roleHierarchyService.findAllHierarchy());
+  }
+
+  public synchronized void reload(String hierarchy) {
+    List<UrlRoleDto> methodRoles = resourcesRepository.findAllResourcesByType(RESOURCE_TYPE);
+    RoleIndex roleIndex = RoleIndex.build(requiredRoles(methodRoles), hierarchy);
+
+    Map<String, AuthorizationManager<MethodInvocation>> managers = new HashMap<>();
+    List<MethodRule> rules = methodRoles.stream()
+        .map(methodRole -> MethodRule.builder()
+            .resourceId(methodRole.getResourceId())
+            .orderNum(methodRole.getOrderNum())
+            .pattern(methodRole.getResourceName().trim())
+            .attribute(methodRole.getRoleName())
+            .manager(managers.computeIfAbsent(methodRole.getRoleName(), role -> manager(role, roleIndex)))
+            .build())
+        .toList();
+    policy.set(new MethodPolicy(rules));
+    log.debug("Published method policy with {} rules", rules.size());
+  }
+
+  public MethodPolicy getPolicy() {
+    return policy.get();
+  }
+
+  private AuthorizationManager<MethodInvocation> manager(String role, RoleIndex roleIndex) {
+    if (isAuthorityRule(role)) {
+      return new RoleBitsAuthorizationManager<>(role, roleIndex, authoritySetRegistry);
+    }
+    Optional<RuleExpression> expression = RuleClassifier.classify(role);
+    if (expression.isPresent()) {
+      return NativeRuleAuthorizationManagers.of(expression.get(), roleIndex, authoritySetRegistry,
+          invocation -> currentRequest());
+    }
+    return new CachedExpressionAuthorizationManager<>(securityExpressionCache.get(role),
+        securityExpressionCache.getMethodExpressionHandler());
+  }
+
+  private Set<String> requiredRoles(List<UrlRoleDto> methodRoles) {
+    Set<String> roles = new LinkedHashSet<>();
+    for (UrlRoleDto methodRole : methodRoles) {
+      String role = methodRole.getRoleName();
+      if (isAuthorityRule(role)) {
+        roles.add(role);
+      } else {
+        RuleClassifier.classify(role).ifPresent(expression -> roles.addAll(expression.getAuthorities()));
+      }
+    }
+    return roles;
+  }
+
+  private boolean isAuthorityRule(String role) {
+    return role.startsWith("ROLE");
+  }
+
+  private static HttpServletRequest currentRequest() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+  }
+}
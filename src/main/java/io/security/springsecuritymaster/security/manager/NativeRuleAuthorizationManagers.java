@@ -0,0 +1,99 @@
+package io.security.springsecuritymaster.security.manager;
+
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import io.security.springsecuritymaster.security.policy.RuleExpression;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+/**
+ * {@link RuleExpression} 을 SpEL 없이 평가하는 manager 로 바꾼다. 각 식은 {@code SecurityExpressionRoot} 의 같은 이름 메서드와
+ * 같은 결과를 낸다.
+ */
+@Slf4j
+public final class NativeRuleAuthorizationManagers {
+
+  private static final AuthorizationDecision DENY = new AuthorizationDecision(false);
+  private static final AuthorizationDecision ACCESS = new AuthorizationDecision(true);
+
+  private NativeRuleAuthorizationManagers() {
+  }
+
+  public static AuthorizationManager<RequestAuthorizationContext> of(RuleExpression expression, RoleIndex roleIndex,
+      AuthoritySetRegistry authoritySetRegistry) {
+    return of(expression, roleIndex, authoritySetRegistry, RequestAuthorizationContext::getRequest);
+  }
+
+  /**
+   * @param requestOf {@code hasIpAddress} 를 검사할 요청. 요청이 없으면(null) 거부한다.
+   */
+  public static <T> AuthorizationManager<T> of(RuleExpression expression, RoleIndex roleIndex,
+      AuthoritySetRegistry authoritySetRegistry, Function<T, HttpServletRequest> requestOf) {
+    return switch (expression.getKind()) {
+      case PERMIT_ALL -> (authentication, object) -> ACCESS;
+      case DENY_ALL -> (authentication, object) -> DENY;
+      case AUTHENTICATED -> AuthenticatedAuthorizationManager.authenticated();
+      case ANONYMOUS -> AuthenticatedAuthorizationManager.anonymous();
+      case HAS_ANY_AUTHORITY -> new RoleBitsAuthorizationManager<>(expression.getValues(), roleIndex, authoritySetRegistry);
+      case HAS_IP_ADDRESS -> ipAddress(expression.getValues().get(0), requestOf);
+      case ALL_OF, ANY_OF -> new Composite<>(expression.getKind() == RuleExpression.Kind.ALL_OF,
+          expression.getChildren().stream()
+              .map(child -> of(child, roleIndex, authoritySetRegistry, requestOf))
+              .toList());
+    };
+  }
+
+  /**
+   * 주소 형식이 잘못된 규칙 하나 때문에 정책 전체 컴파일이 실패하지 않도록, 그 규칙만 항상 거부하는 manager 로 바꾼다.
+   */
+  private static <T> AuthorizationManager<T> ipAddress(String ipAddress, Function<T, HttpServletRequest> requestOf) {
+    IpAddressMatcher matcher;
+    try {
+      matcher = new IpAddressMatcher(ipAddress);
+    } catch (IllegalArgumentException e) {
+      log.warn("Denying rule with invalid hasIpAddress('{}'): {}", ipAddress, e.getMessage());
+      return (authentication, object) -> DENY;
+    }
+    return (authentication, object) -> {
+      HttpServletRequest request = requestOf.apply(object);
+      return request != null && matcher.matches(request) ? ACCESS : DENY;
+    };
+  }
+
+  private static final class Composite<T> implements AuthorizationManager<T> {
+
+    private final boolean all;
+    private final List<AuthorizationManager<T>> managers;
+
+    private Composite(boolean all, List<AuthorizationManager<T>> managers) {
+      this.all = all;
+      this.managers = managers;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+      for (AuthorizationManager<T> manager : managers) {
+        AuthorizationDecision decision = manager.check(authentication, object);
+        boolean granted = decision != null && decision.isGranted();
+        if (granted != all) {
+          return granted ? ACCESS : DENY;
+        }
+      }
+      return all ? ACCESS : DENY;
+    }
+
+    @Override
+    public String toString() {
+      return (all ? "AllOf" : "AnyOf") + managers;
+    }
+  }
+}
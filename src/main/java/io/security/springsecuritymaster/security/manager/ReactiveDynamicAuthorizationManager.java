@@ -0,0 +1,58 @@
+package io.security.springsecuritymaster.security.manager;
+
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link CustomDynamicAuthorizationManager} 가 컴파일한 정책을 WebFlux 체인에서 쓴다.
+ * <p>
+ * 판단은 현재 스냅샷의 트라이, 역할 비트셋, DecisionTable 만 읽으므로 보통은 이벤트 루프에서 그대로 실행한다. 아직 올라오지 않은
+ * 테넌트의 정책이나 세대가 지난 계정의 직접 허용처럼 판단 중에 JPA 로 읽어야 하는 경우와 {@link #reload()} 는 bounded elastic
+ * 스케줄러로 넘긴다. 서블릿 요청이 없으므로 {@code hasIpAddress} 는 거부로 본다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ReactiveDynamicAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+  // 익명 필터가 없는 체인에서는 인증 정보가 비어 있다. 서블릿 쪽 AnonymousAuthenticationFilter 와 같은 값으로 평가한다.
+  private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("anonymous", "anonymousUser",
+      AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final TenantResolver tenantResolver;
+
+  @Override
+  public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+    ServerHttpRequest request = context.getExchange().getRequest();
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+    String tenant = tenantResolver.resolve(request);
+    return authentication
+        .defaultIfEmpty(ANONYMOUS)
+        .flatMap(auth -> {
+          Callable<AuthorizationDecision> decision = () -> authorizationManager.check(() -> auth,
+              request.getMethod(), request.getPath().pathWithinApplication(),
+              remoteAddress == null ? null : remoteAddress.getAddress(), tenant);
+          return authorizationManager.mayBlock(auth, tenant)
+              ? Mono.fromCallable(decision).subscribeOn(Schedulers.boundedElastic())
+              : Mono.fromCallable(decision);
+        });
+  }
+
+  public Mono<Void> reload() {
+    return Mono.fromRunnable(authorizationManager::reload)
+        .subscribeOn(Schedulers.boundedElastic())
+        .then();
+  }
+}
@@ -0,0 +1,61 @@
+package io.security.springsecuritymaster.security.manager;
+
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 주어진 역할(권한) 중 하나라도 계층까지 확장한 보유 권한에 있으면 허용한다.
+ */
+@Getter
+public class RoleBitsAuthorizationManager<T> implements AuthorizationManager<T> {
+
+  private static final AuthorizationDecision DENY = new AuthorizationDecision(false);
+  private static final AuthorizationDecision ACCESS = new AuthorizationDecision(true);
+
+  private final List<String> roles;
+  private final int[] roleIds;
+  private final RoleIndex roleIndex;
+  private final AuthoritySetRegistry authoritySetRegistry;
+
+  public RoleBitsAuthorizationManager(String role, RoleIndex roleIndex, AuthoritySetRegistry authoritySetRegistry) {
+    this(List.of(role), roleIndex, authoritySetRegistry);
+  }
+
+  public RoleBitsAuthorizationManager(Collection<String> roles, RoleIndex roleIndex,
+      AuthoritySetRegistry authoritySetRegistry) {
+    this.roles = List.copyOf(roles);
+    this.roleIds = this.roles.stream().mapToInt(roleIndex::idOf).toArray();
+    this.roleIndex = roleIndex;
+    this.authoritySetRegistry = authoritySetRegistry;
+  }
+
+  @Override
+  public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+    return isGranted(authentication.get()) ? ACCESS : DENY;
+  }
+
+  public boolean isGranted(Authentication authentication) {
+    if (authentication == null) {
+      return false;
+    }
+    long[] bits = roleIndex.expand(authoritySetRegistry.idOf(authentication), authentication.getAuthorities());
+    for (int roleId : roleIds) {
+      if (RoleIndex.contains(bits, roleId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "RoleBitsAuthorizationManager" + roles;
+  }
+}
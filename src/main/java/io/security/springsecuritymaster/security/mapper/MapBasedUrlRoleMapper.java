@@ -1,30 +1,49 @@
 package io.security.springsecuritymaster.security.mapper;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 public class MapBasedUrlRoleMapper implements UrlRoleMapper {
 
-  private final LinkedHashMap<String, String> urlRoleMappings = new LinkedHashMap<>();
+  private final List<UrlRoleDto> urlRoleMappings = new ArrayList<>();
 
   @Override
-  public Map<String, String> getUrlRoleMappings() {
-    urlRoleMappings.put("/", "permitAll");
-    urlRoleMappings.put("/css/**", "permitAll");
-    urlRoleMappings.put("/js/**", "permitAll");
-    urlRoleMappings.put("/images/**", "permitAll");
-    urlRoleMappings.put("/favicon.*", "permitAll");
-    urlRoleMappings.put("/*/icon-*", "permitAll");
-    urlRoleMappings.put("/signup", "permitAll");
-    urlRoleMappings.put("/login", "permitAll");
-    urlRoleMappings.put("/logout", "permitAll");
-    urlRoleMappings.put("/denied", "authenticated");
-    urlRoleMappings.put("/user", "ROLE_USER");
-    urlRoleMappings.put("/admin/**", "ROLE_ADMIN");
-    urlRoleMappings.put("/manager", "ROLE_MANAGER");
-    urlRoleMappings.put("/db", "hasRole('DBA')");
-
-    return new HashMap<>(urlRoleMappings);
+  public List<UrlRoleDto> getUrlRoleMappings() {
+    urlRoleMappings.clear();
+    add("/", "permitAll");
+    add("/css/**", "permitAll");
+    add("/js/**", "permitAll");
+    add("/images/**", "permitAll");
+    add("/favicon.*", "permitAll");
+    add("/*/icon-*", "permitAll");
+    add("/signup", "permitAll");
+    add("/login", "permitAll");
+    add("/logout", "permitAll");
+    add("/denied", "authenticated");
+    add("/user", "ROLE_USER");
+    add("/admin/**", "ROLE_ADMIN");
+    add("/manager", "ROLE_MANAGER");
+    add("/db", "hasRole('DBA')");
+
+    return new ArrayList<>(urlRoleMappings);
+  }
+
+  // 고정 목록이므로 등록 순서를 자원 id 로 쓴다.
+  @Override
+  public List<UrlRoleDto> getUrlRoleMappings(Long resourceId) {
+    return getUrlRoleMappings().stream()
+        .filter(urlRole -> Objects.equals(urlRole.getResourceId(), resourceId))
+        .toList();
+  }
+
+  @Override
+  public List<UrlRoleDto> getTenantUrlRoleMappings(String tenant) {
+    return new ArrayList<>();
+  }
+
+  private void add(String resourceName, String roleName) {
+    urlRoleMappings.add(new UrlRoleDto((long) urlRoleMappings.size() + 1, resourceName, null, null, roleName));
   }
 }
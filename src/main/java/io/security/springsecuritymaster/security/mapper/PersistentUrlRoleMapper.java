@@ -1,12 +1,13 @@
 package io.security.springsecuritymaster.security.mapper;
 
 import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 
 public class PersistentUrlRoleMapper implements UrlRoleMapper {
 
-  private final LinkedHashMap<String, String> urlRoleMappings = new LinkedHashMap<>();
   private final ResourcesRepository resourcesRepository;
 
   public PersistentUrlRoleMapper(ResourcesRepository resourcesRepository) {
@@ -14,10 +15,26 @@ public class PersistentUrlRoleMapper implements UrlRoleMapper {
   }
 
   @Override
-  public Map<String, String> getUrlRoleMappings() {
-    resourcesRepository.findAllResources().forEach(
-        urlRoleDto -> urlRoleMappings.put(urlRoleDto.getResourceName(), urlRoleDto.getRoleName())
+  public List<UrlRoleDto> getUrlRoleMappings() {
+    return distinct(resourcesRepository.findAllResources());
+  }
+
+  @Override
+  public List<UrlRoleDto> getUrlRoleMappings(Long resourceId) {
+    return distinct(resourcesRepository.findResources(resourceId));
+  }
+
+  @Override
+  public List<UrlRoleDto> getTenantUrlRoleMappings(String tenant) {
+    return distinct(resourcesRepository.findAllResourcesByTenant(tenant));
+  }
+
+  // 자원과 역할이 같은 행만 하나로 합친다. 같은 경로의 다른 자원이나 한 자원의 다른 역할은 모두 규칙이 된다.
+  private List<UrlRoleDto> distinct(List<UrlRoleDto> urlRoles) {
+    LinkedHashMap<String, UrlRoleDto> urlRoleMappings = new LinkedHashMap<>();
+    urlRoles.forEach(
+        urlRoleDto -> urlRoleMappings.putIfAbsent(urlRoleDto.getResourceId() + " " + urlRoleDto.getRoleName(), urlRoleDto)
     );
-    return urlRoleMappings;
+    return new ArrayList<>(urlRoleMappings.values());
   }
 }
@@ -1,8 +1,13 @@
 package io.security.springsecuritymaster.security.mapper;
 
-import java.util.Map;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.util.List;
 
 public interface UrlRoleMapper {
 
-  Map<String, String> getUrlRoleMappings();
+  List<UrlRoleDto> getUrlRoleMappings();
+
+  List<UrlRoleDto> getUrlRoleMappings(Long resourceId);
+
+  List<UrlRoleDto> getTenantUrlRoleMappings(String tenant);
 }
@@ -0,0 +1,53 @@
+package io.security.springsecuritymaster.security.matcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 생성 시점에 한 번 파싱한 {@link PathPattern} 으로 요청을 비교한다.
+ * <p>
+ * 요청 경로는 {@link ServletRequestPathUtils} 가 request attribute 로 캐싱한 {@link RequestPath} 를 재사용하므로
+ * {@code MvcRequestMatcher} 처럼 요청마다 HandlerMappingIntrospector 를 거치지 않는다.
+ */
+@Getter
+public class PathPatternRequestMatcher implements RequestMatcher {
+
+  private final PathPattern pattern;
+
+  public PathPatternRequestMatcher(PathPattern pattern) {
+    this.pattern = pattern;
+  }
+
+  public static PathPatternRequestMatcher of(String pattern) {
+    return new PathPatternRequestMatcher(PathPatternParser.defaultInstance.parse(pattern));
+  }
+
+  @Override
+  public boolean matches(HttpServletRequest request) {
+    return pattern.matches(pathWithinApplication(request));
+  }
+
+  @Override
+  public MatchResult matcher(HttpServletRequest request) {
+    PathPattern.PathMatchInfo info = pattern.matchAndExtract(pathWithinApplication(request));
+    return info != null ? MatchResult.match(info.getUriVariables()) : MatchResult.notMatch();
+  }
+
+  private PathContainer pathWithinApplication(HttpServletRequest request) {
+    if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+      return ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+    }
+    return RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+  }
+
+  @Override
+  public String toString() {
+    return "PathPattern [" + pattern.getPatternString() + "]";
+  }
+}
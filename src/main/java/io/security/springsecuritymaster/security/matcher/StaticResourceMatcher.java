@@ -0,0 +1,156 @@
+package io.security.springsecuritymaster.security.matcher;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+/**
+ * 자원 타입이 {@code static} 인 패턴과 일치하는 요청을 골라낸다. {@code web.ignoring()} 에 등록되어, 일치하는 요청은 보안 필터를
+ * 하나도 거치지 않는다.
+ * <p>
+ * {@code /css/**} 같은 하위 경로 패턴과 {@code /favicon.*} 같은 마지막 세그먼트 접두어 패턴은 문자열 접두어 비교로 바꾸고, 그 밖의
+ * 패턴만 {@link PathPattern} 으로 검사한다. 정책과 마찬가지로 {@link #reload()} 로 참조만 교체한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StaticResourceMatcher implements RequestMatcher {
+
+  public static final String RESOURCE_TYPE = "static";
+  private static final UrlPathHelper URL_PATH_HELPER = UrlPathHelper.defaultInstance;
+
+  private final ResourcesRepository resourcesRepository;
+  private final AtomicReference<Patterns> patterns = new AtomicReference<>(Patterns.EMPTY);
+
+  @PostConstruct
+  public void reload() {
+    List<String> resourceNames = resourcesRepository.findResourceNames(RESOURCE_TYPE);
+    patterns.set(Patterns.compile(resourceNames));
+  }
+
+  @Override
+  public boolean matches(HttpServletRequest request) {
+    Patterns current = patterns.get();
+    if (current.isEmpty()) {
+      return false;
+    }
+    return current.matches(URL_PATH_HELPER.getPathWithinApplication(request));
+  }
+
+  public int size() {
+    return patterns.get().size;
+  }
+
+  private static final class Patterns {
+
+    private static final Patterns EMPTY = compile(List.of());
+
+    // "/css" 와 "/css/..." 모두 일치
+    private final String[] subtrees;
+    // "/favicon." 뒤에 '/' 가 없는 경로만 일치
+    private final String[] segmentPrefixes;
+    private final Set<String> exact;
+    private final List<PathPattern> others;
+    private final int size;
+
+    private Patterns(List<String> subtrees, List<String> segmentPrefixes, Set<String> exact, List<PathPattern> others) {
+      this.subtrees = subtrees.toArray(String[]::new);
+      this.segmentPrefixes = segmentPrefixes.toArray(String[]::new);
+      this.exact = exact;
+      this.others = others;
+      this.size = subtrees.size() + segmentPrefixes.size() + exact.size() + others.size();
+    }
+
+    static Patterns compile(Collection<String> patterns) {
+      List<String> subtrees = new ArrayList<>();
+      List<String> segmentPrefixes = new ArrayList<>();
+      Set<String> exact = new HashSet<>();
+      List<PathPattern> others = new ArrayList<>();
+      for (String pattern : patterns) {
+        if (pattern == null || pattern.isBlank()) {
+          continue;
+        }
+        String trimmed = pattern.trim();
+        if (!hasWildcard(trimmed)) {
+          exact.add(trimmed);
+        } else if (isRootWide(trimmed)) {
+          log.warn("Ignoring static resource pattern '{}': it would bypass security for every path", trimmed);
+        } else if (trimmed.endsWith("/**") && !hasWildcard(trimmed.substring(0, trimmed.length() - 3))) {
+          subtrees.add(trimmed.substring(0, trimmed.length() - 3));
+        } else if (trimmed.endsWith("*") && !hasWildcard(trimmed.substring(0, trimmed.length() - 1))) {
+          segmentPrefixes.add(trimmed.substring(0, trimmed.length() - 1));
+        } else {
+          try {
+            others.add(PathPatternParser.defaultInstance.parse(trimmed));
+          } catch (PatternParseException e) {
+            log.warn("Ignoring invalid static resource pattern '{}': {}", trimmed, e.getMessage());
+          }
+        }
+      }
+      return new Patterns(subtrees, segmentPrefixes, exact, others);
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    boolean matches(String path) {
+      for (String subtree : subtrees) {
+        if (path.startsWith(subtree)
+            && (path.length() == subtree.length() || path.charAt(subtree.length()) == '/')) {
+          return true;
+        }
+      }
+      for (String prefix : segmentPrefixes) {
+        if (path.startsWith(prefix) && path.indexOf('/', prefix.length()) < 0) {
+          return true;
+        }
+      }
+      if (exact.contains(path)) {
+        return true;
+      }
+      if (!others.isEmpty()) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : others) {
+          if (pattern.matches(pathContainer)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * 모든 세그먼트가 와일드카드뿐인 패턴({@code /**}, {@code /*}, {@code /{*path}} 등)은 고정 접두어가 없어
+     * 애플리케이션 전체를 보안 체인에서 빼 버리므로 받아들이지 않는다.
+     */
+    private static boolean isRootWide(String pattern) {
+      for (String segment : pattern.split("/")) {
+        if (!segment.isEmpty() && !segment.equals("*") && !segment.equals("**")
+            && !(segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('}') == segment.length() - 1)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean hasWildcard(String pattern) {
+      return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0 || pattern.indexOf('{') >= 0;
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package io.security.springsecuritymaster.security.matcher;
+
+public enum UrlMatchingMode {
+  MVC,
+  PATH_PATTERN
+}
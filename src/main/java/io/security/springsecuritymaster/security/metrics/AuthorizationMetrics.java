@@ -0,0 +1,158 @@
+package io.security.springsecuritymaster.security.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.security.springsecuritymaster.security.policy.RuleEvaluation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthorizationMetrics implements MeterBinder {
+
+  private final LongAdder decisionTableHits = new LongAdder();
+  private final LongAdder decisionTableMisses = new LongAdder();
+  private final LongAdder fallthroughs = new LongAdder();
+  private volatile Map<RuleEvaluation, Integer> compiledRules = Collections.emptyMap();
+  private final Map<String, RuleStats> ruleStats = new ConcurrentHashMap<>();
+  private final Map<String, List<Meter>> ruleMeters = new ConcurrentHashMap<>();
+  private volatile MeterRegistry meterRegistry;
+
+  public void decisionTableHit() {
+    decisionTableHits.increment();
+  }
+
+  public void decisionTableMiss() {
+    decisionTableMisses.increment();
+  }
+
+  // 어떤 규칙에도 매칭되지 않아 ACCESS 로 통과한 요청
+  public void fallthrough() {
+    fallthroughs.increment();
+  }
+
+  public void compiledRules(Map<RuleEvaluation, Integer> counts) {
+    compiledRules = Collections.unmodifiableMap(new EnumMap<>(counts));
+  }
+
+  // 현재 정책에서 평가 방식별 규칙 수
+  public Map<RuleEvaluation, Integer> getCompiledRules() {
+    return compiledRules;
+  }
+
+  /**
+   * 규칙의 통계를 돌려준다. 자원, 메서드, 패턴, 속성이 같으면 정책을 다시 읽어도 같은 통계를 이어 쓴다.
+   */
+  public RuleStats ruleStats(Long resourceId, HttpMethod httpMethod, String pattern, String attribute,
+      Integer orderNum) {
+    String method = httpMethod != null ? httpMethod.name() : "ANY";
+    String key = resourceId + "|" + method + "|" + pattern + "|" + attribute;
+    RuleStats stats = ruleStats.computeIfAbsent(key, k -> {
+      RuleStats created = new RuleStats(k);
+      created.describe(pattern, method, attribute, orderNum);
+      register(created);
+      return created;
+    });
+    stats.describe(pattern, method, attribute, orderNum);
+    return stats;
+  }
+
+  /**
+   * 정책에서 빠진 규칙의 통계와 meter 를 지운다.
+   */
+  public void retainRuleStats(Set<String> keys) {
+    ruleStats.keySet().removeIf(key -> {
+      if (keys.contains(key)) {
+        return false;
+      }
+      List<Meter> meters = ruleMeters.remove(key);
+      MeterRegistry registry = meterRegistry;
+      if (meters != null && registry != null) {
+        meters.forEach(registry::remove);
+      }
+      return true;
+    });
+  }
+
+  public Collection<RuleStats> getRuleStats() {
+    return Collections.unmodifiableCollection(ruleStats.values());
+  }
+
+  public long getDecisionTableHits() {
+    return decisionTableHits.sum();
+  }
+
+  public long getDecisionTableMisses() {
+    return decisionTableMisses.sum();
+  }
+
+  public double getDecisionTableHitRatio() {
+    long hits = getDecisionTableHits();
+    long total = hits + getDecisionTableMisses();
+    return total == 0 ? 0.0 : (double) hits / total;
+  }
+
+  public long getFallthroughs() {
+    return fallthroughs.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("authorization.decision.table", decisionTableHits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("authorization.decision.table", decisionTableMisses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("authorization.fallthrough", fallthroughs, LongAdder::sum)
+        .description("Requests that matched no URL rule and were allowed")
+        .register(registry);
+    for (RuleEvaluation evaluation : RuleEvaluation.values()) {
+      Gauge.builder("authorization.rules", this, metrics -> metrics.compiledRules.getOrDefault(evaluation, 0))
+          .tag("evaluation", evaluation.name())
+          .register(registry);
+    }
+
+    meterRegistry = registry;
+    ruleStats.values().forEach(this::register);
+  }
+
+  private void register(RuleStats stats) {
+    MeterRegistry registry = meterRegistry;
+    if (registry == null) {
+      return;
+    }
+    Tags tags = Tags.of("rule", stats.getKey(), "pattern", stats.getPattern(), "method", stats.getHttpMethod(),
+        "attribute", stats.getAttribute());
+    ruleMeters.put(stats.getKey(), List.of(
+        FunctionCounter.builder("authorization.rule.hits", stats, RuleStats::getHitCount)
+            .tags(tags)
+            .register(registry),
+        FunctionCounter.builder("authorization.rule.decisions", stats, RuleStats::getGrantCount)
+            .tags(tags.and("outcome", "granted"))
+            .register(registry),
+        FunctionCounter.builder("authorization.rule.decisions", stats, RuleStats::getDenyCount)
+            .tags(tags.and("outcome", "denied"))
+            .register(registry),
+        FunctionCounter.builder("authorization.rule.matchers.tested", stats, RuleStats::getMatchersTestedCount)
+            .tags(tags)
+            .register(registry),
+        FunctionTimer.builder("authorization.rule.latency", stats, RuleStats::getHitCount,
+                RuleStats::getLatencyNanosTotal, TimeUnit.NANOSECONDS)
+            .tags(tags)
+            .register(registry)));
+  }
+}
@@ -0,0 +1,98 @@
+package io.security.springsecuritymaster.security.metrics;
+
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.PolicyRule;
+import io.security.springsecuritymaster.security.policy.RuleEvaluation;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/authorizationrules}. 현재 정책의 규칙을 평가 순서대로 사용 통계와 함께 보여준다.
+ * 한 번도 매칭되지 않은 규칙이나, 많이 매칭되는데 앞선 matcher 를 많이 거치는 규칙을 찾아 orderNum 을 조정하는 데 쓴다.
+ */
+@RequiredArgsConstructor
+@Endpoint(id = "authorizationrules")
+@Component
+public class AuthorizationRulesEndpoint {
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final AuthorizationMetrics authorizationMetrics;
+
+  @ReadOperation
+  public Report rules() {
+    List<PolicyRule> policyRules = authorizationManager.getSnapshot().getRules();
+    List<RuleReport> rules = IntStream.range(0, policyRules.size())
+        .mapToObj(index -> toReport(index, policyRules.get(index)))
+        .toList();
+    return Report.builder()
+        .fallthroughs(authorizationMetrics.getFallthroughs())
+        .decisionTableHitRatio(authorizationMetrics.getDecisionTableHitRatio())
+        .compiledRules(authorizationMetrics.getCompiledRules())
+        .rules(rules)
+        .build();
+  }
+
+  // order 는 평가 순서상의 위치다. 규칙의 order 값은 단건 변경을 위해 간격을 두고 매기므로 보여주지 않는다.
+  private static RuleReport toReport(int order, PolicyRule rule) {
+    RuleReport.RuleReportBuilder report = RuleReport.builder()
+        .order(order)
+        .resourceId(rule.getResourceId())
+        .orderNum(rule.getOrderNum())
+        .pattern(rule.getPattern())
+        .httpMethod(rule.getHttpMethod() != null ? rule.getHttpMethod().name() : null)
+        .attribute(rule.getAttribute())
+        .evaluation(rule.getEvaluation());
+    RuleStats stats = rule.getStats();
+    if (stats != null) {
+      long hits = stats.getHitCount();
+      report.hits(hits)
+          .grants(stats.getGrantCount())
+          .denies(stats.getDenyCount())
+          .averageMatchersTested(stats.getAverageMatchersTested())
+          .meanLatencyNanos(hits == 0 ? 0 : (long) (stats.getLatencyNanosTotal() / hits))
+          .p50LatencyNanos(stats.latencyPercentileNanos(0.5))
+          .p99LatencyNanos(stats.latencyPercentileNanos(0.99))
+          .latencyHistogram(stats.getLatencyHistogram());
+    }
+    return report.build();
+  }
+
+  @Getter
+  @Builder
+  public static class Report {
+
+    private final long fallthroughs;
+    private final double decisionTableHitRatio;
+    private final Map<RuleEvaluation, Integer> compiledRules;
+    private final List<RuleReport> rules;
+  }
+
+  @Getter
+  @Builder
+  public static class RuleReport {
+
+    private final int order;
+    private final Long resourceId;
+    private final Integer orderNum;
+    private final String pattern;
+    private final String httpMethod;
+    private final String attribute;
+    private final RuleEvaluation evaluation;
+    private final long hits;
+    private final long grants;
+    private final long denies;
+    private final double averageMatchersTested;
+    private final long meanLatencyNanos;
+    private final long p50LatencyNanos;
+    private final long p99LatencyNanos;
+    // 구간 i 는 [2^i, 2^(i+1)) 나노초
+    private final long[] latencyHistogram;
+  }
+}
@@ -0,0 +1,122 @@
+package io.security.springsecuritymaster.security.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * 컴파일된 규칙 하나의 사용 통계. 같은 자원에 대해서는 정책을 다시 읽어도 같은 인스턴스를 계속 쓴다.
+ * <p>
+ * 지연 시간은 check 시작부터 이 규칙이 결정을 내릴 때까지(앞선 후보들의 매칭 포함)이며, 2의 거듭제곱 나노초 경계의 히스토그램으로
+ * 모은다. 모든 값은 {@link LongAdder} 라 요청 스레드끼리 경합하지 않는다.
+ */
+public class RuleStats {
+
+  public static final int LATENCY_BUCKETS = 40;
+
+  @Getter
+  private final String key;
+  @Getter
+  private volatile String pattern;
+  @Getter
+  private volatile String httpMethod;
+  @Getter
+  private volatile String attribute;
+  @Getter
+  private volatile Integer orderNum;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder grants = new LongAdder();
+  private final LongAdder denies = new LongAdder();
+  private final LongAdder matchersTested = new LongAdder();
+  private final LongAdder latencyNanos = new LongAdder();
+  private final LongAdder[] latencyBuckets = new LongAdder[LATENCY_BUCKETS];
+
+  public RuleStats(String key) {
+    this.key = key;
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      latencyBuckets[i] = new LongAdder();
+    }
+  }
+
+  void describe(String pattern, String httpMethod, String attribute, Integer orderNum) {
+    this.pattern = pattern;
+    this.httpMethod = httpMethod;
+    this.attribute = attribute;
+    this.orderNum = orderNum;
+  }
+
+  /**
+   * @param tested 이 규칙까지 검사한 matcher 수(자기 자신 포함)
+   */
+  public void record(int tested, boolean granted, long nanos) {
+    hits.increment();
+    (granted ? grants : denies).increment();
+    matchersTested.add(tested);
+    latencyNanos.add(nanos);
+    latencyBuckets[bucketOf(nanos)].increment();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getGrantCount() {
+    return grants.sum();
+  }
+
+  public long getDenyCount() {
+    return denies.sum();
+  }
+
+  public long getMatchersTestedCount() {
+    return matchersTested.sum();
+  }
+
+  public double getLatencyNanosTotal() {
+    return latencyNanos.sum();
+  }
+
+  public double getAverageMatchersTested() {
+    long hitCount = getHitCount();
+    return hitCount == 0 ? 0.0 : (double) getMatchersTestedCount() / hitCount;
+  }
+
+  /**
+   * 구간 i 는 [2^i, 2^(i+1)) 나노초 사이의 건수.
+   */
+  public long[] getLatencyHistogram() {
+    long[] histogram = new long[LATENCY_BUCKETS];
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      histogram[i] = latencyBuckets[i].sum();
+    }
+    return histogram;
+  }
+
+  /**
+   * 히스토그램으로 구한 분위수. 해당 구간의 상한을 돌려주므로 최대 2배까지 크게 나올 수 있다.
+   */
+  public long latencyPercentileNanos(double quantile) {
+    long[] histogram = getLatencyHistogram();
+    long total = 0;
+    for (long count : histogram) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      seen += histogram[i];
+      if (seen >= rank) {
+        return 1L << (i + 1);
+      }
+    }
+    return 1L << LATENCY_BUCKETS;
+  }
+
+  static int bucketOf(long nanos) {
+    int bucket = 63 - Long.numberOfLeadingZeros(Math.max(nanos, 1));
+    return Math.min(bucket, LATENCY_BUCKETS - 1);
+  }
+}
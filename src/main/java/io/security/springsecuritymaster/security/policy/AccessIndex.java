@@ -0,0 +1,131 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+
+/**
+ * URL 정책의 역색인. 패턴마다 규칙을 통과하는 역할(계층 확장 포함)과, 역할마다 통과할 수 있는 규칙을 미리 계산한다.
+ * <p>
+ * 역할은 하나씩 따로 본다. 여러 역할을 함께 가져야 통과하는 규칙({@code hasRole('A') and hasRole('B')})은 한 역할로 둘 다
+ * 만족하는 경우만 잡힌다. 앞선 규칙에 가려지는지는 고려하지 않는다. 스냅샷마다 한 번 만들어지므로 정책이 바뀌면 새로 계산된다.
+ */
+public final class AccessIndex {
+
+  public enum Reach {
+    // 역할만으로 결정된다.
+    ROLES,
+    // 인증 여부와 무관하게 모두 통과한다.
+    EVERYONE,
+    // 아무도 통과하지 못한다.
+    NOBODY,
+    // 인증 상태, IP, SpEL 등 역할 밖의 조건에 달렸다. roles 는 비어 있다.
+    CONDITIONAL
+  }
+
+  private final List<Entry> entries;
+  private final Map<String, List<Entry>> byPattern;
+  private final Map<String, List<Entry>> byRole;
+
+  private AccessIndex(List<Entry> entries, Map<String, List<Entry>> byPattern, Map<String, List<Entry>> byRole) {
+    this.entries = entries;
+    this.byPattern = byPattern;
+    this.byRole = byRole;
+  }
+
+  static AccessIndex build(PolicySnapshot policy) {
+    RoleIndex roleIndex = policy.getRoleIndex();
+    List<Entry> entries = new ArrayList<>(policy.size());
+    Map<String, List<Entry>> byPattern = new HashMap<>();
+    Map<String, List<Entry>> byRole = new HashMap<>();
+
+    for (PolicyRule rule : policy.getRules()) {
+      Optional<RuleExpression> expression = rule.getAttribute().startsWith("ROLE")
+          ? Optional.of(RuleExpression.of(RuleExpression.Kind.HAS_ANY_AUTHORITY, List.of(rule.getAttribute())))
+          : RuleClassifier.classify(rule.getAttribute());
+
+      Reach reach;
+      Set<String> roles = new TreeSet<>();
+      if (expression.isEmpty() || !expression.get().isAuthorityOnly()) {
+        reach = Reach.CONDITIONAL;
+      } else {
+        for (String role : roleIndex.getNames()) {
+          if (satisfies(expression.get(), roleIndex.closureOf(roleIndex.idOf(role)), roleIndex)) {
+            roles.add(role);
+          }
+        }
+        RuleExpression.Kind kind = expression.get().getKind();
+        reach = kind == RuleExpression.Kind.PERMIT_ALL ? Reach.EVERYONE
+            : kind == RuleExpression.Kind.DENY_ALL ? Reach.NOBODY : Reach.ROLES;
+      }
+
+      Entry entry = new Entry(rule, reach, Collections.unmodifiableSet(roles));
+      entries.add(entry);
+      byPattern.computeIfAbsent(rule.getPattern(), key -> new ArrayList<>()).add(entry);
+      roles.forEach(role -> byRole.computeIfAbsent(role, key -> new ArrayList<>()).add(entry));
+    }
+    return new AccessIndex(Collections.unmodifiableList(entries), freeze(byPattern), freeze(byRole));
+  }
+
+  private static boolean satisfies(RuleExpression expression, long[] closure, RoleIndex roleIndex) {
+    return switch (expression.getKind()) {
+      case PERMIT_ALL -> true;
+      case HAS_ANY_AUTHORITY -> expression.getValues().stream().anyMatch(authority -> RoleIndex.contains(closure,
+          roleIndex.idOf(authority)));
+      case ALL_OF -> expression.getChildren().stream().allMatch(child -> satisfies(child, closure, roleIndex));
+      case ANY_OF -> expression.getChildren().stream().anyMatch(child -> satisfies(child, closure, roleIndex));
+      default -> false;
+    };
+  }
+
+  private static Map<String, List<Entry>> freeze(Map<String, List<Entry>> map) {
+    map.replaceAll((key, list) -> Collections.unmodifiableList(list));
+    return Collections.unmodifiableMap(map);
+  }
+
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  // 패턴은 자원에 등록된 문자열 그대로 찾는다.
+  public List<Entry> forPattern(String pattern) {
+    return byPattern.getOrDefault(pattern, Collections.emptyList());
+  }
+
+  public List<Entry> forRole(String role) {
+    return byRole.getOrDefault(role, Collections.emptyList());
+  }
+
+  public Set<String> getPatterns() {
+    return byPattern.keySet();
+  }
+
+  @Getter
+  public static final class Entry {
+
+    private final Long resourceId;
+    private final String pattern;
+    private final HttpMethod httpMethod;
+    private final String attribute;
+    private final int order;
+    private final Reach reach;
+    private final Set<String> roles;
+
+    private Entry(PolicyRule rule, Reach reach, Set<String> roles) {
+      this.resourceId = rule.getResourceId();
+      this.pattern = rule.getPattern();
+      this.httpMethod = rule.getHttpMethod();
+      this.attribute = rule.getAttribute();
+      this.order = rule.getOrder();
+      this.reach = reach;
+      this.roles = roles;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.AccountGrantDto;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * 계정에 직접 허용한 URL 자원. 로그인할 때 계정의 허용 목록을 인증 객체의 {@link AccountDto} principal 에 담으므로 폼과 REST
+ * 로그인 모두에 적용된다. 인가할 때는 {@link GrantBloomFilter} 로 허용이 없는 (계정, 자원) 을 먼저 걸러낸 뒤에만 그 목록을 본다.
+ * <p>
+ * 허용이 바뀌면 {@link #reload()} 가 필터를 새로 만들고 세대를 올린다. 세션에 남은 principal 은 세대가 다르면 다음에 필터를 통과할 때
+ * DB 에서 목록을 다시 읽으므로, 다시 로그인하지 않아도 추가와 회수가 바로 적용된다. principal 이 {@link AccountDto} 가 아닌 인증
+ * 객체에는 직접 허용을 적용하지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class AccountGrants {
+
+  // 계정에 허용이 하나라도 있는지 표시하는 키
+  private static final long ANY_RESOURCE = -1L;
+  private static final long[] NONE = new long[0];
+
+  private final AccountResourcesRepository accountResourcesRepository;
+  private final AtomicReference<Generation> current = new AtomicReference<>(new Generation(GrantBloomFilter.EMPTY, 0));
+
+  @PostConstruct
+  public void reload() {
+    List<AccountGrantDto> grants = accountResourcesRepository.findAllGrants();
+    Set<Long> accounts = new HashSet<>();
+    for (AccountGrantDto grant : grants) {
+      accounts.add(grant.getAccountId());
+    }
+    GrantBloomFilter.Builder builder = GrantBloomFilter.builder(grants.size() + accounts.size());
+    for (AccountGrantDto grant : grants) {
+      builder.put(grant.getAccountId(), grant.getResourceId());
+    }
+    accounts.forEach(accountId -> builder.put(accountId, ANY_RESOURCE));
+    current.updateAndGet(previous -> new Generation(builder.build(), previous.number + 1));
+    log.info("Loaded {} direct grants for {} accounts", grants.size(), accounts.size());
+  }
+
+  /**
+   * 로그인 직후 계정의 허용 목록을 principal 에 담는다. 허용이 없는 계정은 필터에서 걸러져 DB 를 읽지 않는다.
+   */
+  public void attach(Authentication authentication) {
+    if (!(authentication.getPrincipal() instanceof AccountDto account)) {
+      return;
+    }
+    Generation generation = current.get();
+    if (account.getId() == null || !generation.filter.mightContain(account.getId(), ANY_RESOURCE)) {
+      account.setGrantedResourceIds(NONE);
+      account.setGrantGeneration(generation.number);
+      return;
+    }
+    load(account, generation);
+  }
+
+  /**
+   * 역할 규칙이 허용하지 않은 요청에 대해, 계정에 그 자원이 직접 허용되어 있는지 본다.
+   */
+  public boolean isGranted(Authentication authentication, Long resourceId) {
+    if (resourceId == null || authentication == null
+        || !(authentication.getPrincipal() instanceof AccountDto account) || account.getId() == null) {
+      return false;
+    }
+    Generation generation = current.get();
+    if (!generation.filter.mightContain(account.getId(), resourceId)) {
+      return false;
+    }
+    long[] granted = account.getGrantedResourceIds();
+    if (account.getGrantGeneration() != generation.number) {
+      granted = load(account, generation);
+    }
+    return Arrays.binarySearch(granted, resourceId) >= 0;
+  }
+
+  /**
+   * @return {@link #isGranted(Authentication, Long)} 가 계정의 허용 목록을 DB 에서 다시 읽을 수 있는지
+   */
+  public boolean isStale(Authentication authentication) {
+    if (authentication == null || !(authentication.getPrincipal() instanceof AccountDto account)
+        || account.getId() == null) {
+      return false;
+    }
+    Generation generation = current.get();
+    return account.getGrantGeneration() != generation.number
+        && generation.filter.mightContain(account.getId(), ANY_RESOURCE);
+  }
+
+  private long[] load(AccountDto account, Generation generation) {
+    long[] granted = accountResourcesRepository.findResourceIdsByAccountId(account.getId()).stream()
+        .mapToLong(Long::longValue)
+        .sorted()
+        .toArray();
+    account.setGrantedResourceIds(granted);
+    account.setGrantGeneration(generation.number);
+    return granted;
+  }
+
+  private static final class Generation {
+
+    private final GrantBloomFilter filter;
+    private final long number;
+
+    private Generation(GrantBloomFilter filter, long number) {
+      this.filter = filter;
+      this.number = number;
+    }
+  }
+}
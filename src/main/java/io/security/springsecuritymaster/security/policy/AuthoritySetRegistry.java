@@ -0,0 +1,77 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자가 가진 권한 조합을 1부터 시작하는 정수 ID 로 intern 한다. 같은 조합을 가진 사용자는 같은 ID 를 공유한다.
+ * <p>
+ * 등록 가능한 조합 수는 {@link #MAX_SETS} 로 제한되며, 넘치는 조합은 {@link #UNKNOWN} 을 돌려받아 캐시 없이 평가된다.
+ * 외부에서 임의로 보낸 조합처럼 자리를 차지하면 안 되는 조합은 {@link #lookup} 으로 이미 있는 ID 만 찾는다.
+ */
+@Component
+public class AuthoritySetRegistry {
+
+  public static final int UNKNOWN = 0;
+  public static final int MAX_SETS = 256;
+  // 등록하지 않고 캐시 없이 평가할 조합. idOf 가 이 값을 가진 토큰을 다시 intern 하지 않는다.
+  public static final int UNCACHED = -1;
+
+  private final Map<Set<String>, Integer> ids = new ConcurrentHashMap<>();
+  private final AtomicInteger sequence = new AtomicInteger();
+
+  public int intern(Collection<? extends GrantedAuthority> authorities) {
+    Set<String> key = keyOf(authorities);
+    Integer id = ids.get(key);
+    if (id != null) {
+      return id;
+    }
+    if (sequence.get() >= MAX_SETS) {
+      return UNKNOWN;
+    }
+    return ids.computeIfAbsent(Set.copyOf(key), k -> {
+      int next = sequence.incrementAndGet();
+      return next <= MAX_SETS ? next : UNKNOWN;
+    });
+  }
+
+  /**
+   * 이미 등록된 조합이면 그 ID 를, 아니면 등록하지 않고 {@link #UNCACHED} 를 돌려준다.
+   */
+  public int lookup(Collection<? extends GrantedAuthority> authorities) {
+    Integer id = ids.get(keyOf(authorities));
+    return id != null && id != UNKNOWN ? id : UNCACHED;
+  }
+
+  public int idOf(Authentication authentication) {
+    if (authentication instanceof AccountAuthenticationToken token) {
+      int id = token.getAuthoritySetId();
+      if (id == UNKNOWN) {
+        id = intern(token.getAuthorities());
+        token.setAuthoritySetId(id);
+      }
+      return id;
+    }
+    return intern(authentication.getAuthorities());
+  }
+
+  private static Set<String> keyOf(Collection<? extends GrantedAuthority> authorities) {
+    Set<String> key = new HashSet<>(authorities.size() * 2);
+    for (GrantedAuthority authority : authorities) {
+      key.add(authority.getAuthority());
+    }
+    return key;
+  }
+
+  public int size() {
+    return Math.min(sequence.get(), MAX_SETS);
+  }
+}
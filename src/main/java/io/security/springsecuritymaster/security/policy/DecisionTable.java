@@ -0,0 +1,44 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * (규칙, 권한 조합) 별 최초 평가 결과를 저장한다. 스냅샷마다 새로 만들어지므로 reload 시 자연스럽게 무효화된다.
+ */
+public class DecisionTable {
+
+  public static final byte UNKNOWN = 0;
+  public static final byte GRANTED = 1;
+  public static final byte DENIED = 2;
+
+  private final AtomicReferenceArray<byte[]> rows;
+
+  public DecisionTable(int rules) {
+    this.rows = new AtomicReferenceArray<>(rules);
+  }
+
+  public byte get(int rule, int authoritySetId) {
+    if (!inRange(rule, authoritySetId)) {
+      return UNKNOWN;
+    }
+    byte[] row = rows.get(rule);
+    return row != null ? row[authoritySetId] : UNKNOWN;
+  }
+
+  public void put(int rule, int authoritySetId, boolean granted) {
+    if (!inRange(rule, authoritySetId)) {
+      return;
+    }
+    byte[] row = rows.get(rule);
+    if (row == null) {
+      rows.compareAndSet(rule, null, new byte[AuthoritySetRegistry.MAX_SETS + 1]);
+      row = rows.get(rule);
+    }
+    row[authoritySetId] = granted ? GRANTED : DENIED;
+  }
+
+  private boolean inRange(int rule, int authoritySetId) {
+    return authoritySetId > AuthoritySetRegistry.UNKNOWN && authoritySetId <= AuthoritySetRegistry.MAX_SETS
+        && rule >= 0 && rule < rows.length();
+  }
+}
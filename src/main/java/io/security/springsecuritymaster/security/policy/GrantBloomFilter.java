@@ -0,0 +1,84 @@
+package io.security.springsecuritymaster.security.policy;
+
+/**
+ * (계정 ID, 자원 ID) 쌍의 블룸 필터. 직접 허용이 없는 계정은 거의 항상 여기서 걸러지므로 인가 경로에서 토큰의 허용 목록을 보거나 DB 를
+ * 읽을 일이 없다. 거짓 양성은 {@link #FALSE_POSITIVE_RATE} 정도이며, 그때는 토큰의 목록이 최종 판단을 한다.
+ * <p>
+ * 만든 뒤에는 바꾸지 않는다. 허용이 바뀌면 새로 만들어 참조를 교체한다.
+ */
+public final class GrantBloomFilter {
+
+  public static final double FALSE_POSITIVE_RATE = 0.001;
+  public static final GrantBloomFilter EMPTY = new GrantBloomFilter(new long[1], 1);
+
+  private final long[] bits;
+  private final int hashes;
+  private final long bitCount;
+
+  private GrantBloomFilter(long[] bits, int hashes) {
+    this.bits = bits;
+    this.hashes = hashes;
+    this.bitCount = (long) bits.length * Long.SIZE;
+  }
+
+  public static Builder builder(int expectedEntries) {
+    return new Builder(expectedEntries);
+  }
+
+  public boolean mightContain(long accountId, long resourceId) {
+    long hash = mix(accountId * 0x9E3779B97F4A7C15L + resourceId);
+    long h1 = hash;
+    long h2 = mix(hash) | 1L;
+    for (int i = 0; i < hashes; i++) {
+      long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+      if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitSize() {
+    return bitCount;
+  }
+
+  // SplitMix64 의 마무리 단계
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  public static final class Builder {
+
+    private final long[] bits;
+    private final int hashes;
+    private final long bitCount;
+
+    private Builder(int expectedEntries) {
+      // m = -n ln p / (ln 2)^2, k = m/n ln 2
+      long optimalBits = (long) Math.ceil(-Math.max(expectedEntries, 1) * Math.log(FALSE_POSITIVE_RATE)
+          / (Math.log(2) * Math.log(2)));
+      int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+      bits = new long[words];
+      bitCount = (long) words * Long.SIZE;
+      long perEntry = Math.round((double) bitCount / Math.max(expectedEntries, 1) * Math.log(2));
+      hashes = (int) Math.min(16, Math.max(1, perEntry));
+    }
+
+    public Builder put(long accountId, long resourceId) {
+      long hash = mix(accountId * 0x9E3779B97F4A7C15L + resourceId);
+      long h1 = hash;
+      long h2 = mix(hash) | 1L;
+      for (int i = 0; i < hashes; i++) {
+        long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+        bits[(int) (bit >>> 6)] |= 1L << bit;
+      }
+      return this;
+    }
+
+    public GrantBloomFilter build() {
+      return new GrantBloomFilter(bits.clone(), hashes);
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
+import jakarta.annotation.PostConstruct;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 자원 타입이 {@code ip} 인 CIDR 범위를 {@link IpRadixTree} 로 컴파일해, URL 규칙보다 먼저 요청마다 한 번 조회한다.
+ * <p>
+ * 범위에 연결된 역할이 동작을 정한다.
+ * <ul>
+ *   <li>{@code denyAll}: 범위 안의 요청은 URL 규칙과 관계없이 거부한다.</li>
+ *   <li>{@code permitAll}: 더 넓은 {@code denyAll} 범위 안에서 이 범위만 풀어 준다. 가장 긴 접두어가 이긴다.</li>
+ *   <li>그 밖의 역할(예: {@code ROLE_ADMIN}): 그 역할은 연결된 범위 안에서만 가진 것으로 본다. 사무실 대역에만
+ *   {@code ROLE_ADMIN} 을 연결하면 밖에서 접속한 관리자는 관리자 권한 없이 평가되어 {@code /admin/**} 에 들어가지 못한다.</li>
+ * </ul>
+ * 역할 계층으로 제한된 역할에 닿는 역할(예: {@code ROLE_SUPER > ROLE_ADMIN} 의 {@code ROLE_SUPER})도 함께 빼고, 그 역할이
+ * 물려주던 나머지 역할만 남긴다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class IpAccessPolicy {
+
+  public static final String RESOURCE_TYPE = "ip";
+  static final String DENY_ALL = "denyAll";
+  static final String PERMIT_ALL = "permitAll";
+
+  private final ResourcesRepository resourcesRepository;
+  private final AtomicReference<Rules> rules = new AtomicReference<>(Rules.EMPTY);
+
+  @PostConstruct
+  public void reload() {
+    long start = System.nanoTime();
+    Rules compiled = Rules.compile(resourcesRepository.findAllResourcesByType(RESOURCE_TYPE));
+    rules.set(compiled);
+    log.info("Compiled {} ip ranges into {} radix nodes in {} ms", compiled.tree.size(), compiled.tree.nodeCount(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * @param roleIndex 판단에 쓸 정책의 역할 색인. 이 계층으로 제한된 역할에 닿는 역할을 찾는다.
+   * @return 범위 정책을 적용한 판단 대상. 거부할 요청이면 {@code null}, 제한할 역할이 없으면 받은 그대로
+   */
+  public Authentication apply(Authentication authentication, String remoteAddress, RoleIndex roleIndex) {
+    Rules current = rules.get();
+    return current.isEmpty() ? authentication
+        : current.apply(authentication, current.tree.lookup(remoteAddress), roleIndex);
+  }
+
+  public Authentication apply(Authentication authentication, InetAddress remoteAddress, RoleIndex roleIndex) {
+    Rules current = rules.get();
+    return current.isEmpty() ? authentication
+        : current.apply(authentication, current.tree.lookup(remoteAddress), roleIndex);
+  }
+
+  public boolean isEmpty() {
+    return rules.get().isEmpty();
+  }
+
+  public int size() {
+    return rules.get().tree.size();
+  }
+
+  static final class Rules {
+
+    static final Rules EMPTY = new Rules(IpRadixTree.EMPTY, new Range[0], Set.of());
+
+    private final IpRadixTree tree;
+    // 트리 값이 가리키는 범위. 조상 범위를 합친 결과도 들어 있다.
+    private final Range[] ranges;
+    // 어느 범위에든 연결된 역할. 이 역할들만 주소에 따라 빠진다.
+    private final Set<String> restrictedRoles;
+
+    private Rules(IpRadixTree tree, Range[] ranges, Set<String> restrictedRoles) {
+      this.tree = tree;
+      this.ranges = ranges;
+      this.restrictedRoles = restrictedRoles;
+    }
+
+    static Rules compile(List<UrlRoleDto> resources) {
+      Map<IpRadixTree.Prefix, Range> own = new LinkedHashMap<>();
+      Set<String> restrictedRoles = new HashSet<>();
+      for (UrlRoleDto resource : resources) {
+        IpRadixTree.Prefix prefix;
+        try {
+          prefix = IpRadixTree.Prefix.parse(resource.getResourceName());
+        } catch (IllegalArgumentException e) {
+          log.warn("Ignoring invalid ip resource '{}': {}", resource.getResourceName(), e.getMessage());
+          continue;
+        }
+        Range range = own.computeIfAbsent(prefix, p -> new Range(null, new HashSet<>()));
+        String role = resource.getRoleName();
+        if (DENY_ALL.equals(role)) {
+          range.blocked = Boolean.TRUE;
+        } else if (PERMIT_ALL.equals(role)) {
+          range.blocked = range.blocked == Boolean.TRUE ? Boolean.TRUE : Boolean.FALSE;
+        } else if (role != null) {
+          range.allowedRoles.add(role);
+          restrictedRoles.add(role);
+        }
+      }
+      if (own.isEmpty()) {
+        return EMPTY;
+      }
+
+      // 조상과 합친 범위는 내용이 같으면 하나만 둔다.
+      List<Range> ranges = new ArrayList<>(own.values());
+      Map<Range, Integer> ids = new HashMap<>();
+      for (int i = 0; i < ranges.size(); i++) {
+        ids.putIfAbsent(ranges.get(i), i);
+      }
+      IpRadixTree.Builder builder = IpRadixTree.builder(own.size());
+      int index = 0;
+      for (IpRadixTree.Prefix prefix : own.keySet()) {
+        builder.insert(prefix.getHi(), prefix.getLo(), prefix.getLength(), ids.get(ranges.get(index++)));
+      }
+      IpRadixTree tree = builder.build((inherited, value) -> {
+        Range merged = ranges.get(inherited).narrowedBy(ranges.get(value));
+        return ids.computeIfAbsent(merged, range -> {
+          ranges.add(range);
+          return ranges.size() - 1;
+        });
+      });
+      return new Rules(tree, ranges.toArray(Range[]::new), Set.copyOf(restrictedRoles));
+    }
+
+    boolean isEmpty() {
+      return ranges.length == 0;
+    }
+
+    Authentication apply(Authentication authentication, int rangeId, RoleIndex roleIndex) {
+      Range range = rangeId == IpRadixTree.NO_MATCH ? null : ranges[rangeId];
+      if (range != null && range.blocked == Boolean.TRUE) {
+        return null;
+      }
+      if (restrictedRoles.isEmpty() || authentication == null) {
+        return authentication;
+      }
+      Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+      for (GrantedAuthority authority : authorities) {
+        if (isWithheld(authority.getAuthority(), range, roleIndex)) {
+          return withhold(authentication, range, roleIndex);
+        }
+      }
+      return authentication;
+    }
+
+    // 이 주소에서 빠지는 역할이거나, 계층으로 그런 역할에 닿는 역할이다.
+    private boolean isWithheld(String name, Range range, RoleIndex roleIndex) {
+      if (isRestricted(name, range)) {
+        return true;
+      }
+      long[] closure = roleIndex.closureOf(roleIndex.idOf(name));
+      for (String role : restrictedRoles) {
+        if (RoleIndex.contains(closure, roleIndex.idOf(role)) && isRestricted(role, range)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean isRestricted(String role, Range range) {
+      return restrictedRoles.contains(role) && (range == null || !range.allowedRoles.contains(role));
+    }
+
+    // 드문 경우(범위 밖에서 제한된 역할을 가진 요청)에만 인증 객체를 새로 만든다. 빼는 역할이 물려주던 역할 중 제한에 걸리지
+    // 않는 것은 직접 가진 것으로 남긴다.
+    private Authentication withhold(Authentication authentication, Range range, RoleIndex roleIndex) {
+      Set<String> remaining = new LinkedHashSet<>();
+      for (GrantedAuthority authority : authentication.getAuthorities()) {
+        String name = authority.getAuthority();
+        if (!isWithheld(name, range, roleIndex)) {
+          remaining.add(name);
+          continue;
+        }
+        long[] closure = roleIndex.closureOf(roleIndex.idOf(name));
+        for (int id = 0; id < roleIndex.size(); id++) {
+          String reachable = roleIndex.getNames().get(id);
+          if (RoleIndex.contains(closure, id) && !isWithheld(reachable, range, roleIndex)) {
+            remaining.add(reachable);
+          }
+        }
+      }
+      AccountAuthenticationToken restricted = new AccountAuthenticationToken(authentication.getPrincipal(), null,
+          AuthorityUtils.createAuthorityList(remaining));
+      restricted.setDetails(authentication.getDetails());
+      return restricted;
+    }
+  }
+
+  private static final class Range {
+
+    // null 이면 조상 범위의 값을 따른다.
+    private Boolean blocked;
+    private final Set<String> allowedRoles;
+
+    private Range(Boolean blocked, Set<String> allowedRoles) {
+      this.blocked = blocked;
+      this.allowedRoles = allowedRoles;
+    }
+
+    // 더 긴 접두어의 차단 여부가 이기고, 허용 역할은 주소를 포함하는 모든 범위의 합이다.
+    Range narrowedBy(Range longer) {
+      Set<String> roles = new HashSet<>(allowedRoles);
+      roles.addAll(longer.allowedRoles);
+      return new Range(longer.blocked != null ? longer.blocked : blocked, Set.copyOf(roles));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Range other && Objects.equals(blocked, other.blocked)
+          && allowedRoles.equals(other.allowedRoles);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(blocked, allowedRoles);
+    }
+  }
+}
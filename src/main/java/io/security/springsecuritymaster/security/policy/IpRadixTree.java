@@ -0,0 +1,411 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * IPv4/IPv6 CIDR 을 비트 단위 이진 트라이로 색인한다. IPv4 는 {@code ::ffff:0:0/96} 아래의 IPv6 주소로 바꿔 같은 트리에 넣는다.
+ * <p>
+ * 노드는 int 배열 세 개(왼쪽 자식, 오른쪽 자식, 값)로만 표현하고, 만들 때 조상 접두어의 값을 자손에게 미리 합쳐 둔다. 따라서
+ * {@link #lookup(CharSequence)} 는 주소 문자열을 직접 읽어 비트를 따라 내려가다 더 갈 곳이 없는 노드의 값을 돌려주며, 객체를
+ * 만들지 않는다.
+ */
+public final class IpRadixTree {
+
+  public static final int NO_MATCH = -1;
+  public static final IpRadixTree EMPTY = new Builder(0).build((inherited, own) -> own);
+
+  private static final long V4_MAPPED_LO = 0xFFFFL << 32;
+  // parseIpv6 가 돌려줄 값. 상위/하위 64비트는 모든 값이 유효한 주소이므로 형식 오류는 VALID 로 따로 묻는다.
+  private static final int HIGH = 0;
+  private static final int LOW = 1;
+  private static final int VALID = 2;
+
+  private final int[] left;
+  private final int[] right;
+  private final int[] values;
+  private final int prefixes;
+
+  private IpRadixTree(int[] left, int[] right, int[] values, int prefixes) {
+    this.left = left;
+    this.right = right;
+    this.values = values;
+    this.prefixes = prefixes;
+  }
+
+  public static Builder builder(int expectedPrefixes) {
+    return new Builder(expectedPrefixes);
+  }
+
+  /**
+   * @param address {@code HttpServletRequest#getRemoteAddr()} 형식의 IPv4 또는 IPv6 주소
+   * @return 주소를 포함하는 접두어들의 값. 없거나 주소를 읽을 수 없으면 {@link #NO_MATCH}
+   */
+  public int lookup(CharSequence address) {
+    if (address == null || prefixes == 0) {
+      return NO_MATCH;
+    }
+    if (isIpv6(address)) {
+      if (!isValidIpv6(address, 0, address.length())) {
+        return NO_MATCH;
+      }
+      return lookup(parseIpv6(address, 0, address.length(), true), parseIpv6(address, 0, address.length(), false));
+    }
+    long ipv4 = parseIpv4(address, 0, address.length());
+    return ipv4 < 0 ? NO_MATCH : lookup(0L, V4_MAPPED_LO | ipv4);
+  }
+
+  public int lookup(InetAddress address) {
+    if (address == null || prefixes == 0) {
+      return NO_MATCH;
+    }
+    byte[] bytes = address.getAddress();
+    if (bytes.length == 4) {
+      return lookup(0L, V4_MAPPED_LO | (readLong(bytes, 0, 4) & 0xFFFFFFFFL));
+    }
+    return lookup(readLong(bytes, 0, 8), readLong(bytes, 8, 8));
+  }
+
+  public int lookup(long hi, long lo) {
+    int node = 0;
+    for (int bit = 0; bit < 128; bit++) {
+      long word = bit < 64 ? hi : lo;
+      int next = ((word >>> (63 - (bit & 63))) & 1L) == 0 ? left[node] : right[node];
+      if (next == 0) {
+        break;
+      }
+      node = next;
+    }
+    return values[node];
+  }
+
+  public int size() {
+    return prefixes;
+  }
+
+  public int nodeCount() {
+    return values.length;
+  }
+
+  private static boolean isIpv6(CharSequence address) {
+    for (int i = 0; i < address.length(); i++) {
+      if (address.charAt(i) == ':') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return 32비트 주소, 형식이 맞지 않으면 -1
+   */
+  static long parseIpv4(CharSequence text, int from, int to) {
+    long address = 0;
+    int octets = 0;
+    int i = from;
+    while (i < to) {
+      int start = i;
+      int octet = 0;
+      while (i < to && text.charAt(i) >= '0' && text.charAt(i) <= '9' && i - start < 3) {
+        octet = octet * 10 + (text.charAt(i) - '0');
+        i++;
+      }
+      if (i == start || octet > 255) {
+        return -1;
+      }
+      address = (address << 8) | octet;
+      octets++;
+      if (i < to) {
+        if (text.charAt(i) != '.' || octets == 4) {
+          return -1;
+        }
+        i++;
+        if (i == to) {
+          return -1;
+        }
+      }
+    }
+    return octets == 4 ? address : -1;
+  }
+
+  static boolean isValidIpv6(CharSequence text, int from, int to) {
+    return parseIpv6(text, from, to, VALID) != 0;
+  }
+
+  /**
+   * IPv6 주소의 상위(hi) 또는 하위 64비트. 형식이 맞지 않는 주소의 값은 의미가 없으므로 먼저 {@link #isValidIpv6} 로 확인한다.
+   */
+  static long parseIpv6(CharSequence text, int from, int to, boolean high) {
+    return parseIpv6(text, from, to, high ? HIGH : LOW);
+  }
+
+  /**
+   * {@code ::} 생략, 끝의 IPv4 표기, {@code %zone} 을 허용한다. 여러 번 호출해 128비트와 유효성을 얻는 대신 배열을 만들지 않는다.
+   *
+   * @param part {@link #HIGH}, {@link #LOW} 이면 그 64비트, {@link #VALID} 이면 형식이 맞을 때 1, 아니면 0
+   */
+  private static long parseIpv6(CharSequence text, int from, int to, int part) {
+    for (int i = from; i < to; i++) {
+      if (text.charAt(i) == '%') {
+        to = i;
+        break;
+      }
+    }
+    // 앞쪽 그룹은 head 에, '::' 뒤쪽 그룹은 tail 에 차례로 밀어 넣고 마지막에 tail 을 오른쪽 끝에 맞춘다.
+    long headHi = 0;
+    long headLo = 0;
+    long tailHi = 0;
+    long tailLo = 0;
+    int headGroups = 0;
+    int tailGroups = 0;
+    boolean compressed = false;
+    int i = from;
+    if (to - from >= 2 && text.charAt(from) == ':' && text.charAt(from + 1) == ':') {
+      compressed = true;
+      i += 2;
+    }
+    while (i < to) {
+      int start = i;
+      int group = 0;
+      while (i < to && i - start < 4 && Character.digit(text.charAt(i), 16) >= 0) {
+        group = (group << 4) | Character.digit(text.charAt(i), 16);
+        i++;
+      }
+      int groups = headGroups + tailGroups;
+      if (i < to && text.charAt(i) == '.') {
+        // 끝의 IPv4 표기는 그룹 두 개를 차지한다.
+        long ipv4 = parseIpv4(text, start, to);
+        if (ipv4 < 0 || groups > 6) {
+          return 0;
+        }
+        for (int shift = 16; shift >= 0; shift -= 16) {
+          int part = (int) ((ipv4 >>> shift) & 0xFFFF);
+          if (compressed) {
+            tailHi = (tailHi << 16) | (tailLo >>> 48);
+            tailLo = (tailLo << 16) | part;
+            tailGroups++;
+          } else {
+            headHi = (headHi << 16) | (headLo >>> 48);
+            headLo = (headLo << 16) | part;
+            headGroups++;
+          }
+        }
+        break;
+      }
+      if (i == start || groups == 8) {
+        return 0;
+      }
+      if (compressed) {
+        tailHi = (tailHi << 16) | (tailLo >>> 48);
+        tailLo = (tailLo << 16) | group;
+        tailGroups++;
+      } else {
+        headHi = (headHi << 16) | (headLo >>> 48);
+        headLo = (headLo << 16) | group;
+        headGroups++;
+      }
+      if (i == to) {
+        break;
+      }
+      if (text.charAt(i) != ':') {
+        return 0;
+      }
+      i++;
+      if (i < to && text.charAt(i) == ':') {
+        if (compressed) {
+          return 0;
+        }
+        compressed = true;
+        i++;
+      } else if (i == to) {
+        return 0;
+      }
+    }
+
+    int groups = headGroups + tailGroups;
+    if (compressed ? groups > 7 : groups != 8) {
+      return 0;
+    }
+    // head 는 왼쪽 끝으로 옮긴다.
+    int headShift = (8 - headGroups) * 16;
+    long hi;
+    long lo;
+    if (headShift >= 128) {
+      hi = 0;
+      lo = 0;
+    } else if (headShift >= 64) {
+      hi = headLo << (headShift - 64);
+      lo = 0;
+    } else if (headShift == 0) {
+      hi = headHi;
+      lo = headLo;
+    } else {
+      hi = (headHi << headShift) | (headLo >>> (64 - headShift));
+      lo = headLo << headShift;
+    }
+    return part == VALID ? 1 : part == HIGH ? hi | tailHi : lo | tailLo;
+  }
+
+  private static long readLong(byte[] bytes, int offset, int length) {
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value = (value << 8) | (bytes[offset + i] & 0xFF);
+    }
+    return value;
+  }
+
+  /**
+   * 대량 적재용. 노드 배열을 예상 크기로 잡아 두고 두 배씩 늘린다. 같은 접두어를 다시 넣으면 값을 덮어쓴다.
+   */
+  public static final class Builder {
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private int[] values;
+    private int nodes = 1;
+    private int prefixes;
+
+    private Builder(int expectedPrefixes) {
+      int capacity = Math.max(16, Math.min(expectedPrefixes, 1 << 22) * 4);
+      left = new int[capacity];
+      right = new int[capacity];
+      parent = new int[capacity];
+      values = new int[capacity];
+      values[0] = NO_MATCH;
+    }
+
+    /**
+     * @param cidr {@code 10.0.0.0/8}, {@code 2001:db8::/32} 또는 접두어 길이 없는 단일 주소
+     * @throws IllegalArgumentException 형식이 맞지 않을 때
+     */
+    public Builder insert(String cidr, int value) {
+      Prefix prefix = Prefix.parse(cidr);
+      return insert(prefix.hi, prefix.lo, prefix.length, value);
+    }
+
+    public Builder insert(long hi, long lo, int length, int value) {
+      if (value < 0) {
+        throw new IllegalArgumentException("Value must not be negative: " + value);
+      }
+      int node = 0;
+      for (int bit = 0; bit < length; bit++) {
+        long word = bit < 64 ? hi : lo;
+        boolean one = ((word >>> (63 - (bit & 63))) & 1L) != 0;
+        int next = one ? right[node] : left[node];
+        if (next == 0) {
+          next = newNode(node);
+          if (one) {
+            right[node] = next;
+          } else {
+            left[node] = next;
+          }
+        }
+        node = next;
+      }
+      if (values[node] == NO_MATCH) {
+        prefixes++;
+      }
+      values[node] = value;
+      return this;
+    }
+
+    /**
+     * @param inherit 조상에서 물려받은 값과 자기 값을 합친다. 자식은 항상 부모보다 뒤에 만들어지므로 한 번 훑어 전파한다.
+     */
+    public IpRadixTree build(IntBinaryOperator inherit) {
+      int[] effective = Arrays.copyOf(values, nodes);
+      for (int node = 1; node < nodes; node++) {
+        int inherited = effective[parent[node]];
+        if (values[node] == NO_MATCH) {
+          effective[node] = inherited;
+        } else if (inherited != NO_MATCH) {
+          effective[node] = inherit.applyAsInt(inherited, values[node]);
+        }
+      }
+      return new IpRadixTree(Arrays.copyOf(left, nodes), Arrays.copyOf(right, nodes), effective, prefixes);
+    }
+
+    private int newNode(int parentNode) {
+      if (nodes == values.length) {
+        int capacity = values.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        values = Arrays.copyOf(values, capacity);
+      }
+      int node = nodes++;
+      parent[node] = parentNode;
+      values[node] = NO_MATCH;
+      return node;
+    }
+  }
+
+  /**
+   * IPv6 공간으로 옮긴 CIDR. 접두어 길이 밖의 비트는 0 으로 지운다.
+   */
+  public static final class Prefix {
+
+    private final long hi;
+    private final long lo;
+    private final int length;
+
+    private Prefix(long hi, long lo, int length) {
+      this.hi = length == 0 ? 0 : length < 64 ? hi & (-1L << (64 - length)) : hi;
+      this.lo = length <= 64 ? 0 : length < 128 ? lo & (-1L << (128 - length)) : lo;
+      this.length = length;
+    }
+
+    public static Prefix parse(String cidr) {
+      String text = cidr == null ? "" : cidr.trim();
+      int slash = text.indexOf('/');
+      String address = slash < 0 ? text : text.substring(0, slash);
+      boolean ipv6 = isIpv6(address);
+      int maxLength = ipv6 ? 128 : 32;
+      int length;
+      try {
+        length = slash < 0 ? maxLength : Integer.parseInt(text.substring(slash + 1));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid CIDR prefix length: " + cidr);
+      }
+      if (length < 0 || length > maxLength) {
+        throw new IllegalArgumentException("Invalid CIDR prefix length: " + cidr);
+      }
+      if (ipv6) {
+        if (!isValidIpv6(address, 0, address.length())) {
+          throw new IllegalArgumentException("Invalid IPv6 address: " + cidr);
+        }
+        return new Prefix(parseIpv6(address, 0, address.length(), true),
+            parseIpv6(address, 0, address.length(), false), length);
+      }
+      long ipv4 = parseIpv4(address, 0, address.length());
+      if (ipv4 < 0) {
+        throw new IllegalArgumentException("Invalid IPv4 address: " + cidr);
+      }
+      return new Prefix(0L, V4_MAPPED_LO | ipv4, length + 96);
+    }
+
+    public long getHi() {
+      return hi;
+    }
+
+    public long getLo() {
+      return lo;
+    }
+
+    public int getLength() {
+      return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Prefix other && hi == other.hi && lo == other.lo && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(hi) * 31 * 31 + Long.hashCode(lo) * 31 + length;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.MethodClassKey;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 메서드 권한 정책의 불변 스냅샷. 호출마다 패턴을 비교하지 않도록 (메서드, 대상 클래스) 별로 처음 한 번만 규칙을 찾아 캐시한다.
+ * 캐시는 스냅샷에 속하므로 재로딩하면 새 스냅샷과 함께 비워진 상태로 교체된다.
+ */
+public final class MethodPolicy {
+
+  public static final MethodPolicy EMPTY = new MethodPolicy(Collections.emptyList());
+
+  // ConcurrentHashMap 은 null 을 담을 수 없으므로 규칙이 없는 메서드를 표시한다.
+  private static final MethodRule NONE = MethodRule.builder().pattern("").build();
+
+  private final List<MethodRule> rules;
+  private final Map<MethodClassKey, MethodRule> resolved = new ConcurrentHashMap<>();
+
+  public MethodPolicy(List<MethodRule> rules) {
+    List<MethodRule> sorted = new ArrayList<>(rules);
+    sorted.sort(MethodRule.PRECEDENCE);
+    this.rules = Collections.unmodifiableList(sorted);
+  }
+
+  /**
+   * @return 이 메서드에 적용할 manager, 규칙이 없으면 null
+   */
+  public AuthorizationManager<MethodInvocation> resolve(Method method, Class<?> targetClass) {
+    if (rules.isEmpty()) {
+      return null;
+    }
+    MethodRule rule = resolved.computeIfAbsent(new MethodClassKey(method, targetClass), key -> find(method, targetClass));
+    return rule != NONE ? rule.getManager() : null;
+  }
+
+  private MethodRule find(Method method, Class<?> targetClass) {
+    Set<String> names = new LinkedHashSet<>();
+    for (Class<?> type = targetClass; type != null && type != Object.class; type = type.getSuperclass()) {
+      names.add(type.getName() + "." + method.getName());
+    }
+    if (targetClass != null) {
+      ClassUtils.getAllInterfacesForClassAsSet(targetClass)
+          .forEach(type -> names.add(type.getName() + "." + method.getName()));
+    }
+    names.add(method.getDeclaringClass().getName() + "." + method.getName());
+
+    for (MethodRule rule : rules) {
+      for (String name : names) {
+        if (rule.matches(name)) {
+          return rule;
+        }
+      }
+    }
+    return NONE;
+  }
+
+  public List<MethodRule> getRules() {
+    return rules;
+  }
+
+  public int size() {
+    return rules.size();
+  }
+}
@@ -0,0 +1,34 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.Comparator;
+import lombok.Builder;
+import lombok.Getter;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.authorization.AuthorizationManager;
+
+/**
+ * {@code method} 타입 자원 하나. 패턴은 {@code 패키지.클래스.메서드} 형식이며 끝의 {@code *} 는 접두어 일치로 본다
+ * (예: {@code ...UserManagementServiceImpl.modifyUser}, {@code ...UserManagementServiceImpl.*}). 클래스 이름은 구현 클래스,
+ * 상위 클래스, 인터페이스 중 어느 것이든 쓸 수 있다.
+ */
+@Getter
+@Builder
+public class MethodRule {
+
+  public static final Comparator<MethodRule> PRECEDENCE = Comparator
+      .comparing(MethodRule::getOrderNum, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+      .thenComparing(MethodRule::getResourceId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+
+  private final Long resourceId;
+  private final Integer orderNum;
+  private final String pattern;
+  private final String attribute;
+  private final AuthorizationManager<MethodInvocation> manager;
+
+  public boolean matches(String qualifiedMethodName) {
+    if (pattern.endsWith("*")) {
+      return qualifiedMethodName.startsWith(pattern.substring(0, pattern.length() - 1));
+    }
+    return pattern.equals(qualifiedMethodName);
+  }
+}
@@ -0,0 +1,243 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * URL 패턴을 세그먼트 단위 트라이로 색인한다.
+ * <p>
+ * 리터럴 세그먼트는 정확히 비교하고, {@code *}, {@code {var}}, {@code icon-*} 같은 세그먼트는 임의의 한 세그먼트로,
+ * {@code **}, {@code {*var}} 는 0개 이상의 세그먼트로 취급한다. 따라서 {@link #candidates(String)} 는 실제 매칭의 상위 집합을
+ * 등록 순서(order) 오름차순으로 돌려주며, 최종 판정은 후보 각각의 RequestMatcher 가 담당한다.
+ * <p>
+ * {@link #insert} 는 트라이를 직접 바꾼다. 이미 공개한 트라이는 {@link #with}, {@link #without} 으로 바꾸며, 바뀐 패턴의 경로에
+ * 있는 노드만 복사하고 나머지 노드는 원래 트라이와 공유한다.
+ */
+public class PathTrie<T> {
+
+  private static final Comparator<Leaf<?>> BY_ORDER = Comparator.comparingInt(leaf -> leaf.order);
+
+  private final Node<T> root;
+  private int size;
+
+  public PathTrie() {
+    this(new Node<>(), 0);
+  }
+
+  private PathTrie(Node<T> root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  public void insert(String pattern, int order, T value) {
+    Node<T> node = root;
+    for (String segment : split(pattern)) {
+      if (isMultiSegment(segment)) {
+        if (node.multi == null) {
+          node.multi = new Node<>();
+        }
+        node = node.multi;
+      } else if (isWildcardSegment(segment)) {
+        if (node.single == null) {
+          node.single = new Node<>();
+        }
+        node = node.single;
+      } else {
+        if (node.literals == null) {
+          node.literals = new HashMap<>();
+        }
+        node = node.literals.computeIfAbsent(segment, key -> new Node<>());
+      }
+    }
+    if (node.leaves == null) {
+      node.leaves = new ArrayList<>(1);
+    }
+    node.leaves.add(new Leaf<>(order, value));
+    size++;
+  }
+
+  public PathTrie<T> with(String pattern, int order, T value) {
+    Node<T> copied = with(root, split(pattern), 0, new Leaf<>(order, value));
+    return new PathTrie<>(copied, size + 1);
+  }
+
+  /**
+   * 같은 패턴으로 등록된 값 중 {@code value} 와 같은 객체를 뺀다. 없으면 자기 자신을 돌려준다.
+   */
+  public PathTrie<T> without(String pattern, T value) {
+    Node<T> copied = without(root, split(pattern), 0, value);
+    if (copied == root) {
+      return this;
+    }
+    return new PathTrie<>(copied != null ? copied : new Node<>(), size - 1);
+  }
+
+  public List<T> candidates(String path) {
+    String[] segments = split(path);
+    List<Leaf<T>> found = new ArrayList<>(4);
+    collect(root, segments, 0, found);
+    if (found.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (found.size() > 1) {
+      found.sort(BY_ORDER);
+    }
+    List<T> values = new ArrayList<>(found.size());
+    T previous = null;
+    for (Leaf<T> leaf : found) {
+      // '**' 분기는 같은 leaf 에 여러 경로로 도달할 수 있다.
+      if (leaf.value != previous) {
+        values.add(leaf.value);
+      }
+      previous = leaf.value;
+    }
+    return values;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private void collect(Node<T> node, String[] segments, int index, List<Leaf<T>> found) {
+    if (node.multi != null) {
+      for (int i = index; i <= segments.length; i++) {
+        collect(node.multi, segments, i, found);
+      }
+    }
+    if (index == segments.length) {
+      if (node.leaves != null) {
+        found.addAll(node.leaves);
+      }
+      return;
+    }
+    if (node.literals != null) {
+      Node<T> literal = node.literals.get(segments[index]);
+      if (literal != null) {
+        collect(literal, segments, index + 1, found);
+      }
+    }
+    if (node.single != null) {
+      collect(node.single, segments, index + 1, found);
+    }
+  }
+
+  private Node<T> with(Node<T> node, String[] segments, int index, Leaf<T> leaf) {
+    Node<T> copy = node != null ? node.copy() : new Node<>();
+    if (index == segments.length) {
+      copy.leaves = copy.leaves != null ? new ArrayList<>(copy.leaves) : new ArrayList<>(1);
+      copy.leaves.add(leaf);
+      return copy;
+    }
+    String segment = segments[index];
+    if (isMultiSegment(segment)) {
+      copy.multi = with(copy.multi, segments, index + 1, leaf);
+    } else if (isWildcardSegment(segment)) {
+      copy.single = with(copy.single, segments, index + 1, leaf);
+    } else {
+      copy.literals = copy.literals != null ? new HashMap<>(copy.literals) : new HashMap<>();
+      copy.literals.put(segment, with(copy.literals.get(segment), segments, index + 1, leaf));
+    }
+    return copy;
+  }
+
+  // 바뀌지 않았으면 같은 노드를, 비게 되었으면 null 을 돌려준다.
+  private Node<T> without(Node<T> node, String[] segments, int index, T value) {
+    if (node == null) {
+      return null;
+    }
+    Node<T> copy = node.copy();
+    if (index == segments.length) {
+      if (node.leaves == null || node.leaves.stream().noneMatch(leaf -> leaf.value == value)) {
+        return node;
+      }
+      copy.leaves = new ArrayList<>(node.leaves);
+      copy.leaves.removeIf(leaf -> leaf.value == value);
+      if (copy.leaves.isEmpty()) {
+        copy.leaves = null;
+      }
+      return copy.isEmpty() ? null : copy;
+    }
+    String segment = segments[index];
+    if (isMultiSegment(segment)) {
+      Node<T> child = without(node.multi, segments, index + 1, value);
+      if (child == node.multi) {
+        return node;
+      }
+      copy.multi = child;
+    } else if (isWildcardSegment(segment)) {
+      Node<T> child = without(node.single, segments, index + 1, value);
+      if (child == node.single) {
+        return node;
+      }
+      copy.single = child;
+    } else {
+      Node<T> literal = node.literals != null ? node.literals.get(segment) : null;
+      Node<T> child = without(literal, segments, index + 1, value);
+      if (child == literal) {
+        return node;
+      }
+      copy.literals = new HashMap<>(node.literals);
+      if (child != null) {
+        copy.literals.put(segment, child);
+      } else {
+        copy.literals.remove(segment);
+      }
+      if (copy.literals.isEmpty()) {
+        copy.literals = null;
+      }
+    }
+    return copy.isEmpty() ? null : copy;
+  }
+
+  static String[] split(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    if (start >= path.length()) {
+      return new String[0];
+    }
+    return path.substring(start).split("/", -1);
+  }
+
+  static boolean isMultiSegment(String segment) {
+    return "**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"));
+  }
+
+  static boolean isWildcardSegment(String segment) {
+    return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+  }
+
+  private static class Node<T> {
+
+    private Map<String, Node<T>> literals;
+    private Node<T> single;
+    private Node<T> multi;
+    private List<Leaf<T>> leaves;
+
+    private Node<T> copy() {
+      Node<T> copy = new Node<>();
+      copy.literals = literals;
+      copy.single = single;
+      copy.multi = multi;
+      copy.leaves = leaves;
+      return copy;
+    }
+
+    private boolean isEmpty() {
+      return literals == null && single == null && multi == null && leaves == null;
+    }
+  }
+
+  private static class Leaf<T> {
+
+    private final int order;
+    private final T value;
+
+    private Leaf(int order, T value) {
+      this.order = order;
+      this.value = value;
+    }
+  }
+}
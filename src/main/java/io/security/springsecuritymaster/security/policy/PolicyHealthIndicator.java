@@ -0,0 +1,55 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/health} 의 policy 항목. 정책을 한 번도 읽지 못했으면 DOWN, DB 와 마지막으로 맞춰 본 뒤
+ * {@code security.policy.stale-after} 가 지났으면 STALE 이다. STALE 인 동안에도 마지막으로 읽은 정책으로 요청을 판단한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PolicyHealthIndicator implements HealthIndicator {
+
+  public static final Status STALE = new Status("STALE", "Serving the last known good URL policy");
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+
+  @Value("${security.policy.stale-after:PT10M}")
+  private Duration staleAfter;
+
+  @Override
+  public Health health() {
+    PolicyLoadState state = authorizationManager.getLoadState();
+    if (!state.isLoaded()) {
+      return withFailure(Health.down(), state).build();
+    }
+
+    Duration age = Duration.between(state.getLoadedAt(), Instant.now());
+    Health.Builder builder = age.compareTo(staleAfter) > 0 ? Health.status(STALE) : Health.up();
+    builder.withDetail("source", state.getSource())
+        .withDetail("loadedAt", state.getLoadedAt().toString())
+        .withDetail("ageSeconds", age.toSeconds())
+        .withDetail("rules", authorizationManager.getSnapshot().size());
+    return withFailure(builder, state).build();
+  }
+
+  private static Health.Builder withFailure(Health.Builder builder, PolicyLoadState state) {
+    builder.withDetail("consecutiveFailures", state.getConsecutiveFailures());
+    if (state.getConsecutiveFailures() > 0) {
+      builder.withDetail("lastFailure", state.getLastFailure())
+          .withDetail("lastFailureAt", state.getLastFailureAt().toString());
+      if (state.getNextRetryAt() != null) {
+        builder.withDetail("nextRetryAt", state.getNextRetryAt().toString());
+      }
+    }
+    return builder;
+  }
+}
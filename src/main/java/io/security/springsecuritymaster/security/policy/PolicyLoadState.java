@@ -0,0 +1,48 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.time.Instant;
+import lombok.Getter;
+
+/**
+ * URL 정책을 마지막으로 언제, 어디서 읽었는지와 그 뒤로 이어진 실패를 기록한다. 읽기 실패 중에는 마지막으로 성공한 정책이 그대로
+ * 쓰이므로, 이 기록으로 그 정책이 얼마나 오래되었는지 판단한다.
+ */
+@Getter
+public class PolicyLoadState {
+
+  public enum Source {
+    NONE, SNAPSHOT_FILE, DATABASE
+  }
+
+  private volatile Source source = Source.NONE;
+  // 현재 정책이 DB(또는 정책 파일)의 내용과 같다고 마지막으로 확인된 시각
+  private volatile Instant loadedAt;
+  private volatile int consecutiveFailures;
+  private volatile Instant lastFailureAt;
+  private volatile String lastFailure;
+  private volatile Instant nextRetryAt;
+
+  public synchronized void loaded(Source source, Instant at) {
+    this.source = source;
+    this.loadedAt = at;
+    this.consecutiveFailures = 0;
+    this.nextRetryAt = null;
+  }
+
+  /**
+   * @return 연속 실패 횟수
+   */
+  public synchronized int failed(Throwable cause, Instant at) {
+    this.lastFailureAt = at;
+    this.lastFailure = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    return ++consecutiveFailures;
+  }
+
+  public void retryScheduled(Instant at) {
+    this.nextRetryAt = at;
+  }
+
+  public boolean isLoaded() {
+    return source != Source.NONE;
+  }
+}
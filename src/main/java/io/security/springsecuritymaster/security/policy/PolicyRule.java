@@ -0,0 +1,39 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.security.metrics.RuleStats;
+import java.util.Comparator;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+
+@Getter
+@Builder(toBuilder = true)
+public class PolicyRule {
+
+  // orderNum 내림차순, 같으면 resourceId 오름차순. 둘 다 없으면 등록 순서를 유지한다.
+  public static final Comparator<PolicyRule> PRECEDENCE = Comparator
+      .comparing(PolicyRule::getOrderNum, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+      .thenComparing(PolicyRule::getResourceId, Comparator.nullsLast(Comparator.<Long>naturalOrder()));
+
+  // 스냅샷 안에서의 우선순위. 작을수록 먼저 비교하며 연속된 값이 아니다.
+  private final int order;
+  // DecisionTable 의 행 번호
+  private final int slot;
+  private final Long resourceId;
+  private final Integer orderNum;
+  private final String pattern;
+  private final HttpMethod httpMethod;
+  private final String attribute;
+  private final RequestMatcher requestMatcher;
+  // 요청 객체 없이 경로만으로 비교할 때 쓰는 패턴. PathPattern 으로 파싱할 수 없으면 null
+  private final PathPattern pathPattern;
+  private final AuthorizationManager<RequestAuthorizationContext> manager;
+  private final RuleEvaluation evaluation;
+  // 권한 조합만으로 결과가 결정되는 규칙인지 여부. true 이면 DecisionTable 에 결과를 저장한다.
+  private final boolean cacheable;
+  private final RuleStats stats;
+}
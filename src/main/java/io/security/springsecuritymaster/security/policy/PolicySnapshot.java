@@ -0,0 +1,287 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpMethod;
+
+/**
+ * 한 번 만들어지면 변경되지 않는 URL 정책. 재로딩은 새 스냅샷을 만들어 참조만 교체한다.
+ * <p>
+ * 규칙은 HTTP 메서드별 트라이와 메서드 무관 트라이로 나뉘며, 요청은 자신의 메서드 규칙과 메서드 무관 규칙만 검사한다. 둘 다
+ * 맞지 않아도 다른 메서드의 규칙이 걸린 경로이면 {@link #otherMethodCandidates} 로 찾아 거부한다.
+ * 단건 변경은 {@link #withResources} 로 바뀐 자원의 규칙만 끼워 넣고 나머지 규칙과 트라이 노드는 공유한다.
+ * <p>
+ * 규칙의 order 는 우선순위 순으로 간격을 두고 매기므로 새 규칙은 앞뒤 규칙 사이의 빈 값을 받는다. DecisionTable 의 행 번호는
+ * 따로 slot 으로 매긴다. 빠진 규칙의 slot 은 다음 단건 변경이 다시 쓰고, 빈 slot 이 살아 있는 규칙보다 많아지면 새로 빌드해
+ * slot 을 0 부터 다시 채운다.
+ */
+public final class PolicySnapshot {
+
+  public static final PolicySnapshot EMPTY = new Builder().build();
+
+  private static final int MAX_ORDER_GAP = 1 << 16;
+
+  private final List<PolicyRule> rules;
+  private final Map<HttpMethod, PathTrie<PolicyRule>> methodRules;
+  private final PathTrie<PolicyRule> anyMethodRules;
+  private final DecisionTable decisionTable;
+  private final RoleIndex roleIndex;
+  private final int slots;
+  // 어떤 규칙도 쓰지 않는 slot. 오름차순이다.
+  private final int[] freeSlots;
+  private volatile AccessIndex accessIndex;
+
+  private PolicySnapshot(List<PolicyRule> rules, Map<HttpMethod, PathTrie<PolicyRule>> methodRules,
+      PathTrie<PolicyRule> anyMethodRules, RoleIndex roleIndex, int slots, int[] freeSlots) {
+    this.rules = rules;
+    this.methodRules = methodRules;
+    this.anyMethodRules = anyMethodRules;
+    this.decisionTable = new DecisionTable(slots);
+    this.roleIndex = roleIndex;
+    this.slots = slots;
+    this.freeSlots = freeSlots;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public Builder toBuilder() {
+    Builder builder = new Builder().roleIndex(roleIndex);
+    builder.rules.addAll(rules);
+    return builder;
+  }
+
+  /**
+   * 자원별로 규칙을 바꾼 새 스냅샷. 값이 빈 목록이면 그 자원의 규칙을 뺀다. 이 스냅샷은 바뀌지 않는다.
+   */
+  public PolicySnapshot withResources(Map<Long, List<PolicyRule>> replacements) {
+    List<PolicyRule> kept = new ArrayList<>(rules.size());
+    List<PolicyRule> removed = new ArrayList<>();
+    for (PolicyRule rule : rules) {
+      (replacements.containsKey(rule.getResourceId()) ? removed : kept).add(rule);
+    }
+
+    // 빠지는 규칙의 slot 과 전부터 비어 있던 slot 을 먼저 쓴다.
+    int[] reusable = Arrays.copyOf(freeSlots, freeSlots.length + removed.size());
+    for (int i = 0; i < removed.size(); i++) {
+      reusable[freeSlots.length + i] = removed.get(i).getSlot();
+    }
+    Arrays.sort(reusable);
+    int reused = 0;
+
+    List<PolicyRule> added = new ArrayList<>();
+    int nextSlot = slots;
+    for (List<PolicyRule> resourceRules : replacements.values()) {
+      for (PolicyRule rule : resourceRules) {
+        int position = insertionPoint(kept, rule);
+        long before = position > 0 ? kept.get(position - 1).getOrder() : -1L;
+        long after = position < kept.size() ? kept.get(position).getOrder() : Integer.MAX_VALUE;
+        if (after - before < 2) {
+          // 끼울 자리가 없으면 order 를 다시 매긴다. 컴파일된 규칙은 그대로 쓴다.
+          return rebuild(kept, added, replacements);
+        }
+        int slot = reused < reusable.length ? reusable[reused++] : nextSlot++;
+        PolicyRule placed = rule.toBuilder().order((int) (before + (after - before) / 2)).slot(slot).build();
+        kept.add(position, placed);
+        added.add(placed);
+      }
+    }
+
+    int[] free = Arrays.copyOfRange(reusable, reused, reusable.length);
+    if (free.length > kept.size()) {
+      // 빈 행이 절반을 넘으면 slot 을 다시 채운 작은 DecisionTable 로 옮긴다.
+      return rebuild(kept, added, replacements);
+    }
+
+    Map<HttpMethod, PathTrie<PolicyRule>> methodTries = new HashMap<>(methodRules);
+    PathTrie<PolicyRule> anyMethodTrie = anyMethodRules;
+    for (PolicyRule rule : removed) {
+      if (rule.getHttpMethod() == null) {
+        anyMethodTrie = anyMethodTrie.without(rule.getPattern(), rule);
+      } else {
+        methodTries.computeIfPresent(rule.getHttpMethod(), (method, trie) -> trie.without(rule.getPattern(), rule));
+      }
+    }
+    for (PolicyRule rule : added) {
+      if (rule.getHttpMethod() == null) {
+        anyMethodTrie = anyMethodTrie.with(rule.getPattern(), rule.getOrder(), rule);
+      } else {
+        methodTries.put(rule.getHttpMethod(), methodTries.getOrDefault(rule.getHttpMethod(), new PathTrie<>())
+            .with(rule.getPattern(), rule.getOrder(), rule));
+      }
+    }
+    return new PolicySnapshot(Collections.unmodifiableList(kept), Collections.unmodifiableMap(methodTries),
+        anyMethodTrie, roleIndex, nextSlot, free);
+  }
+
+  private PolicySnapshot rebuild(List<PolicyRule> kept, List<PolicyRule> added,
+      Map<Long, List<PolicyRule>> replacements) {
+    Builder builder = new Builder().roleIndex(roleIndex);
+    builder.rules.addAll(kept);
+    replacements.values().forEach(builder.rules::addAll);
+    builder.rules.removeAll(added);
+    return builder.build();
+  }
+
+  public List<PolicyRule> candidates(HttpMethod method, String path) {
+    List<PolicyRule> anyMethod = anyMethodRules.candidates(path);
+    PathTrie<PolicyRule> trie = method != null ? methodRules.get(method) : null;
+    if (trie == null) {
+      return anyMethod;
+    }
+    List<PolicyRule> forMethod = trie.candidates(path);
+    if (anyMethod.isEmpty()) {
+      return forMethod;
+    }
+    if (forMethod.isEmpty()) {
+      return anyMethod;
+    }
+    return merge(forMethod, anyMethod);
+  }
+
+  /**
+   * 요청 메서드가 아닌 메서드에만 걸린 후보 규칙. 메서드별 규칙만 있는 경로를 다른 메서드로 열지 않기 위해, 맞는 규칙이 없을 때만
+   * 찾는다.
+   */
+  public List<PolicyRule> otherMethodCandidates(HttpMethod method, String path) {
+    List<PolicyRule> found = Collections.emptyList();
+    for (Map.Entry<HttpMethod, PathTrie<PolicyRule>> entry : methodRules.entrySet()) {
+      if (entry.getKey().equals(method)) {
+        continue;
+      }
+      List<PolicyRule> candidates = entry.getValue().candidates(path);
+      if (!candidates.isEmpty()) {
+        found = found.isEmpty() ? candidates : merge(found, candidates);
+      }
+    }
+    return found;
+  }
+
+  public List<PolicyRule> getRules() {
+    return rules;
+  }
+
+  public int size() {
+    return rules.size();
+  }
+
+  public Map<RuleEvaluation, Integer> countByEvaluation() {
+    Map<RuleEvaluation, Integer> counts = new EnumMap<>(RuleEvaluation.class);
+    for (RuleEvaluation evaluation : RuleEvaluation.values()) {
+      counts.put(evaluation, 0);
+    }
+    rules.forEach(rule -> {
+      if (rule.getEvaluation() != null) {
+        counts.merge(rule.getEvaluation(), 1, Integer::sum);
+      }
+    });
+    return counts;
+  }
+
+  /**
+   * 테넌트 정책 캐시의 메모리 예산에 쓰는 대략적인 크기. 규칙 하나의 matcher, 트라이 노드, 통계와 다 채워진 DecisionTable 행을 더한다.
+   */
+  public long estimatedBytes() {
+    return 4096L + (long) rules.size() * (1024 + AuthoritySetRegistry.MAX_SETS + 1);
+  }
+
+  public DecisionTable getDecisionTable() {
+    return decisionTable;
+  }
+
+  public RoleIndex getRoleIndex() {
+    return roleIndex;
+  }
+
+  /**
+   * 처음 찾을 때 만든다. 동시에 여러 번 만들어져도 결과가 같으므로 먼저 저장된 것을 쓴다.
+   */
+  public AccessIndex getAccessIndex() {
+    AccessIndex index = accessIndex;
+    if (index == null) {
+      index = AccessIndex.build(this);
+      accessIndex = index;
+    }
+    return index;
+  }
+
+  // 우선순위가 같은 규칙 뒤에 넣어 등록 순서를 지킨다.
+  private static int insertionPoint(List<PolicyRule> sorted, PolicyRule rule) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (PolicyRule.PRECEDENCE.compare(sorted.get(middle), rule) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static List<PolicyRule> merge(List<PolicyRule> left, List<PolicyRule> right) {
+    List<PolicyRule> merged = new ArrayList<>(left.size() + right.size());
+    int i = 0;
+    int j = 0;
+    while (i < left.size() && j < right.size()) {
+      merged.add(left.get(i).getOrder() <= right.get(j).getOrder() ? left.get(i++) : right.get(j++));
+    }
+    while (i < left.size()) {
+      merged.add(left.get(i++));
+    }
+    while (j < right.size()) {
+      merged.add(right.get(j++));
+    }
+    return merged;
+  }
+
+  public static final class Builder {
+
+    private final List<PolicyRule> rules = new ArrayList<>();
+    private RoleIndex roleIndex = RoleIndex.EMPTY;
+
+    private Builder() {
+    }
+
+    public Builder roleIndex(RoleIndex roleIndex) {
+      this.roleIndex = roleIndex;
+      return this;
+    }
+
+    public Builder add(PolicyRule rule) {
+      rules.add(rule);
+      return this;
+    }
+
+    public PolicySnapshot build() {
+      List<PolicyRule> sorted = new ArrayList<>(rules);
+      sorted.sort(PolicyRule.PRECEDENCE);
+
+      // 단건 변경이 끼어들 수 있게 order 사이에 간격을 둔다.
+      int gap = (int) Math.max(1, Math.min(MAX_ORDER_GAP, Integer.MAX_VALUE / (sorted.size() + 2L)));
+      List<PolicyRule> ordered = new ArrayList<>(sorted.size());
+      Map<HttpMethod, PathTrie<PolicyRule>> methodRules = new HashMap<>();
+      PathTrie<PolicyRule> anyMethodRules = new PathTrie<>();
+      for (PolicyRule rule : sorted) {
+        int slot = ordered.size();
+        int order = (slot + 1) * gap;
+        PolicyRule compiled = rule.getOrder() == order && rule.getSlot() == slot
+            ? rule : rule.toBuilder().order(order).slot(slot).build();
+        ordered.add(compiled);
+        PathTrie<PolicyRule> trie = compiled.getHttpMethod() != null
+            ? methodRules.computeIfAbsent(compiled.getHttpMethod(), key -> new PathTrie<>())
+            : anyMethodRules;
+        trie.insert(compiled.getPattern(), compiled.getOrder(), compiled);
+      }
+      return new PolicySnapshot(Collections.unmodifiableList(ordered), Collections.unmodifiableMap(methodRules),
+          anyMethodRules, roleIndex, ordered.size(), new int[0]);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 마지막으로 반영한 URL 정책을 파일로 남겨, 재시작할 때 DB 를 기다리지 않고 바로 정책을 세운다.
+ * <p>
+ * 파일은 magic, 포맷 버전, 저장 시각, 역할 계층, 규칙 목록, CRC32 순서의 바이너리다. 임시 파일에 쓴 뒤 이름을 바꿔 교체하므로
+ * 읽는 쪽은 항상 완전한 파일을 본다. magic, 버전, CRC 중 하나라도 맞지 않으면 파일이 없는 것으로 본다.
+ * {@code security.policy.snapshot-file} 이 비어 있으면 쓰지도 읽지도 않는다.
+ */
+@Slf4j
+@Component
+public class PolicySnapshotFile {
+
+  static final int MAGIC = 0x53504F4C; // "SPOL"
+  static final short FORMAT_VERSION = 1;
+  private static final int NULL_LENGTH = -1;
+
+  private final Path path;
+
+  public PolicySnapshotFile(@Value("${security.policy.snapshot-file:}") String path) {
+    this.path = StringUtils.hasText(path) ? Path.of(path) : null;
+  }
+
+  public Optional<Contents> load() {
+    if (path == null) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return Optional.of(decode(buffer));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+      log.warn("Ignoring unreadable policy snapshot file {}: {}", path, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public void save(PolicySnapshot policy) {
+    if (path == null) {
+      return;
+    }
+    List<UrlRoleDto> urlRoles = policy.getRules().stream()
+        .map(rule -> new UrlRoleDto(rule.getResourceId(), rule.getPattern(), rule.getHttpMethod(), rule.getOrderNum(),
+            rule.getAttribute()))
+        .toList();
+    try {
+      Path parent = path.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, encode(policy.getRoleIndex().getHierarchy(), urlRoles, System.currentTimeMillis()));
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to write policy snapshot file {}", path, e);
+    }
+  }
+
+  static byte[] encode(String hierarchy, List<UrlRoleDto> urlRoles, long savedAt) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + urlRoles.size() * 64);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeShort(FORMAT_VERSION);
+    out.writeLong(savedAt);
+    writeString(out, hierarchy);
+    out.writeInt(urlRoles.size());
+    for (UrlRoleDto urlRole : urlRoles) {
+      out.writeLong(urlRole.getResourceId() != null ? urlRole.getResourceId() : Long.MIN_VALUE);
+      out.writeInt(urlRole.getOrderNum() != null ? urlRole.getOrderNum() : Integer.MIN_VALUE);
+      writeString(out, urlRole.getHttpMethod() != null ? urlRole.getHttpMethod().name() : null);
+      writeString(out, urlRole.getResourceName());
+      writeString(out, urlRole.getRoleName());
+    }
+    out.flush();
+
+    CRC32 crc = new CRC32();
+    crc.update(bytes.toByteArray());
+    out.writeInt((int) crc.getValue());
+    return bytes.toByteArray();
+  }
+
+  static Contents decode(ByteBuffer buffer) {
+    if (buffer.remaining() < Integer.BYTES) {
+      throw new IllegalArgumentException("file is truncated");
+    }
+    ByteBuffer body = buffer.duplicate();
+    body.limit(body.limit() - Integer.BYTES);
+    CRC32 crc = new CRC32();
+    crc.update(body.duplicate());
+    if ((int) crc.getValue() != buffer.getInt(buffer.limit() - Integer.BYTES)) {
+      throw new IllegalArgumentException("checksum mismatch");
+    }
+
+    if (body.getInt() != MAGIC) {
+      throw new IllegalArgumentException("not a policy snapshot file");
+    }
+    short version = body.getShort();
+    if (version != FORMAT_VERSION) {
+      throw new IllegalArgumentException("unsupported format version " + version);
+    }
+    long savedAt = body.getLong();
+    String hierarchy = readString(body);
+    int count = body.getInt();
+    List<UrlRoleDto> urlRoles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long resourceId = body.getLong();
+      int orderNum = body.getInt();
+      String httpMethod = readString(body);
+      String pattern = readString(body);
+      String attribute = readString(body);
+      urlRoles.add(new UrlRoleDto(resourceId != Long.MIN_VALUE ? resourceId : null, pattern,
+          httpMethod != null ? HttpMethod.valueOf(httpMethod) : null, orderNum != Integer.MIN_VALUE ? orderNum : null,
+          attribute));
+    }
+    return new Contents(savedAt, hierarchy, Collections.unmodifiableList(urlRoles));
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+      return;
+    }
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(encoded.length);
+    out.write(encoded);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("invalid string length " + length);
+    }
+    byte[] encoded = new byte[length];
+    buffer.get(encoded);
+    return new String(encoded, StandardCharsets.UTF_8);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class Contents {
+
+    private final long savedAt;
+    private final String hierarchy;
+    private final List<UrlRoleDto> urlRoles;
+  }
+}
@@ -0,0 +1,94 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.admin.service.PolicyVersionService;
+import io.security.springsecuritymaster.security.event.SecurityCacheRefresher;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 여러 노드가 같은 DB 를 쓸 때 다른 노드에서 바뀐 정책을 반영한다.
+ * <p>
+ * 정책 버전 한 행만 기본 키로 읽고, 이 노드가 반영한 버전과 다를 때만 전체 정책을 다시 읽는다. 버전을 먼저 읽고 정책을 읽으므로
+ * 다시 만든 정책은 항상 읽은 버전 이후의 상태를 담는다. 시작 직후에는 반영한 버전을 모르므로 첫 폴링에서 한 번 다시 읽는다.
+ * <p>
+ * 테넌트 변경은 테넌트별 버전 행으로 따로 알리므로, 버전이 바뀐 테넌트의 정책만 다시 만들고 기본 정책과 다른 테넌트는 건드리지
+ * 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PolicyVersionWatcher {
+
+  private static final long UNKNOWN = -1L;
+
+  private final PolicyVersionService policyVersionService;
+  private final SecurityCacheRefresher securityCacheRefresher;
+  private final AtomicLong appliedVersion = new AtomicLong(UNKNOWN);
+  private final Map<String, Long> appliedTenantVersions = new ConcurrentHashMap<>();
+
+  @Scheduled(fixedDelayString = "${security.policy.version-poll-interval:PT1S}")
+  public void poll() {
+    pollTenants();
+    long version = policyVersionService.currentVersion();
+    if (version == appliedVersion.get()) {
+      return;
+    }
+    log.info("Policy version moved to {}, reloading policy", version);
+    try {
+      securityCacheRefresher.refreshAll();
+    } catch (RuntimeException e) {
+      // 반영한 버전을 올리지 않으므로 다음 폴링에서 다시 읽는다.
+      log.warn("Failed to reload policy for version {}, retrying on the next poll", version, e);
+      return;
+    }
+    appliedVersion.accumulateAndGet(version, Math::max);
+  }
+
+  private void pollTenants() {
+    Map<String, Long> versions = policyVersionService.tenantVersions();
+    List<String> changed = versions.entrySet().stream()
+        .filter(entry -> !entry.getValue().equals(appliedTenantVersions.get(entry.getKey())))
+        .map(Map.Entry::getKey)
+        .toList();
+    if (changed.isEmpty()) {
+      return;
+    }
+    log.debug("Policy versions of tenants {} moved, reloading their policies", changed);
+    try {
+      securityCacheRefresher.refreshTenants(changed);
+    } catch (RuntimeException e) {
+      log.warn("Failed to reload policies of tenants {}, retrying on the next poll", changed, e);
+      return;
+    }
+    changed.forEach(tenant -> appliedTenantVersions.merge(tenant, versions.get(tenant), Math::max));
+  }
+
+  /**
+   * 이 노드가 직접 반영한 변경의 버전을 기록해 같은 변경으로 다시 읽지 않게 한다. 커밋된 뒤에 호출하며, 바로 앞 버전까지 반영한
+   * 상태일 때만 기록하므로 그 사이 다른 노드의 변경이 끼어 있었다면 다음 폴링에서 다시 읽는다.
+   */
+  public void markApplied(long version) {
+    appliedVersion.compareAndSet(version - 1, version);
+  }
+
+  /**
+   * {@link #markApplied(long)} 의 테넌트별 버전. 이 테넌트의 바로 앞 버전까지 반영한 상태일 때만 기록한다.
+   */
+  public void markApplied(String tenant, long version) {
+    if (version == 1) {
+      appliedTenantVersions.putIfAbsent(tenant, version);
+    } else {
+      appliedTenantVersions.replace(tenant, version - 1, version);
+    }
+  }
+
+  public long getAppliedVersion() {
+    return appliedVersion.get();
+  }
+}
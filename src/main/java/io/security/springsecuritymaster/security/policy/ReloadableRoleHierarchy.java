@@ -0,0 +1,173 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * 실행 중에 교체할 수 있는 역할 계층. 역할마다 도달 가능한 권한 집합을 미리 계산해 두고 {@link #apply(String)} 로 통째로
+ * 바꾸므로, 이 빈을 잡고 있는 manager 와 expression handler 는 재시작 없이 새 계층을 본다. 계층은 {@code SecurityCacheRefresher} 가
+ * 한 번 읽어 넘긴다.
+ * <p>
+ * 조회는 새 객체를 만들지 않는다. 권한이 하나면 미리 계산한 집합을 그대로 돌려주고, 여러 개면 입력 컬렉션 인스턴스를 키로 한 작은
+ * 캐시에서 합집합을 찾는다. 인증 객체는 수명 동안 같은 불변 권한 컬렉션을 들고 있으므로 대부분 캐시에 맞는다. 순환이 있는
+ * 계층은 교체하지 않고 예외를 던진다.
+ */
+@Slf4j
+public class ReloadableRoleHierarchy implements RoleHierarchy {
+
+  private static final int UNION_CACHE_SIZE = 512;
+
+  private volatile Closure closure;
+
+  public ReloadableRoleHierarchy(String hierarchy) {
+    this.closure = Closure.build(hierarchy);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Collection<GrantedAuthority> getReachableGrantedAuthorities(
+      Collection<? extends GrantedAuthority> authorities) {
+    if (authorities == null || authorities.isEmpty()) {
+      return AuthorityUtils.NO_AUTHORITIES;
+    }
+    Closure current = closure;
+    if (authorities.size() == 1) {
+      Set<GrantedAuthority> reachable = current.reachable.get(authorities.iterator().next().getAuthority());
+      return reachable != null ? reachable : (Collection<GrantedAuthority>) authorities;
+    }
+    return current.union(authorities);
+  }
+
+  /**
+   * 계층을 검증하고 교체한다. 순환이 있으면 현재 계층을 그대로 두고 {@link IllegalArgumentException} 을 던진다.
+   */
+  public void apply(String hierarchy) {
+    Closure next = Closure.build(hierarchy);
+    closure = next;
+    log.debug("Role hierarchy swapped with {} roles", next.reachable.size());
+  }
+
+  public String getHierarchy() {
+    return closure.hierarchy;
+  }
+
+  /**
+   * @throws IllegalArgumentException 계층에 순환이 있을 때. 메시지에 순환 경로를 담는다.
+   */
+  public static void validate(String hierarchy) {
+    Map<String, Set<String>> children = RoleIndex.parseHierarchy(hierarchy);
+    Set<String> done = new HashSet<>();
+    for (String role : children.keySet()) {
+      List<String> cycle = findCycle(role, children, new LinkedHashSet<>(), done);
+      if (cycle != null) {
+        throw new IllegalArgumentException("Role hierarchy contains a cycle: " + String.join(" > ", cycle));
+      }
+    }
+  }
+
+  private static List<String> findCycle(String role, Map<String, Set<String>> children, LinkedHashSet<String> path,
+      Set<String> done) {
+    if (done.contains(role)) {
+      return null;
+    }
+    if (!path.add(role)) {
+      List<String> cycle = new ArrayList<>();
+      boolean inCycle = false;
+      for (String visited : path) {
+        inCycle |= visited.equals(role);
+        if (inCycle) {
+          cycle.add(visited);
+        }
+      }
+      cycle.add(role);
+      return cycle;
+    }
+    for (String child : children.getOrDefault(role, Collections.emptySet())) {
+      List<String> cycle = findCycle(child, children, path, done);
+      if (cycle != null) {
+        return cycle;
+      }
+    }
+    path.remove(role);
+    done.add(role);
+    return null;
+  }
+
+  private static final class Closure {
+
+    private final String hierarchy;
+    private final Map<String, Set<GrantedAuthority>> reachable;
+    private final AtomicReferenceArray<Union> unions = new AtomicReferenceArray<>(UNION_CACHE_SIZE);
+
+    private Closure(String hierarchy, Map<String, Set<GrantedAuthority>> reachable) {
+      this.hierarchy = hierarchy;
+      this.reachable = reachable;
+    }
+
+    static Closure build(String hierarchy) {
+      validate(hierarchy);
+      Map<String, Set<String>> children = RoleIndex.parseHierarchy(hierarchy);
+      Map<String, Set<GrantedAuthority>> reachable = new HashMap<>();
+      for (String role : children.keySet()) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(role);
+        while (!stack.isEmpty()) {
+          String next = stack.pop();
+          if (authorities.add(new SimpleGrantedAuthority(next))) {
+            children.getOrDefault(next, Collections.emptySet()).forEach(stack::push);
+          }
+        }
+        reachable.put(role, Collections.unmodifiableSet(authorities));
+      }
+      return new Closure(hierarchy != null ? hierarchy : "", Collections.unmodifiableMap(reachable));
+    }
+
+    Collection<GrantedAuthority> union(Collection<? extends GrantedAuthority> authorities) {
+      int slot = System.identityHashCode(authorities) & (UNION_CACHE_SIZE - 1);
+      Union cached = unions.get(slot);
+      if (cached != null && cached.authorities == authorities) {
+        return cached.reachable;
+      }
+
+      Set<GrantedAuthority> union = new LinkedHashSet<>();
+      for (GrantedAuthority authority : authorities) {
+        Set<GrantedAuthority> reachableFromAuthority = reachable.get(authority.getAuthority());
+        if (reachableFromAuthority != null) {
+          union.addAll(reachableFromAuthority);
+        } else {
+          union.add(authority);
+        }
+      }
+      Collection<GrantedAuthority> result = Collections.unmodifiableSet(union);
+      unions.set(slot, new Union(authorities, result));
+      return result;
+    }
+  }
+
+  private static final class Union {
+
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final Collection<GrantedAuthority> reachable;
+
+    private Union(Collection<? extends GrantedAuthority> authorities, Collection<GrantedAuthority> reachable) {
+      this.authorities = authorities;
+      this.reachable = reachable;
+    }
+  }
+}
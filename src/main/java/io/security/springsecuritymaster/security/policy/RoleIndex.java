@@ -0,0 +1,160 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * 역할 이름을 0부터 시작하는 정수로 intern 하고, 역할 계층의 추이적 폐포(transitive closure)를 역할마다 {@code long[]} 비트셋으로
+ * 미리 계산한다. 역할 검사는 사용자의 확장 비트셋과 규칙이 요구하는 역할 비트의 AND 연산이 된다.
+ */
+public final class RoleIndex {
+
+  private static final long[] NONE = new long[0];
+
+  public static final RoleIndex EMPTY = build(Collections.emptyList(), "");
+
+  private final String hierarchy;
+  private final Map<String, Integer> ids;
+  private final List<String> names;
+  private final long[][] closures;
+  private final AtomicReferenceArray<long[]> expandedByAuthoritySet =
+      new AtomicReferenceArray<>(AuthoritySetRegistry.MAX_SETS + 1);
+
+  private RoleIndex(String hierarchy, Map<String, Integer> ids, List<String> names, long[][] closures) {
+    this.hierarchy = hierarchy;
+    this.ids = ids;
+    this.names = names;
+    this.closures = closures;
+  }
+
+  /**
+   * @param roleNames 규칙이 요구하는 역할 등 계층에 없더라도 색인해야 할 역할
+   * @param hierarchy {@code RoleHierarchyImpl} 과 같은 "ROLE_A > ROLE_B" 줄 단위 표현
+   */
+  public static RoleIndex build(Collection<String> roleNames, String hierarchy) {
+    Map<String, Set<String>> children = parseHierarchy(hierarchy);
+
+    Set<String> all = new LinkedHashSet<>(roleNames);
+    children.forEach((parent, set) -> {
+      all.add(parent);
+      all.addAll(set);
+    });
+
+    Map<String, Integer> ids = new HashMap<>();
+    List<String> names = new ArrayList<>(all);
+    for (int i = 0; i < names.size(); i++) {
+      ids.put(names.get(i), i);
+    }
+
+    int words = (names.size() + 63) >>> 6;
+    long[][] closures = new long[names.size()][];
+    for (int i = 0; i < names.size(); i++) {
+      long[] bits = new long[words];
+      Deque<String> stack = new ArrayDeque<>();
+      stack.push(names.get(i));
+      while (!stack.isEmpty()) {
+        int id = ids.get(stack.pop());
+        if ((bits[id >>> 6] & (1L << id)) != 0) {
+          continue;
+        }
+        bits[id >>> 6] |= 1L << id;
+        children.getOrDefault(names.get(id), Collections.emptySet()).forEach(stack::push);
+      }
+      closures[i] = bits;
+    }
+    return new RoleIndex(hierarchy, Collections.unmodifiableMap(ids), Collections.unmodifiableList(names), closures);
+  }
+
+  /**
+   * 색인에 없는 역할이 있으면 같은 계층으로 새 색인을 만든다. 모두 있으면 자기 자신을 돌려준다.
+   */
+  public RoleIndex withRoles(Collection<String> roleNames) {
+    if (ids.keySet().containsAll(roleNames)) {
+      return this;
+    }
+    Set<String> all = new LinkedHashSet<>(names);
+    all.addAll(roleNames);
+    return build(all, hierarchy);
+  }
+
+  static Map<String, Set<String>> parseHierarchy(String hierarchy) {
+    Map<String, Set<String>> children = new HashMap<>();
+    if (hierarchy == null) {
+      return children;
+    }
+    for (String line : hierarchy.split("\n")) {
+      String[] roles = line.split(">");
+      for (int i = 0; i < roles.length - 1; i++) {
+        String parent = roles[i].trim();
+        String child = roles[i + 1].trim();
+        if (!parent.isEmpty() && !child.isEmpty()) {
+          children.computeIfAbsent(parent, key -> new LinkedHashSet<>()).add(child);
+        }
+      }
+    }
+    return children;
+  }
+
+  public String getHierarchy() {
+    return hierarchy;
+  }
+
+  public int idOf(String role) {
+    Integer id = ids.get(role);
+    return id != null ? id : -1;
+  }
+
+  public int size() {
+    return names.size();
+  }
+
+  public List<String> getNames() {
+    return names;
+  }
+
+  public long[] closureOf(int roleId) {
+    return roleId >= 0 ? closures[roleId] : NONE;
+  }
+
+  /**
+   * 보유 권한을 계층까지 확장한 비트셋. 같은 권한 조합 ID 에 대해서는 한 번만 계산한다.
+   */
+  public long[] expand(int authoritySetId, Collection<? extends GrantedAuthority> authorities) {
+    boolean cacheable = authoritySetId > AuthoritySetRegistry.UNKNOWN && authoritySetId <= AuthoritySetRegistry.MAX_SETS;
+    if (cacheable) {
+      long[] cached = expandedByAuthoritySet.get(authoritySetId);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    long[] bits = new long[(names.size() + 63) >>> 6];
+    for (GrantedAuthority authority : authorities) {
+      Integer id = ids.get(authority.getAuthority());
+      if (id != null) {
+        long[] closure = closures[id];
+        for (int i = 0; i < bits.length; i++) {
+          bits[i] |= closure[i];
+        }
+      }
+    }
+    if (cacheable) {
+      expandedByAuthoritySet.compareAndSet(authoritySetId, null, bits);
+    }
+    return bits;
+  }
+
+  public static boolean contains(long[] bits, int roleId) {
+    int word = roleId >>> 6;
+    return roleId >= 0 && word < bits.length && (bits[word] & (1L << roleId)) != 0;
+  }
+}
@@ -0,0 +1,201 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 자주 쓰는 단순 표현식을 SpEL 없이 평가할 수 있는 {@link RuleExpression} 으로 바꾼다.
+ * <p>
+ * {@code permitAll}, {@code denyAll}, {@code authenticated}, {@code anonymous}, {@code isAuthenticated()},
+ * {@code isAnonymous()}, {@code hasRole}, {@code hasAnyRole}, {@code hasAuthority}, {@code hasAnyAuthority},
+ * {@code hasIpAddress} 와 이들을 괄호, {@code and}/{@code or}({@code &&}/{@code ||}) 로 묶은 식만 인식한다. 그 밖의 식(부정, 메서드
+ * 호출, 변수 참조 등)은 빈 값을 돌려주며 SpEL 로 평가해야 한다.
+ */
+public final class RuleClassifier {
+
+  private static final String ROLE_PREFIX = "ROLE_";
+
+  private final List<String> tokens;
+  private int position;
+
+  private RuleClassifier(List<String> tokens) {
+    this.tokens = tokens;
+  }
+
+  public static Optional<RuleExpression> classify(String expression) {
+    if (expression == null) {
+      return Optional.empty();
+    }
+    List<String> tokens = tokenize(expression);
+    if (tokens == null || tokens.isEmpty()) {
+      return Optional.empty();
+    }
+    RuleClassifier classifier = new RuleClassifier(tokens);
+    RuleExpression parsed = classifier.or();
+    if (parsed == null || classifier.position != tokens.size()) {
+      return Optional.empty();
+    }
+    return Optional.of(parsed);
+  }
+
+  private RuleExpression or() {
+    List<RuleExpression> children = new ArrayList<>();
+    do {
+      RuleExpression child = and();
+      if (child == null) {
+        return null;
+      }
+      add(children, child, RuleExpression.Kind.ANY_OF);
+    } while (accept("or") || accept("||"));
+    return RuleExpression.composite(RuleExpression.Kind.ANY_OF, children);
+  }
+
+  private RuleExpression and() {
+    List<RuleExpression> children = new ArrayList<>();
+    do {
+      RuleExpression child = primary();
+      if (child == null) {
+        return null;
+      }
+      add(children, child, RuleExpression.Kind.ALL_OF);
+    } while (accept("and") || accept("&&"));
+    return RuleExpression.composite(RuleExpression.Kind.ALL_OF, children);
+  }
+
+  private static void add(List<RuleExpression> children, RuleExpression child, RuleExpression.Kind kind) {
+    if (child.getKind() == kind) {
+      children.addAll(child.getChildren());
+    } else {
+      children.add(child);
+    }
+  }
+
+  private RuleExpression primary() {
+    if (accept("(")) {
+      RuleExpression inner = or();
+      return inner != null && accept(")") ? inner : null;
+    }
+    String name = next();
+    if (name == null || !Character.isJavaIdentifierStart(name.charAt(0))) {
+      return null;
+    }
+    List<String> arguments = accept("(") ? arguments() : null;
+    return atom(name, arguments);
+  }
+
+  private List<String> arguments() {
+    List<String> arguments = new ArrayList<>();
+    if (accept(")")) {
+      return arguments;
+    }
+    do {
+      String token = next();
+      if (token == null || !isLiteral(token)) {
+        return null;
+      }
+      arguments.add(token.substring(1));
+    } while (accept(","));
+    return accept(")") ? arguments : null;
+  }
+
+  private static RuleExpression atom(String name, List<String> arguments) {
+    if (arguments == null) {
+      return switch (name) {
+        case "permitAll" -> RuleExpression.of(RuleExpression.Kind.PERMIT_ALL);
+        case "denyAll" -> RuleExpression.of(RuleExpression.Kind.DENY_ALL);
+        case "authenticated" -> RuleExpression.of(RuleExpression.Kind.AUTHENTICATED);
+        case "anonymous" -> RuleExpression.of(RuleExpression.Kind.ANONYMOUS);
+        default -> null;
+      };
+    }
+    if (arguments.isEmpty()) {
+      return switch (name) {
+        case "isAuthenticated" -> RuleExpression.of(RuleExpression.Kind.AUTHENTICATED);
+        case "isAnonymous" -> RuleExpression.of(RuleExpression.Kind.ANONYMOUS);
+        default -> null;
+      };
+    }
+    boolean single = arguments.size() == 1;
+    return switch (name) {
+      case "hasRole" -> single ? RuleExpression.of(RuleExpression.Kind.HAS_ANY_AUTHORITY, roles(arguments)) : null;
+      case "hasAnyRole" -> RuleExpression.of(RuleExpression.Kind.HAS_ANY_AUTHORITY, roles(arguments));
+      case "hasAuthority" -> single ? RuleExpression.of(RuleExpression.Kind.HAS_ANY_AUTHORITY, arguments) : null;
+      case "hasAnyAuthority" -> RuleExpression.of(RuleExpression.Kind.HAS_ANY_AUTHORITY, arguments);
+      case "hasIpAddress" -> single ? RuleExpression.of(RuleExpression.Kind.HAS_IP_ADDRESS, arguments) : null;
+      default -> null;
+    };
+  }
+
+  // SecurityExpressionRoot 와 같이 이미 ROLE_ 로 시작하면 접두어를 붙이지 않는다.
+  private static List<String> roles(List<String> arguments) {
+    return arguments.stream().map(role -> role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role).toList();
+  }
+
+  private boolean accept(String token) {
+    if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(token)) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private String next() {
+    return position < tokens.size() ? tokens.get(position++) : null;
+  }
+
+  private static boolean isLiteral(String token) {
+    return token.charAt(0) == '\'';
+  }
+
+  /**
+   * 식별자, 괄호, 쉼표, {@code &&}, {@code ||}, 문자열 리터럴만 허용한다. 문자열 리터럴은 앞에 {@code '} 를 붙인 값으로 돌려주며, 그
+   * 밖의 문자가 있으면 null 을 돌려준다.
+   */
+  static List<String> tokenize(String expression) {
+    List<String> tokens = new ArrayList<>();
+    int i = 0;
+    int length = expression.length();
+    while (i < length) {
+      char c = expression.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '(' || c == ')' || c == ',') {
+        tokens.add(String.valueOf(c));
+        i++;
+      } else if ((c == '&' || c == '|') && i + 1 < length && expression.charAt(i + 1) == c) {
+        tokens.add(expression.substring(i, i + 2));
+        i += 2;
+      } else if (c == '\'' || c == '"') {
+        StringBuilder literal = new StringBuilder("'");
+        i++;
+        while (true) {
+          if (i >= length) {
+            return null;
+          }
+          char ch = expression.charAt(i++);
+          if (ch == c) {
+            // SpEL 은 따옴표를 두 번 써서 이스케이프한다.
+            if (i < length && expression.charAt(i) == c) {
+              literal.append(c);
+              i++;
+              continue;
+            }
+            break;
+          }
+          literal.append(ch);
+        }
+        tokens.add(literal.toString());
+      } else if (Character.isJavaIdentifierStart(c)) {
+        int start = i;
+        while (i < length && Character.isJavaIdentifierPart(expression.charAt(i))) {
+          i++;
+        }
+        tokens.add(expression.substring(start, i));
+      } else {
+        return null;
+      }
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,13 @@
+package io.security.springsecuritymaster.security.policy;
+
+/**
+ * 규칙이 어떤 방식으로 평가되는지. 정책을 컴파일할 때 정해진다.
+ */
+public enum RuleEvaluation {
+  // "ROLE_" 로 시작하는 권한 규칙. 역할 비트셋으로 검사한다.
+  ROLE_BITS,
+  // RuleClassifier 가 인식한 단순 표현식. SpEL 없이 직접 만든 manager 로 검사한다.
+  NATIVE,
+  // 그 밖의 표현식. SpEL 로 평가한다.
+  SPEL
+}
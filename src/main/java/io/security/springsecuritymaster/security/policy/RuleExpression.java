@@ -0,0 +1,77 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * {@link RuleClassifier} 가 단순 표현식을 파싱한 결과.
+ */
+@Getter
+public final class RuleExpression {
+
+  public enum Kind {
+    PERMIT_ALL, DENY_ALL, AUTHENTICATED, ANONYMOUS, HAS_ANY_AUTHORITY, HAS_IP_ADDRESS, ALL_OF, ANY_OF
+  }
+
+  private final Kind kind;
+  // HAS_ANY_AUTHORITY 의 권한 이름(hasRole 은 ROLE_ 접두어를 붙인 값) 또는 HAS_IP_ADDRESS 의 주소
+  private final List<String> values;
+  // ALL_OF, ANY_OF 의 하위 식
+  private final List<RuleExpression> children;
+
+  private RuleExpression(Kind kind, List<String> values, List<RuleExpression> children) {
+    this.kind = kind;
+    this.values = values;
+    this.children = children;
+  }
+
+  static RuleExpression of(Kind kind) {
+    return new RuleExpression(kind, Collections.emptyList(), Collections.emptyList());
+  }
+
+  static RuleExpression of(Kind kind, List<String> values) {
+    return new RuleExpression(kind, List.copyOf(values), Collections.emptyList());
+  }
+
+  static RuleExpression composite(Kind kind, List<RuleExpression> children) {
+    return children.size() == 1 ? children.get(0) : new RuleExpression(kind, Collections.emptyList(), List.copyOf(children));
+  }
+
+  /**
+   * 결과가 사용자의 권한 조합만으로 결정되는지 여부. true 이면 DecisionTable 에 결과를 저장할 수 있다.
+   */
+  public boolean isAuthorityOnly() {
+    return switch (kind) {
+      case PERMIT_ALL, DENY_ALL, HAS_ANY_AUTHORITY -> true;
+      case AUTHENTICATED, ANONYMOUS, HAS_IP_ADDRESS -> false;
+      case ALL_OF, ANY_OF -> children.stream().allMatch(RuleExpression::isAuthorityOnly);
+    };
+  }
+
+  /**
+   * 식에 등장하는 모든 권한 이름. RoleIndex 에 색인해야 한다.
+   */
+  public Set<String> getAuthorities() {
+    Set<String> authorities = new LinkedHashSet<>();
+    collectAuthorities(authorities);
+    return authorities;
+  }
+
+  private void collectAuthorities(Set<String> authorities) {
+    if (kind == Kind.HAS_ANY_AUTHORITY) {
+      authorities.addAll(values);
+    }
+    children.forEach(child -> child.collectAuthorities(authorities));
+  }
+
+  @Override
+  public String toString() {
+    return switch (kind) {
+      case ALL_OF, ANY_OF -> kind + children.toString();
+      default -> values.isEmpty() ? kind.toString() : kind + values.toString();
+    };
+  }
+}
@@ -0,0 +1,68 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.access.expression.SecurityExpressionHandler;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * URL 과 메서드 표현식 규칙이 함께 쓰는 expression handler 와, 표현식 문자열별로 한 번만 파싱한 {@link Expression} 을 보관한다.
+ * <p>
+ * 파서는 SpEL 컴파일러 모드로 설정되어 있어 같은 표현식이 여러 번 평가되면 바이트코드로 컴파일된다. 정책을 다시 읽어도 캐시는
+ * 유지되므로 컴파일된 표현식을 계속 재사용한다.
+ */
+@Component
+public class SecurityExpressionCache {
+
+  private final DefaultHttpSecurityExpressionHandler expressionHandler = new DefaultHttpSecurityExpressionHandler();
+  private final DefaultMethodSecurityExpressionHandler methodExpressionHandler = new DefaultMethodSecurityExpressionHandler();
+  private final SpelExpressionParser expressionParser;
+  private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+  public SecurityExpressionCache(RoleHierarchy roleHierarchy,
+      @Value("${security.policy.spel-compiler-mode:MIXED}") SpelCompilerMode compilerMode) {
+    this.expressionParser = new SpelExpressionParser(
+        new SpelParserConfiguration(compilerMode, SecurityExpressionCache.class.getClassLoader()));
+    this.expressionHandler.setRoleHierarchy(roleHierarchy);
+    this.expressionHandler.setExpressionParser(expressionParser);
+    this.methodExpressionHandler.setRoleHierarchy(roleHierarchy);
+    this.methodExpressionHandler.setExpressionParser(expressionParser);
+  }
+
+  public Expression get(String expression) {
+    return expressions.computeIfAbsent(expression, expressionParser::parseExpression);
+  }
+
+  public SecurityExpressionHandler<RequestAuthorizationContext> getExpressionHandler() {
+    return expressionHandler;
+  }
+
+  /**
+   * 주어진 계층으로 평가하는 URL expression handler. 테넌트처럼 기본 계층과 다른 계층을 쓰는 정책에 쓴다. 파서를 공유하므로 이미
+   * 파싱하거나 컴파일한 표현식을 그대로 쓸 수 있다.
+   */
+  public SecurityExpressionHandler<RequestAuthorizationContext> expressionHandler(RoleHierarchy roleHierarchy) {
+    DefaultHttpSecurityExpressionHandler handler = new DefaultHttpSecurityExpressionHandler();
+    handler.setRoleHierarchy(roleHierarchy);
+    handler.setExpressionParser(expressionParser);
+    return handler;
+  }
+
+  public SecurityExpressionHandler<MethodInvocation> getMethodExpressionHandler() {
+    return methodExpressionHandler;
+  }
+
+  public int size() {
+    return expressions.size();
+  }
+}
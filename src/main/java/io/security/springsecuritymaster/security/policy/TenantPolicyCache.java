@@ -0,0 +1,200 @@
+package io.security.springsecuritymaster.security.policy;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 테넌트별로 컴파일한 정책 스냅샷. 처음 요청이 온 테넌트만 읽고, 추정 크기의 합이 예산을 넘으면 가장 오래 쓰지 않은 테넌트부터 버린다.
+ * <p>
+ * 적중은 잠그지 않는다. 읽기와 다시 읽기는 테넌트마다 따로 잠그므로 한 테넌트를 다시 읽는 동안에도 다른 테넌트의 요청은 그대로
+ * 처리되고, 그 테넌트의 요청도 새 스냅샷으로 바뀔 때까지 이전 스냅샷으로 처리된다. 마지막 사용 시각은
+ * {@value #TOUCH_GRANULARITY_NANOS} ns 단위로만 갱신하므로 LRU 는 근사값이다.
+ */
+@Slf4j
+public class TenantPolicyCache {
+
+  private static final long TOUCH_GRANULARITY_NANOS = 1_000_000L;
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong usedBytes = new AtomicLong();
+  private final Function<String, PolicySnapshot> loader;
+  private final long budgetBytes;
+  private final long retryBackoffNanos;
+  private final LongSupplier clock;
+
+  /**
+   * @param loader 테넌트의 정책을 읽어 컴파일한다. 실패하면 예외를 던진다.
+   * @param retryBackoff 처음 읽기에 실패한 테넌트를 다시 읽기까지 기다릴 시간. 연속으로 실패하면 배로 늘린다.
+   */
+  public TenantPolicyCache(Function<String, PolicySnapshot> loader, long budgetBytes, Duration retryBackoff) {
+    this(loader, budgetBytes, retryBackoff, System::nanoTime);
+  }
+
+  TenantPolicyCache(Function<String, PolicySnapshot> loader, long budgetBytes, Duration retryBackoff,
+      LongSupplier clock) {
+    this.loader = loader;
+    this.budgetBytes = budgetBytes;
+    this.retryBackoffNanos = retryBackoff.toNanos();
+    this.clock = clock;
+  }
+
+  /**
+   * 정책을 아직 읽지 못한 테넌트는 {@link PolicySnapshot#EMPTY} 를 돌려준다. 호출하는 쪽은 이를 거부로 다룬다.
+   */
+  public PolicySnapshot get(String tenant) {
+    Entry entry = entries.get(tenant);
+    if (entry != null) {
+      PolicySnapshot policy = entry.policy;
+      if (policy != null) {
+        entry.touch(clock.getAsLong());
+        return policy;
+      }
+    } else {
+      entry = entries.computeIfAbsent(tenant, Entry::new);
+    }
+    return load(entry);
+  }
+
+  /**
+   * 캐시에 있는 테넌트만 다시 읽는다. 읽는 데 실패하면 이전 스냅샷을 그대로 둔다.
+   */
+  public void reload(String tenant) {
+    Entry entry = entries.get(tenant);
+    if (entry == null) {
+      return;
+    }
+    synchronized (entry) {
+      if (entry.evicted) {
+        return;
+      }
+      try {
+        install(entry, loader.apply(tenant));
+      } catch (RuntimeException e) {
+        log.warn("Failed to reload URL policy of tenant '{}', keeping the previous policy", tenant, e);
+        return;
+      }
+    }
+    evictOver(entry);
+  }
+
+  public void invalidate(String tenant) {
+    Entry entry = entries.get(tenant);
+    if (entry != null) {
+      evict(entry);
+    }
+  }
+
+  /**
+   * @return 테넌트의 정책이 이미 올라와 있어 {@link #get(String)} 이 DB 를 읽지 않는지
+   */
+  public boolean isCached(String tenant) {
+    Entry entry = entries.get(tenant);
+    return entry != null && entry.policy != null;
+  }
+
+  public Set<String> getCachedTenants() {
+    return entries.values().stream()
+        .filter(entry -> entry.policy != null)
+        .map(entry -> entry.tenant)
+        .collect(Collectors.toSet());
+  }
+
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  private PolicySnapshot load(Entry entry) {
+    PolicySnapshot policy;
+    synchronized (entry) {
+      if (entry.evicted) {
+        return get(entry.tenant);
+      }
+      if (entry.policy != null) {
+        return entry.policy;
+      }
+      long now = clock.getAsLong();
+      if (entry.failures > 0 && now - entry.nextAttemptAt < 0) {
+        return PolicySnapshot.EMPTY;
+      }
+      try {
+        policy = loader.apply(entry.tenant);
+      } catch (RuntimeException e) {
+        entry.failures++;
+        entry.nextAttemptAt = now + (retryBackoffNanos << Math.min(entry.failures - 1, 6));
+        log.warn("Failed to load URL policy of tenant '{}' ({} in a row), denying its requests",
+            entry.tenant, entry.failures, e);
+        return PolicySnapshot.EMPTY;
+      }
+      install(entry, policy);
+    }
+    evictOver(entry);
+    return policy;
+  }
+
+  private void install(Entry entry, PolicySnapshot policy) {
+    long bytes = policy.estimatedBytes();
+    usedBytes.addAndGet(bytes - entry.bytes);
+    entry.bytes = bytes;
+    entry.policy = policy;
+    entry.failures = 0;
+    entry.lastAccess = clock.getAsLong();
+  }
+
+  // 방금 읽은 테넌트는 예산보다 크더라도 남긴다.
+  private void evictOver(Entry keep) {
+    while (usedBytes.get() > budgetBytes) {
+      Entry coldest = null;
+      for (Entry entry : entries.values()) {
+        if (entry != keep && entry.policy != null
+            && (coldest == null || entry.lastAccess - coldest.lastAccess < 0)) {
+          coldest = entry;
+        }
+      }
+      if (coldest == null) {
+        return;
+      }
+      evict(coldest);
+      log.debug("Evicted URL policy of tenant '{}' to stay within {} bytes", coldest.tenant, budgetBytes);
+    }
+  }
+
+  private void evict(Entry entry) {
+    synchronized (entry) {
+      if (entry.evicted) {
+        return;
+      }
+      entry.evicted = true;
+      entries.remove(entry.tenant, entry);
+      usedBytes.addAndGet(-entry.bytes);
+      entry.policy = null;
+    }
+  }
+
+  private static final class Entry {
+
+    private final String tenant;
+    private volatile PolicySnapshot policy;
+    private volatile long lastAccess;
+    private volatile boolean evicted;
+    private long bytes;
+    private int failures;
+    private long nextAttemptAt;
+
+    private Entry(String tenant) {
+      this.tenant = tenant;
+    }
+
+    // 적중마다 쓰면 여러 코어가 같은 캐시 라인을 주고받는다.
+    private void touch(long now) {
+      if (now - lastAccess > TOUCH_GRANULARITY_NANOS) {
+        lastAccess = now;
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.security.springsecuritymaster.security.policy;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청의 테넌트를 정한다. Host 를 {@code security.tenant.hosts} 의 매핑에서 먼저 찾고, 매핑에 없는 Host 이면 설정한 헤더를 본다.
+ * 둘 다 해시 조회 한 번이다.
+ * <p>
+ * 헤더는 클라이언트가 마음대로 보낼 수 있으므로 {@code security.tenant.trusted-proxies} 에 있는 주소에서 온 요청일 때만 읽고, 값이
+ * 자원이 등록된 테넌트이거나 매핑에 있는 테넌트일 때만 받아들인다. 아무 값이나 받으면 요청마다 없는 테넌트의 정책을 DB 에서 읽게 된다.
+ * 어디에도 해당하지 않으면 {@code null}(기본 테넌트)이다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TenantResolver {
+
+  private final ResourcesRepository resourcesRepository;
+  private volatile Set<String> knownTenants = Set.of();
+  private volatile Map<String, String> tenantsByHost = Map.of();
+  private volatile IpRadixTree trustedProxies = IpRadixTree.EMPTY;
+
+  // 비어 있으면 Host 로만 정한다.
+  @Value("${security.tenant.header:}")
+  private String header = "";
+
+  // 헤더를 믿을 프록시 주소나 CIDR. 비어 있으면 헤더를 읽지 않는다.
+  @Value("${security.tenant.trusted-proxies:}")
+  private String[] trustedProxyRanges = new String[0];
+
+  // "host=tenant" 목록
+  @Value("${security.tenant.hosts:}")
+  private String[] hostMappings = new String[0];
+
+  @PostConstruct
+  public void reload() {
+    Map<String, String> hosts = new HashMap<>();
+    for (String mapping : hostMappings) {
+      int separator = mapping.indexOf('=');
+      if (separator <= 0 || separator == mapping.length() - 1) {
+        log.warn("Ignoring invalid tenant host mapping '{}'", mapping);
+        continue;
+      }
+      hosts.put(mapping.substring(0, separator).trim().toLowerCase(Locale.ROOT), mapping.substring(separator + 1).trim());
+    }
+    IpRadixTree.Builder proxies = IpRadixTree.builder(trustedProxyRanges.length);
+    for (String range : trustedProxyRanges) {
+      try {
+        proxies.insert(range.trim(), 0);
+      } catch (IllegalArgumentException e) {
+        log.warn("Ignoring invalid trusted proxy '{}'", range);
+      }
+    }
+    if (!header.isEmpty() && trustedProxyRanges.length == 0) {
+      log.warn("Tenant header '{}' is ignored until security.tenant.trusted-proxies is set", header);
+    }
+    Set<String> tenants = new HashSet<>(resourcesRepository.findTenants());
+    tenants.addAll(hosts.values());
+    tenantsByHost = Map.copyOf(hosts);
+    knownTenants = Set.copyOf(tenants);
+    trustedProxies = proxies.build((inherited, own) -> own);
+  }
+
+  /**
+   * @return 테넌트, 기본 테넌트이면 {@code null}
+   */
+  public String resolve(HttpServletRequest request) {
+    String headerValue = header.isEmpty() || trustedProxies.lookup(request.getRemoteAddr()) == IpRadixTree.NO_MATCH
+        ? null : request.getHeader(header);
+    return resolve(headerValue, request.getServerName());
+  }
+
+  public String resolve(ServerHttpRequest request) {
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+    String headerValue = header.isEmpty() || remoteAddress == null
+        || trustedProxies.lookup(remoteAddress.getAddress()) == IpRadixTree.NO_MATCH
+        ? null : request.getHeaders().getFirst(header);
+    return resolve(headerValue, request.getURI().getHost());
+  }
+
+  /**
+   * @param headerValue 믿을 수 있는 프록시가 보낸 헤더 값. 없으면 {@code null}
+   * @param host 포트를 뺀 Host
+   */
+  public String resolve(String headerValue, String host) {
+    if (host != null && !tenantsByHost.isEmpty()) {
+      String tenant = tenantsByHost.get(host);
+      if (tenant == null) {
+        tenant = tenantsByHost.get(host.toLowerCase(Locale.ROOT));
+      }
+      if (tenant != null) {
+        return tenant;
+      }
+    }
+    return headerValue != null && knownTenants.contains(headerValue) ? headerValue : null;
+  }
+
+  public Set<String> getKnownTenants() {
+    return knownTenants;
+  }
+}
@@ -3,7 +3,10 @@ package io.security.springsecuritymaster.security.provider;
 import io.security.springsecuritymaster.domain.dto.AccountContext;
 import io.security.springsecuritymaster.security.details.FormAuthenticationDetails;
 import io.security.springsecuritymaster.security.exception.SecretException;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
 import io.security.springsecuritymaster.security.service.FormUserDetailsService;
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,6 +22,8 @@ public class FormAuthenticationProvider implements AuthenticationProvider {
 
   private final FormUserDetailsService formUserDetailsService;
   private final PasswordEncoder passwordEncoder;
+  private final AuthoritySetRegistry authoritySetRegistry;
+  private final AccountGrants accountGrants;
 
   @Override
   public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -36,7 +41,11 @@ public class FormAuthenticationProvider implements AuthenticationProvider {
     if (secretKey == null || !secretKey.equals("secret")) {
       throw new SecretException("Invalid Securet : " + secretKey);
     }
-    return new UsernamePasswordAuthenticationToken(accountContext.getAccountDto(), null, accountContext.getAuthorities());
+    AccountAuthenticationToken authenticationToken =
+        new AccountAuthenticationToken(accountContext.getAccountDto(), null, accountContext.getAuthorities());
+    authenticationToken.setAuthoritySetId(authoritySetRegistry.intern(accountContext.getAuthorities()));
+    accountGrants.attach(authenticationToken);
+    return authenticationToken;
   }
 
   @Override
@@ -1,6 +1,7 @@
 package io.security.springsecuritymaster.security.provider;
 
 import io.security.springsecuritymaster.domain.dto.AccountContext;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
 import io.security.springsecuritymaster.security.service.FormUserDetailsService;
 import io.security.springsecuritymaster.security.token.RestAuthenticationToken;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ public class RestAuthenticationProvider implements AuthenticationProvider {
 
   private final FormUserDetailsService formUserDetailsService;
   private final PasswordEncoder passwordEncoder;
+  private final AccountGrants accountGrants;
 
   @Override
   public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -29,7 +31,10 @@ public class RestAuthenticationProvider implements AuthenticationProvider {
       throw new BadCredentialsException("Invalid Password : " + password);
     }
 
-    return new RestAuthenticationToken(accountContext.getAuthorities(), accountContext.getAccountDto(), null);
+    RestAuthenticationToken authenticationToken =
+        new RestAuthenticationToken(accountContext.getAuthorities(), accountContext.getAccountDto(), null);
+    accountGrants.attach(authenticationToken);
+    return authenticationToken;
   }
 
   @Override
@@ -0,0 +1,211 @@
+package io.security.springsecuritymaster.security.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * 다른 서비스가 보낸 (권한, 메서드, 경로) 묶음을 현재 URL 정책으로 판단한다.
+ * <p>
+ * 요청 본문은 권한 조합을 한 번씩만 적고 튜플은 그 번호로 가리킨다.
+ * <pre>
+ * {"authorities": [["ROLE_USER"], ["ROLE_ADMIN", "ROLE_DBA"], null],
+ *  "tuples": [[0, "GET", "/user"], [1, "POST", "/admin/users"], [2, "GET", "/"]]}
+ * </pre>
+ * {@code null} 조합은 익명 사용자다. 계정에 직접 허용한 자원까지 보려면 조합을 {@code {"accountId": 7, "authorities": [...]}}
+ * 형태로 보낸다. 계정 ID 가 없는 조합에는 직접 허용이 적용되지 않는다. 본문은 스트리밍으로 읽고, 판단은 {@link CustomDynamicAuthorizationManager#isGranted}
+ * 로 하므로 튜플마다 요청 객체나 세션을 만들지 않는다. 계정 ID 가 있는 조합은 그 계정이 속한 테넌트의 정책으로, 나머지는 기본
+ * 테넌트의 정책으로 판단하며, 한 묶음에서는 테넌트마다 스냅샷 하나를 쓴다.
+ */
+@RequiredArgsConstructor
+@Service
+public class AuthorizationDecisionService {
+
+  private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("anonymous", "anonymousUser",
+      AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+  private final CustomDynamicAuthorizationManager authorizationManager;
+  private final AuthoritySetRegistry authoritySetRegistry;
+  private final AccountGrants accountGrants;
+  private final UserRepository userRepository;
+  private final ObjectMapper objectMapper;
+
+  @Value("${security.decision.max-batch-size:10000}")
+  private int maxBatchSize = 10_000;
+
+  /**
+   * @return 튜플 순서대로 허용 여부
+   * @throws IllegalArgumentException 본문 형식이 맞지 않거나 묶음이 너무 클 때
+   */
+  public boolean[] decide(InputStream body) throws IOException {
+    List<Authentication> subjects = new ArrayList<>();
+    List<Tuple> tuples = new ArrayList<>();
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        parser.nextToken();
+        switch (field) {
+          case "authorities" -> readAuthorities(parser, subjects);
+          case "tuples" -> readTuples(parser, tuples);
+          default -> parser.skipChildren();
+        }
+      }
+    }
+
+    PolicySnapshot[] policies = policies(subjects);
+    boolean[] granted = new boolean[tuples.size()];
+    for (int i = 0; i < granted.length; i++) {
+      Tuple tuple = tuples.get(i);
+      if (tuple.subject >= subjects.size()) {
+        throw new IllegalArgumentException("Tuple " + i + " refers to unknown authorities " + tuple.subject);
+      }
+      granted[i] = authorizationManager.isGranted(policies[tuple.subject], subjects.get(tuple.subject), tuple.method,
+          tuple.path);
+    }
+    return granted;
+  }
+
+  // 계정은 묶음마다 한 번에 읽는다. 찾지 못한 계정은 기본 테넌트로 본다.
+  private PolicySnapshot[] policies(List<Authentication> subjects) {
+    Set<Long> accountIds = new HashSet<>();
+    for (Authentication subject : subjects) {
+      if (subject.getPrincipal() instanceof AccountDto account) {
+        accountIds.add(account.getId());
+      }
+    }
+    Map<Long, String> tenants = new HashMap<>();
+    if (!accountIds.isEmpty()) {
+      userRepository.findAllById(accountIds).forEach(account -> tenants.put(account.getId(), account.getTenant()));
+    }
+
+    Map<String, PolicySnapshot> byTenant = new HashMap<>();
+    PolicySnapshot[] policies = new PolicySnapshot[subjects.size()];
+    for (int i = 0; i < policies.length; i++) {
+      String tenant = null;
+      if (subjects.get(i).getPrincipal() instanceof AccountDto account) {
+        tenant = tenants.get(account.getId());
+        account.setTenant(tenant);
+      }
+      policies[i] = byTenant.computeIfAbsent(tenant, authorizationManager::getSnapshot);
+    }
+    return policies;
+  }
+
+  private void readAuthorities(JsonParser parser, List<Authentication> subjects) throws IOException {
+    expect(parser.currentToken(), JsonToken.START_ARRAY);
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == JsonToken.VALUE_NULL) {
+        subjects.add(ANONYMOUS);
+        continue;
+      }
+      if (token == JsonToken.START_OBJECT) {
+        Long accountId = null;
+        List<String> authorities = List.of();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          token = parser.nextToken();
+          switch (field) {
+            case "accountId" -> {
+              expect(token, JsonToken.VALUE_NUMBER_INT);
+              accountId = parser.getLongValue();
+            }
+            case "authorities" -> authorities = readAuthorityList(parser);
+            default -> parser.skipChildren();
+          }
+        }
+        subjects.add(subject(accountId, authorities));
+        continue;
+      }
+      subjects.add(subject(null, readAuthorityList(parser)));
+    }
+  }
+
+  private static List<String> readAuthorityList(JsonParser parser) throws IOException {
+    expect(parser.currentToken(), JsonToken.START_ARRAY);
+    List<String> authorities = new ArrayList<>(4);
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      expect(token, JsonToken.VALUE_STRING);
+      authorities.add(parser.getText());
+    }
+    return authorities;
+  }
+
+  private void readTuples(JsonParser parser, List<Tuple> tuples) throws IOException {
+    expect(parser.currentToken(), JsonToken.START_ARRAY);
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (tuples.size() == maxBatchSize) {
+        throw new IllegalArgumentException("Batch exceeds " + maxBatchSize + " tuples");
+      }
+      expect(token, JsonToken.START_ARRAY);
+      expect(parser.nextToken(), JsonToken.VALUE_NUMBER_INT);
+      int subject = parser.getIntValue();
+      expect(parser.nextToken(), JsonToken.VALUE_STRING);
+      HttpMethod method = HttpMethod.valueOf(parser.getText());
+      expect(parser.nextToken(), JsonToken.VALUE_STRING);
+      String path = parser.getText();
+      expect(parser.nextToken(), JsonToken.END_ARRAY);
+      if (subject < 0) {
+        throw new IllegalArgumentException("Negative authorities index " + subject);
+      }
+      tuples.add(new Tuple(subject, method, path));
+    }
+  }
+
+  // 조합 ID 를 미리 정해 두어 튜플마다 권한 집합을 다시 해시하지 않게 한다. 호출자가 보낸 조합은 전역 레지스트리에 등록하지
+  // 않는다. 실제 세션이 이미 등록한 조합이면 그 캐시를 함께 쓰고, 아니면 캐시 없이 평가한다.
+  private Authentication subject(Long accountId, List<String> authorities) {
+    List<GrantedAuthority> grantedAuthorities = AuthorityUtils.createAuthorityList(authorities);
+    String name = String.join(",", authorities);
+    Object principal = accountId != null ? AccountDto.builder().id(accountId).username(name).build() : name;
+    AccountAuthenticationToken token = new AccountAuthenticationToken(principal, null, grantedAuthorities);
+    token.setAuthoritySetId(authoritySetRegistry.lookup(grantedAuthorities));
+    accountGrants.attach(token);
+    return token;
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) {
+    if (actual != expected) {
+      throw new IllegalArgumentException("Expected " + expected + " but was " + actual);
+    }
+  }
+
+  private static final class Tuple {
+
+    private final int subject;
+    private final HttpMethod method;
+    private final String path;
+
+    private Tuple(int subject, HttpMethod method, String path) {
+      this.subject = subject;
+      this.method = method;
+      this.path = path;
+    }
+  }
+}
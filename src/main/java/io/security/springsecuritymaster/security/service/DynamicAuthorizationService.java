@@ -1,7 +1,8 @@
 package io.security.springsecuritymaster.security.service;
 
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
 import io.security.springsecuritymaster.security.mapper.UrlRoleMapper;
-import java.util.Map;
+import java.util.List;
 
 public class DynamicAuthorizationService {
 
@@ -11,7 +12,15 @@ public class DynamicAuthorizationService {
     this.delegate = delegate;
   }
 
-  public Map<String, String> getUrlRoleMappings() {
+  public List<UrlRoleDto> getUrlRoleMappings() {
     return delegate.getUrlRoleMappings();
   }
+
+  public List<UrlRoleDto> getUrlRoleMappings(Long resourceId) {
+    return delegate.getUrlRoleMappings(resourceId);
+  }
+
+  public List<UrlRoleDto> getTenantUrlRoleMappings(String tenant) {
+    return delegate.getTenantUrlRoleMappings(tenant);
+  }
 }
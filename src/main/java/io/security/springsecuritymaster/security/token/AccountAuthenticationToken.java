@@ -0,0 +1,19 @@
+package io.security.springsecuritymaster.security.token;
+
+import java.util.Collection;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+@Getter
+@Setter
+public class AccountAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+  // 세션 역직렬화 후에는 0 으로 돌아오며, 다음 인가 시점에 다시 할당된다.
+  private transient int authoritySetId;
+
+  public AccountAuthenticationToken(Object principal, Object credentials, Collection<? extends GrantedAuthority> authorities) {
+    super(principal, credentials, authorities);
+  }
+}
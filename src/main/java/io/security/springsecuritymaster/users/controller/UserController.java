@@ -2,7 +2,9 @@ package io.security.springsecuritymaster.users.controller;
 
 import io.security.springsecuritymaster.domain.dto.AccountDto;
 import io.security.springsecuritymaster.domain.entity.Account;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
 import io.security.springsecuritymaster.users.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,10 +18,13 @@ public class UserController {
   private final UserService service;
   private final PasswordEncoder passwordEncoder;
   private final ModelMapper modelMapper;
+  private final TenantResolver tenantResolver;
 
   @PostMapping("/signup")
-  public String signup(AccountDto accountDto) {
+  public String signup(AccountDto accountDto, HttpServletRequest request) {
     Account account = modelMapper.map(accountDto, Account.class);
+    // 폼 값이 아니라 가입한 Host 로 테넌트를 정한다.
+    account.setTenant(tenantResolver.resolve(request));
     account.setPassword(passwordEncoder.encode(account.getPassword()));
     service.createUser(account);
 
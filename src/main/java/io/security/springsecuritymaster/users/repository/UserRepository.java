@@ -1,10 +1,19 @@
 package io.security.springsecuritymaster.users.repository;
 
 import io.security.springsecuritymaster.domain.entity.Account;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface UserRepository extends JpaRepository<Account, Long> {
 
   Optional<Account> findByUsername(String username);
+
+  List<Account> findAllByUsernameIn(Collection<String> usernames);
+
+  // tenant 가 null 이면 기본 테넌트(tenant is null)의 계정
+  Page<Account> findAllByTenant(String tenant, Pageable pageable);
 }
@@ -3,7 +3,7 @@ package io.security.springsecuritymaster;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "security.policy.snapshot-file=")
 class SpringsecuritymasterApplicationTests {
 
 	@Test
@@ -0,0 +1,66 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.AccountSummaryDto;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccessIndex;
+import io.security.springsecuritymaster.security.policy.PolicyRule;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+class AccessIndexServiceImplTest {
+
+  private final CustomDynamicAuthorizationManager authorizationManager = mock(CustomDynamicAuthorizationManager.class);
+  private final AccountRoleRepository accountRoleRepository = mock(AccountRoleRepository.class);
+  private final AccessIndexServiceImpl service = new AccessIndexServiceImpl(authorizationManager,
+      accountRoleRepository, mock(UserRepository.class));
+
+  @BeforeEach
+  void setUp() {
+    // 기본 테넌트는 /reports 를 관리자에게만, acme 는 사용자에게도 연다.
+    given(authorizationManager.getSnapshot(null)).willReturn(snapshot("ROLE_ADMIN"));
+    given(authorizationManager.getSnapshot("acme")).willReturn(snapshot("ROLE_USER"));
+  }
+
+  @Test
+  void indexIsBuiltFromTheTenantsPolicy() {
+    assertThat(service.findByPattern(null, "/reports")).singleElement()
+        .extracting(AccessIndex.Entry::getRoles).isEqualTo(Set.of("ROLE_ADMIN"));
+    assertThat(service.findByPattern("acme", "/reports")).singleElement()
+        .extracting(AccessIndex.Entry::getRoles).isEqualTo(Set.of("ROLE_ADMIN", "ROLE_USER"));
+    assertThat(service.findByRole(null, "ROLE_USER")).isEmpty();
+    assertThat(service.findByRole("acme", "ROLE_USER")).hasSize(1);
+  }
+
+  @Test
+  void accountsAreLookedUpWithinTheTenant() {
+    Page<AccountSummaryDto> page = new PageImpl<>(List.of(new AccountSummaryDto(9L, "acme-user")));
+    given(accountRoleRepository.findAccountsByRoleNameIn(eq("acme"), any(), any())).willReturn(page);
+
+    assertThat(service.findAccounts("acme", "/reports", PageRequest.of(0, 20))).isSameAs(page);
+    verify(accountRoleRepository).findAccountsByRoleNameIn(eq("acme"), eq(Set.of("ROLE_ADMIN", "ROLE_USER")),
+        any());
+  }
+
+  private static PolicySnapshot snapshot(String role) {
+    return PolicySnapshot.builder()
+        .roleIndex(RoleIndex.build(List.of("ROLE_ADMIN", "ROLE_USER"), "ROLE_ADMIN > ROLE_USER\n"))
+        .add(PolicyRule.builder().resourceId(1L).pattern("/reports").attribute(role).build())
+        .build();
+  }
+}
@@ -0,0 +1,68 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.AccountRoleRepository;
+import io.security.springsecuritymaster.domain.dto.AccessSimulationRequest;
+import io.security.springsecuritymaster.domain.entity.Account;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class AccessSimulationServiceImplTest {
+
+  private final CustomDynamicAuthorizationManager authorizationManager = mock(CustomDynamicAuthorizationManager.class);
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private AccessSimulationServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AccessSimulationServiceImpl(authorizationManager, mock(AccountRoleRepository.class),
+        new ObjectMapper(), new AuthoritySetRegistry(), new AccountGrants(mock(AccountResourcesRepository.class)),
+        userRepository);
+    service.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.destroy();
+  }
+
+  @Test
+  void accountsAreEvaluatedWithTheirTenantsPolicy() throws Exception {
+    PolicySnapshot defaultPolicy = PolicySnapshot.builder().build();
+    PolicySnapshot acmePolicy = PolicySnapshot.builder().build();
+    given(authorizationManager.getSnapshot(null)).willReturn(defaultPolicy);
+    given(authorizationManager.getSnapshot("acme")).willReturn(acmePolicy);
+    given(authorizationManager.isGranted(eq(acmePolicy), any(), any(HttpMethod.class), anyString())).willReturn(true);
+    Account account = new Account("alice", null, 0);
+    account.setId(1L);
+    account.setTenant("acme");
+    given(userRepository.findAllByUsernameIn(any())).willReturn(List.of(account));
+
+    AccessSimulationRequest request = new AccessSimulationRequest(List.of("alice"), List.of(List.of("ROLE_USER")),
+        List.of(new AccessSimulationRequest.Target("GET", "/reports")));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    service.simulate(request, out);
+
+    assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).containsExactly(
+        "{\"subject\":\"alice\",\"method\":\"GET\",\"path\":\"/reports\",\"granted\":true}",
+        "{\"subject\":\"ROLE_USER\",\"method\":\"GET\",\"path\":\"/reports\",\"granted\":false}");
+  }
+}
@@ -0,0 +1,65 @@
+package io.security.springsecuritymaster.admin.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.RoleRepository;
+import io.security.springsecuritymaster.domain.entity.Resources;
+import io.security.springsecuritymaster.domain.entity.Role;
+import io.security.springsecuritymaster.domain.entity.RoleResources;
+import io.security.springsecuritymaster.security.event.ResourcesChangedEvent;
+import io.security.springsecuritymaster.security.event.RoleResourcesChangedEvent;
+import io.security.springsecuritymaster.security.event.TenantPolicyChangedEvent;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+class ResourcesServiceImplTest {
+
+  private final ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final ResourcesServiceImpl resourcesService = new ResourcesServiceImpl(resourcesRepository,
+      mock(AccountResourcesRepository.class), mock(RoleRepository.class), eventPublisher);
+
+  @Test
+  void tenantResourceChangesPublishOnlyTheTenantEvent() {
+    Resources resources = Resources.builder().resourceName("/reports").resourceType("url").orderNum(1)
+        .tenant("acme").build();
+    resources.getRoleResourcesList().add(RoleResources.builder().resources(resources)
+        .role(Role.builder().roleName("ROLE_USER").tenant("acme").build()).build());
+    given(resourcesRepository.save(resources)).willReturn(resources);
+    given(resourcesRepository.findById(7L)).willReturn(Optional.of(resources));
+
+    resourcesService.createResources(resources);
+    resourcesService.deleteResources(7L);
+
+    ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+    verify(eventPublisher, times(2)).publishEvent(events.capture());
+    assertThat(events.getAllValues()).allSatisfy(event -> {
+      assertThat(event).isInstanceOf(TenantPolicyChangedEvent.class);
+      assertThat(((TenantPolicyChangedEvent) event).getTenant()).isEqualTo("acme");
+    });
+  }
+
+  @Test
+  void defaultResourceChangesPublishResourceAndRoleEvents() {
+    Resources resources = Resources.builder().resourceName("/reports").resourceType("url").orderNum(1).build();
+    resources.getRoleResourcesList().add(RoleResources.builder().resources(resources)
+        .role(Role.builder().roleName("ROLE_USER").build()).build());
+    given(resourcesRepository.save(any(Resources.class))).willReturn(resources);
+
+    resourcesService.createResources(resources);
+
+    ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+    verify(eventPublisher, times(2)).publishEvent(events.capture());
+    assertThat(events.getAllValues()).hasExactlyElementsOfTypes(ResourcesChangedEvent.class,
+        RoleResourcesChangedEvent.class);
+  }
+}
@@ -0,0 +1,72 @@
+package io.security.springsecuritymaster.security.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+  @Test
+  void rejectsWhenFullAndReusesSlotsAfterDrain() {
+    AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+    assertThat(buffer.capacity()).isEqualTo(4);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(4)).isFalse();
+
+    List<Integer> drained = new ArrayList<>();
+    assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+    assertThat(drained).containsExactly(0, 1);
+
+    assertThat(buffer.offer(5)).isTrue();
+    assertThat(buffer.offer(6)).isTrue();
+    assertThat(buffer.offer(7)).isFalse();
+    assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+    assertThat(drained).containsExactly(0, 1, 2, 3, 5, 6);
+    assertThat(buffer.poll()).isNull();
+  }
+
+  @Test
+  void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+    AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+    int producers = 4;
+    int perProducer = 50_000;
+    AtomicInteger accepted = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(producers);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    for (int p = 0; p < producers; p++) {
+      int base = p * perProducer;
+      executor.execute(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          if (buffer.offer(base + i)) {
+            accepted.incrementAndGet();
+          }
+        }
+        done.countDown();
+      });
+    }
+
+    Set<Integer> consumed = new HashSet<>();
+    List<Integer> batch = new ArrayList<>();
+    while (done.getCount() > 0 || buffer.size() > 0) {
+      buffer.drainTo(batch, 256);
+      consumed.addAll(batch);
+      batch.clear();
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(consumed).hasSize(accepted.get());
+  }
+}
@@ -0,0 +1,90 @@
+package io.security.springsecuritymaster.security.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.manager.DynamicMethodAuthorizationManager;
+import io.security.springsecuritymaster.security.matcher.StaticResourceMatcher;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.IpAccessPolicy;
+import io.security.springsecuritymaster.security.policy.ReloadableRoleHierarchy;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.session.SessionRegistryImpl;
+
+class SecurityCacheRefresherTest {
+
+  private static final String HIERARCHY = "ROLE_ADMIN > ROLE_USER\n";
+
+  private final CustomDynamicAuthorizationManager authorizationManager = mock(CustomDynamicAuthorizationManager.class);
+  private final DynamicMethodAuthorizationManager methodAuthorizationManager =
+      mock(DynamicMethodAuthorizationManager.class);
+  private final StaticResourceMatcher staticResourceMatcher = mock(StaticResourceMatcher.class);
+  private final ReloadableRoleHierarchy roleHierarchy = new ReloadableRoleHierarchy("");
+  private final SessionRegistry sessionRegistry = new SessionRegistryImpl();
+  private final SecurityCacheRefresher refresher = new SecurityCacheRefresher(authorizationManager,
+      methodAuthorizationManager, staticResourceMatcher, roleHierarchy, mock(IpAccessPolicy.class),
+      mock(AccountGrants.class), mock(TenantResolver.class), sessionRegistry);
+
+  @Test
+  void refreshAllReadsHierarchyOnceForUrlMethodAndHierarchy() {
+    given(authorizationManager.loadHierarchy()).willReturn(HIERARCHY);
+
+    refresher.refreshAll();
+
+    verify(authorizationManager, times(1)).loadHierarchy();
+    assertThat(roleHierarchy.getHierarchy()).isEqualTo(HIERARCHY);
+    verify(authorizationManager).reload(HIERARCHY);
+    verify(methodAuthorizationManager).reload(HIERARCHY);
+    verify(authorizationManager, never()).reload();
+    verify(methodAuthorizationManager, never()).reload();
+  }
+
+  @Test
+  void cyclicHierarchyKeepsAllThreeOnThePreviousHierarchyAndFails() {
+    given(authorizationManager.loadHierarchy()).willReturn("ROLE_A > ROLE_B\nROLE_B > ROLE_A\n");
+
+    assertThatThrownBy(refresher::refreshAll).isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(roleHierarchy.getHierarchy()).isEmpty();
+    verify(authorizationManager, never()).reload(anyString());
+    verify(methodAuthorizationManager, never()).reload(anyString());
+  }
+
+  @Test
+  void failedHierarchyReadIsRethrownAfterOtherCachesAreRefreshed() {
+    given(authorizationManager.loadHierarchy()).willThrow(new IllegalStateException("Loading URL policy timed out"));
+
+    assertThatThrownBy(refresher::refreshAll).isInstanceOf(IllegalStateException.class);
+
+    verify(staticResourceMatcher).reload();
+    verify(authorizationManager, never()).reload(anyString());
+    verify(methodAuthorizationManager, never()).reload(anyString());
+  }
+
+  @Test
+  void rolesChangeExpiresOnlyThatAccountsSessions() {
+    AccountDto changed = AccountDto.builder().id(1L).username("user").build();
+    AccountDto other = AccountDto.builder().id(2L).username("manager").build();
+    sessionRegistry.registerNewSession("s1", changed);
+    sessionRegistry.registerNewSession("s2", changed);
+    sessionRegistry.registerNewSession("s3", other);
+    SecurityChangeSet changes = new SecurityChangeSet();
+    new AccountRolesChangedEvent(1L, "user").applyTo(changes);
+
+    refresher.refresh(changes);
+
+    assertThat(sessionRegistry.getSessionInformation("s1").isExpired()).isTrue();
+    assertThat(sessionRegistry.getSessionInformation("s2").isExpired()).isTrue();
+    assertThat(sessionRegistry.getSessionInformation("s3").isExpired()).isFalse();
+  }
+}
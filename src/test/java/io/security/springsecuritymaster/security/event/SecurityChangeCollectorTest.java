@@ -0,0 +1,103 @@
+package io.security.springsecuritymaster.security.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.admin.service.PolicyVersionService;
+import io.security.springsecuritymaster.security.policy.PolicyVersionWatcher;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class SecurityChangeCollectorTest {
+
+  private final PolicyVersionService policyVersionService = mock(PolicyVersionService.class);
+  private final PolicyVersionWatcher policyVersionWatcher = mock(PolicyVersionWatcher.class);
+  private final SecurityCacheRefresher refresher = mock(SecurityCacheRefresher.class);
+  private final SecurityChangeCollector collector =
+      new SecurityChangeCollector(policyVersionService, policyVersionWatcher, refresher);
+
+  @BeforeEach
+  void beginTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+    given(policyVersionService.bump()).willReturn(8L);
+  }
+
+  @AfterEach
+  void endTransaction() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void changesInOneTransactionAreAppliedOnceAfterCommit() {
+    collector.on(new ResourcesChangedEvent(1L));
+    collector.on(new RoleResourcesChangedEvent(1L, 3L));
+    collector.on(new ResourcesChangedEvent(2L));
+    collector.on(new AccountRolesChangedEvent(5L, "user"));
+
+    verify(refresher, never()).refresh(any());
+    complete(true);
+
+    ArgumentCaptor<SecurityChangeSet> changes = ArgumentCaptor.forClass(SecurityChangeSet.class);
+    verify(refresher, times(1)).refresh(changes.capture());
+    assertThat(changes.getValue().getResourceIds()).containsExactly(1L, 2L);
+    assertThat(changes.getValue().getUsernames()).containsExactly("user");
+    assertThat(changes.getValue().isFullReload()).isFalse();
+    verify(policyVersionService, times(1)).bump();
+    verify(policyVersionWatcher).markApplied(8L);
+  }
+
+  @Test
+  void rolledBackChangesAreNotApplied() {
+    collector.on(new RoleChangedEvent(1L));
+    complete(false);
+
+    verify(refresher, never()).refresh(any());
+    verify(policyVersionWatcher, never()).markApplied(8L);
+  }
+
+  @Test
+  void accountOnlyChangesDoNotBumpThePolicyVersion() {
+    collector.on(new AccountRolesChangedEvent(5L, "user"));
+    complete(true);
+
+    verify(refresher).refresh(any());
+    verify(policyVersionService, never()).bump();
+  }
+
+  @Test
+  void tenantChangesBumpOnlyThatTenantsVersion() {
+    given(policyVersionService.bump("acme")).willReturn(3L);
+
+    collector.on(new TenantPolicyChangedEvent("acme"));
+    collector.on(new TenantPolicyChangedEvent("acme"));
+    complete(true);
+
+    verify(refresher).refresh(any());
+    verify(policyVersionService, never()).bump();
+    verify(policyVersionService, times(1)).bump("acme");
+    verify(policyVersionWatcher).markApplied("acme", 3L);
+  }
+
+  private static void complete(boolean committed) {
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    if (committed) {
+      TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+    }
+    TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+        committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+  }
+}
@@ -0,0 +1,90 @@
+package io.security.springsecuritymaster.security.manager;
+
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.security.matcher.UrlMatchingMode;
+import io.security.springsecuritymaster.security.metrics.AuthorizationMetrics;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.IpAccessPolicy;
+import io.security.springsecuritymaster.security.policy.PolicySnapshotFile;
+import io.security.springsecuritymaster.security.policy.SecurityExpressionCache;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+/**
+ * 테스트와 벤치마크가 같이 쓰는 {@link CustomDynamicAuthorizationManager} 조립.
+ * 따로 넘기지 않은 협력 객체는 빈 값을 돌려주는 stub 으로 채운다.
+ */
+public final class AuthorizationManagerFixture {
+
+  private final ResourcesRepository resourcesRepository;
+  private RoleHierarchyService roleHierarchyService = stub(RoleHierarchyService.class, "");
+  private AuthoritySetRegistry authoritySetRegistry = new AuthoritySetRegistry();
+  private PolicySnapshotFile policySnapshotFile = new PolicySnapshotFile("");
+  private AccountGrants accountGrants = new AccountGrants(stub(AccountResourcesRepository.class, List.of()));
+  private TenantResolver tenantResolver;
+
+  private AuthorizationManagerFixture(ResourcesRepository resourcesRepository) {
+    this.resourcesRepository = resourcesRepository;
+    this.tenantResolver = new TenantResolver(resourcesRepository);
+  }
+
+  public static AuthorizationManagerFixture of(ResourcesRepository resourcesRepository) {
+    return new AuthorizationManagerFixture(resourcesRepository);
+  }
+
+  public AuthorizationManagerFixture roleHierarchyService(RoleHierarchyService roleHierarchyService) {
+    this.roleHierarchyService = roleHierarchyService;
+    return this;
+  }
+
+  public AuthorizationManagerFixture authoritySetRegistry(AuthoritySetRegistry authoritySetRegistry) {
+    this.authoritySetRegistry = authoritySetRegistry;
+    return this;
+  }
+
+  public AuthorizationManagerFixture policySnapshotFile(PolicySnapshotFile policySnapshotFile) {
+    this.policySnapshotFile = policySnapshotFile;
+    return this;
+  }
+
+  public AuthorizationManagerFixture accountGrants(AccountGrants accountGrants) {
+    this.accountGrants = accountGrants;
+    return this;
+  }
+
+  public AuthorizationManagerFixture tenantResolver(TenantResolver tenantResolver) {
+    this.tenantResolver = tenantResolver;
+    return this;
+  }
+
+  /**
+   * 정책을 읽어 들인 manager. 다 쓰면 {@link CustomDynamicAuthorizationManager#destroy()} 로 정리한다.
+   */
+  public CustomDynamicAuthorizationManager build() {
+    CustomDynamicAuthorizationManager manager = new CustomDynamicAuthorizationManager(
+        new HandlerMappingIntrospector(), resourcesRepository,
+        new SecurityExpressionCache(new RoleHierarchyImpl(), SpelCompilerMode.MIXED),
+        authoritySetRegistry, new AuthorizationMetrics(), roleHierarchyService,
+        policySnapshotFile, new IpAccessPolicy(resourcesRepository), accountGrants, tenantResolver);
+    manager.setMatchingMode(UrlMatchingMode.PATH_PATTERN);
+    manager.mapping();
+    return manager;
+  }
+
+  /**
+   * 반환 타입이 맞는 메서드는 모두 {@code result} 를, 나머지는 null 을 돌려주는 stub.
+   * 벤치마크에서도 쓰도록 Mockito 없이 JDK proxy 로 만든다.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T stub(Class<T> type, Object result) {
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+        (proxy, method, args) -> method.getReturnType().isInstance(result) ? result : null);
+  }
+}
@@ -0,0 +1,85 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class CustomDynamicAuthorizationManagerConcurrencyTest {
+
+  @Test
+  void checkNeverSeesHalfBuiltPolicyDuringReload() throws Exception {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    List<UrlRoleDto> resources = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      resources.add(new UrlRoleDto("/module" + i + "/**", "ROLE_USER"));
+    }
+    resources.add(new UrlRoleDto("/admin/**", "ROLE_ADMIN"));
+    given(resourcesRepository.findAllResources()).willReturn(resources);
+
+    CustomDynamicAuthorizationManager manager = AuthorizationManagerFixture.of(resourcesRepository).build();
+
+    Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicLong checks = new AtomicLong();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    int readers = Runtime.getRuntime().availableProcessors();
+    ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+    CountDownLatch done = new CountDownLatch(readers + 1);
+
+    executor.execute(() -> {
+      try {
+        while (running.get()) {
+          manager.reload();
+        }
+      } catch (Throwable e) {
+        failure.compareAndSet(null, e);
+      } finally {
+        done.countDown();
+      }
+    });
+    for (int i = 0; i < readers; i++) {
+      executor.execute(() -> {
+        try {
+          while (running.get()) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/users");
+            AuthorizationDecision decision = manager.check(() -> user, new RequestAuthorizationContext(request));
+            if (decision.isGranted()) {
+              throw new AssertionError("admin page granted to ROLE_USER during reload");
+            }
+            checks.incrementAndGet();
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+
+    TimeUnit.SECONDS.sleep(3);
+    running.set(false);
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    executor.shutdownNow();
+
+    assertThat(failure.get()).isNull();
+    assertThat(checks.get()).isPositive();
+  }
+}
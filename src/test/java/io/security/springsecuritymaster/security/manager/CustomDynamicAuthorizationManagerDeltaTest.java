@@ -0,0 +1,136 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.security.policy.PolicyRule;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import io.security.springsecuritymaster.security.policy.PolicySnapshotFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+class CustomDynamicAuthorizationManagerDeltaTest {
+
+  private final Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+  private final List<UrlRoleDto> rows = new ArrayList<>();
+  private final PolicySnapshotFile policySnapshotFile = spy(new PolicySnapshotFile(""));
+  private ResourcesRepository resourcesRepository;
+  private CustomDynamicAuthorizationManager manager;
+
+  @BeforeEach
+  void setUp() {
+    rows.add(new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"));
+    rows.add(new UrlRoleDto(2L, "/user/**", null, 5, "ROLE_USER"));
+    rows.add(new UrlRoleDto(3L, "/reports", HttpMethod.GET, 1, "ROLE_USER"));
+    resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willAnswer(invocation -> List.copyOf(rows));
+    given(resourcesRepository.findResources(anyLong())).willAnswer(invocation -> {
+      Long id = invocation.getArgument(0);
+      return rows.stream().filter(row -> row.getResourceId().equals(id)).toList();
+    });
+
+    manager = AuthorizationManagerFixture.of(resourcesRepository)
+        .policySnapshotFile(policySnapshotFile)
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    manager.destroy();
+  }
+
+  @Test
+  void upsertInsertsByOrderNumAndReusesUntouchedRules() {
+    PolicySnapshot before = manager.getSnapshot();
+    rows.add(new UrlRoleDto(4L, "/user/private", null, 7, "ROLE_ADMIN"));
+
+    manager.upsertResource(4L);
+
+    PolicySnapshot after = manager.getSnapshot();
+    assertThat(after.getRules()).extracting(PolicyRule::getResourceId).containsExactly(1L, 4L, 2L, 3L);
+    assertThat(after.getRules().get(0)).isSameAs(before.getRules().get(0));
+    assertThat(after.getRules().get(2)).isSameAs(before.getRules().get(1));
+    assertThat(manager.isGranted(after, user, HttpMethod.GET, "/user/private")).isFalse();
+    assertThat(manager.isGranted(after, user, HttpMethod.GET, "/user/home")).isTrue();
+    assertThat(before.getRules()).hasSize(3);
+    verify(resourcesRepository, times(1)).findAllResources();
+  }
+
+  @Test
+  void upsertOfExistingResourceReplacesItsRules() {
+    rows.set(1, new UrlRoleDto(2L, "/member/**", null, 5, "ROLE_ADMIN"));
+
+    manager.upsertResource(2L);
+
+    PolicySnapshot policy = manager.getSnapshot();
+    assertThat(policy.getRules()).extracting(PolicyRule::getPattern).containsExactly("/admin/**", "/member/**",
+        "/reports");
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/user/home")).isTrue();
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/member/home")).isFalse();
+  }
+
+  @Test
+  void upsertResourcesAppliesChangeSetInOneSwap() {
+    rows.set(1, new UrlRoleDto(2L, "/user/**", null, 5, "ROLE_ADMIN"));
+    rows.add(new UrlRoleDto(4L, "/user/private", null, 7, "ROLE_USER"));
+    rows.remove(0);
+    clearInvocations(policySnapshotFile);
+
+    manager.upsertResources(Set.of(1L, 2L, 4L));
+
+    PolicySnapshot policy = manager.getSnapshot();
+    assertThat(policy.getRules()).extracting(PolicyRule::getResourceId).containsExactly(4L, 2L, 3L);
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/user/private")).isTrue();
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/user/home")).isFalse();
+    verify(policySnapshotFile, times(1)).save(policy);
+    verify(resourcesRepository, times(1)).findAllResources();
+  }
+
+  @Test
+  void removeResourceDropsOnlyItsRules() {
+    manager.removeResource(1L);
+
+    PolicySnapshot policy = manager.getSnapshot();
+    assertThat(policy.getRules()).extracting(PolicyRule::getResourceId).containsExactly(2L, 3L);
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/admin/users")).isTrue();
+    assertThat(manager.isGranted(policy, user, HttpMethod.POST, "/reports")).isFalse();
+  }
+
+  @Test
+  void reconcileKeepsPolicyWhenDeltasMatchDatabase() {
+    rows.add(new UrlRoleDto(4L, "/user/private", null, 7, "ROLE_ADMIN"));
+    rows.add(new UrlRoleDto(4L, "/user/private", null, 7, "ROLE_MANAGER"));
+    manager.upsertResource(4L);
+    PolicySnapshot afterDelta = manager.getSnapshot();
+
+    manager.reconcile();
+
+    assertThat(manager.getSnapshot()).isSameAs(afterDelta);
+  }
+
+  @Test
+  void reconcileRebuildsOnDrift() {
+    PolicySnapshot before = manager.getSnapshot();
+    rows.remove(0);
+
+    manager.reconcile();
+
+    assertThat(manager.getSnapshot()).isNotSameAs(before);
+    assertThat(manager.getSnapshot().getRules()).extracting(PolicyRule::getResourceId).containsExactly(2L, 3L);
+  }
+}
@@ -0,0 +1,94 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class CustomDynamicAuthorizationManagerMethodTest {
+
+  private final Authentication admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+  private final Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+  private CustomDynamicAuthorizationManager manager;
+
+  @BeforeEach
+  void setUp() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", HttpMethod.POST, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/orders", HttpMethod.GET, 10, "ROLE_USER"),
+        new UrlRoleDto(3L, "/orders", HttpMethod.DELETE, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(4L, "/legacy", HttpMethod.valueOf(""), 10, "ROLE_ADMIN"),
+        new UrlRoleDto(5L, "/custom", HttpMethod.valueOf("FOO"), 10, "ROLE_ADMIN")));
+
+    manager = AuthorizationManagerFixture.of(resourcesRepository).build();
+  }
+
+  @Test
+  void methodSpecificRuleDoesNotOpenPathForOtherMethods() {
+    assertThat(granted(admin, "POST", "/admin/users")).isTrue();
+    assertThat(granted(user, "POST", "/admin/users")).isFalse();
+    for (String method : List.of("GET", "PUT", "DELETE")) {
+      assertThat(granted(admin, method, "/admin/users")).as(method).isFalse();
+    }
+
+    assertThat(granted(user, "GET", "/orders")).isTrue();
+    assertThat(granted(user, "DELETE", "/orders")).isFalse();
+    assertThat(granted(admin, "PUT", "/orders")).isFalse();
+  }
+
+  @Test
+  void preflightAndHeadFallThroughOtherMethodRules() {
+    assertThat(granted(user, "OPTIONS", "/admin/users")).isTrue();
+    assertThat(granted(user, "HEAD", "/orders")).isTrue();
+
+    manager.setOtherMethodFallthrough(Set.of());
+    assertThat(granted(user, "OPTIONS", "/admin/users")).isFalse();
+  }
+
+  @Test
+  void otherMethodDenyCanBeTurnedOff() {
+    manager.setDenyOtherMethods(false);
+
+    assertThat(granted(admin, "GET", "/admin/users")).isTrue();
+    assertThat(granted(user, "POST", "/admin/users")).isFalse();
+  }
+
+  @Test
+  void pathsWithoutRulesStillFallThrough() {
+    assertThat(granted(user, "GET", "/home")).isTrue();
+  }
+
+  @Test
+  void blankOrUnknownMethodsApplyToEveryMethod() {
+    for (String method : List.of("GET", "POST")) {
+      assertThat(granted(admin, method, "/legacy")).as(method).isTrue();
+      assertThat(granted(user, method, "/legacy")).as(method).isFalse();
+      assertThat(granted(admin, method, "/custom")).as(method).isTrue();
+      assertThat(granted(user, method, "/custom")).as(method).isFalse();
+    }
+  }
+
+  // 서블릿 경로와 요청 없는 평가가 같은 답을 내는지도 함께 본다.
+  private boolean granted(Authentication authentication, String method, String path) {
+    AuthorizationDecision decision = manager.check(() -> authentication,
+        new RequestAuthorizationContext(new MockHttpServletRequest(method, path)));
+    boolean granted = decision != null && decision.isGranted();
+    assertThat(manager.isGranted(manager.getSnapshot(), authentication, HttpMethod.valueOf(method), path))
+        .as("%s %s %s", authentication.getName(), method, path)
+        .isEqualTo(granted);
+    return granted;
+  }
+}
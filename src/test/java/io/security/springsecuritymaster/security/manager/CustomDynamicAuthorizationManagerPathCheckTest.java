@@ -0,0 +1,72 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.security.policy.PolicySnapshot;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class CustomDynamicAuthorizationManagerPathCheckTest {
+
+  private static final List<String> PATHS = List.of(
+      "/", "/user", "/manager", "/admin", "/admin/users/7", "/db", "/api/orders/3", "/unknown");
+
+  @Test
+  void pathOnlyCheckAgreesWithRequestCheck() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/user", null, 5, "ROLE_USER"),
+        new UrlRoleDto(3L, "/manager", null, 5, "hasRole('MANAGER') or hasRole('ADMIN')"),
+        new UrlRoleDto(4L, "/db", HttpMethod.GET, 5, "hasRole('DBA') and hasIpAddress('127.0.0.1')"),
+        new UrlRoleDto(5L, "/api/orders/{id}", null, 5, "#id == '3' and isAuthenticated()"),
+        new UrlRoleDto(6L, "/", null, 0, "permitAll")));
+
+    CustomDynamicAuthorizationManager manager = AuthorizationManagerFixture.of(resourcesRepository).build();
+    PolicySnapshot policy = manager.getSnapshot();
+
+    for (Authentication authentication : List.of(
+        new TestingAuthenticationToken("user", null, "ROLE_USER"),
+        new TestingAuthenticationToken("manager", null, "ROLE_MANAGER", "ROLE_DBA"),
+        new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"))) {
+      for (String path : PATHS) {
+        // 요청 정보가 필요한 hasIpAddress 는 경로만으로 평가할 때 거부되므로 원격 주소가 맞지 않는 요청과 비교한다.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        AuthorizationDecision expected = manager.check(() -> authentication, new RequestAuthorizationContext(request));
+
+        assertThat(manager.isGranted(policy, authentication, HttpMethod.GET, path))
+            .as("%s -> %s", authentication.getName(), path)
+            .isEqualTo(expected != null && expected.isGranted());
+      }
+    }
+  }
+
+  @Test
+  void rulesThatCannotBeMatchedOrEvaluatedWithoutRequestFailClosed() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        // PathPattern 은 중간의 ** 를 허용하지 않아 MVC 매칭으로 넘어간다.
+        new UrlRoleDto(1L, "/files/**/*.pdf", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/reports/{id}", null, 5, "hasRole('USER') and request.getHeader('X-Report') == #id")));
+
+    CustomDynamicAuthorizationManager manager = AuthorizationManagerFixture.of(resourcesRepository).build();
+    PolicySnapshot policy = manager.getSnapshot();
+    Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+    Authentication admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/files/2024/q1/report.pdf")).isFalse();
+    assertThat(manager.isGranted(policy, admin, HttpMethod.GET, "/files/2024/q1/report.pdf")).isTrue();
+    assertThat(manager.isGranted(policy, user, HttpMethod.GET, "/reports/7")).isFalse();
+  }
+}
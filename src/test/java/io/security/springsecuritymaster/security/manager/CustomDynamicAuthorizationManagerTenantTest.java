@@ -0,0 +1,130 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.admin.service.RoleHierarchyService;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CustomDynamicAuthorizationManagerTenantTest {
+
+  private static final String PROXY = "10.0.0.1";
+
+  // 기본 테넌트 사용자와 /admin 규칙이 없는 acme 테넌트의 사용자
+  private final Authentication defaultUser = new TestingAuthenticationToken(
+      AccountDto.builder().id(1L).username("user").build(), null, "ROLE_USER");
+  private final Authentication acmeUser = new TestingAuthenticationToken(
+      AccountDto.builder().id(2L).username("acme-user").tenant("acme").build(), null, "ROLE_USER");
+  private TenantResolver tenantResolver;
+  private CustomDynamicAuthorizationManager manager;
+
+  @BeforeEach
+  void setUp() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN")));
+    given(resourcesRepository.findTenants()).willReturn(List.of("acme"));
+    given(resourcesRepository.findAllResourcesByTenant("acme")).willReturn(List.of(
+        new UrlRoleDto(2L, "/reports", null, 10, "ROLE_USER"),
+        new UrlRoleDto(3L, "/audit", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(4L, "/ledger", null, 10, "hasRole('ADMIN') and request.method == 'GET'")));
+    RoleHierarchyService roleHierarchyService = mock(RoleHierarchyService.class);
+    given(roleHierarchyService.findAllHierarchy("acme")).willReturn("ROLE_SUPER > ROLE_ADMIN\n");
+
+    tenantResolver = new TenantResolver(resourcesRepository);
+    ReflectionTestUtils.setField(tenantResolver, "header", "X-Tenant-Id");
+    ReflectionTestUtils.setField(tenantResolver, "trustedProxyRanges", new String[]{PROXY});
+    ReflectionTestUtils.setField(tenantResolver, "hostMappings", new String[]{"acme.example.com=acme"});
+    tenantResolver.reload();
+
+    manager = AuthorizationManagerFixture.of(resourcesRepository)
+        .roleHierarchyService(roleHierarchyService)
+        .tenantResolver(tenantResolver)
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    manager.destroy();
+  }
+
+  @Test
+  void tenantHeaderFromClientCannotPickAnotherTenantsPolicy() {
+    MockHttpServletRequest spoofed = request("localhost", "203.0.113.5");
+    spoofed.addHeader("X-Tenant-Id", "acme");
+
+    assertThat(tenantResolver.resolve(spoofed)).isNull();
+    assertThat(granted(defaultUser, spoofed)).isFalse();
+  }
+
+  @Test
+  void accountOfAnotherTenantIsDeniedEvenWhenProxyForwardsTheHeader() {
+    MockHttpServletRequest forwarded = request("localhost", PROXY);
+    forwarded.addHeader("X-Tenant-Id", "acme");
+
+    assertThat(tenantResolver.resolve(forwarded)).isEqualTo("acme");
+    assertThat(granted(defaultUser, forwarded)).isFalse();
+    assertThat(granted(acmeUser, forwarded)).isTrue();
+    assertThat(granted(acmeUser, request("localhost", "203.0.113.5"))).isFalse();
+  }
+
+  @Test
+  void hostMappingWinsOverForwardedHeader() {
+    MockHttpServletRequest request = request("acme.example.com", PROXY);
+    request.addHeader("X-Tenant-Id", "other");
+
+    assertThat(tenantResolver.resolve(request)).isEqualTo("acme");
+    assertThat(granted(defaultUser, request)).isFalse();
+  }
+
+  @Test
+  void spelAndRoleRulesOfTenantFollowTheTenantHierarchy() {
+    Authentication acmeSuper = new TestingAuthenticationToken(
+        AccountDto.builder().id(3L).username("acme-super").tenant("acme").build(), null, "ROLE_SUPER");
+
+    assertThat(granted(acmeSuper, request("acme.example.com", "203.0.113.5", "/audit"))).isTrue();
+    assertThat(granted(acmeSuper, request("acme.example.com", "203.0.113.5", "/ledger"))).isTrue();
+    assertThat(granted(acmeUser, request("acme.example.com", "203.0.113.5", "/ledger"))).isFalse();
+  }
+
+  @Test
+  void coldTenantMayBlockUntilLoaded() {
+    assertThat(manager.mayBlock(acmeUser, null)).isFalse();
+    assertThat(manager.mayBlock(acmeUser, "acme")).isTrue();
+
+    granted(acmeUser, request("acme.example.com", "203.0.113.5"));
+
+    assertThat(manager.mayBlock(acmeUser, "acme")).isFalse();
+  }
+
+  private static MockHttpServletRequest request(String serverName, String remoteAddr) {
+    return request(serverName, remoteAddr, "/admin/users");
+  }
+
+  private static MockHttpServletRequest request(String serverName, String remoteAddr, String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.GET.name(), path);
+    request.setServerName(serverName);
+    request.setRemoteAddr(remoteAddr);
+    return request;
+  }
+
+  private boolean granted(Authentication authentication, MockHttpServletRequest request) {
+    AuthorizationDecision decision = manager.check(() -> authentication, new RequestAuthorizationContext(request));
+    return decision != null && decision.isGranted();
+  }
+}
@@ -0,0 +1,51 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.security.policy.RoleIndex;
+import io.security.springsecuritymaster.security.policy.RuleClassifier;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class NativeRuleAuthorizationManagersTest {
+
+  private final RoleIndex roleIndex = RoleIndex.build(List.of("ROLE_USER"), "");
+  private final AuthoritySetRegistry authoritySetRegistry = new AuthoritySetRegistry();
+
+  @Test
+  void malformedIpAddressCompilesToDeny() {
+    AuthorizationManager<RequestAuthorizationContext> malformed = manager("hasIpAddress('10.0.0.0/99')");
+    AuthorizationManager<RequestAuthorizationContext> valid = manager("hasIpAddress('10.0.0.0/24')");
+
+    assertThat(granted(malformed, "10.0.0.1")).isFalse();
+    assertThat(granted(valid, "10.0.0.1")).isTrue();
+    assertThat(granted(valid, "10.0.1.1")).isFalse();
+  }
+
+  @Test
+  void malformedIpAddressOnlyDeniesItsBranch() {
+    AuthorizationManager<RequestAuthorizationContext> manager =
+        manager("hasRole('USER') or hasIpAddress('not-an-address')");
+
+    assertThat(granted(manager, "10.0.0.1")).isTrue();
+  }
+
+  private AuthorizationManager<RequestAuthorizationContext> manager(String expression) {
+    return NativeRuleAuthorizationManagers.of(RuleClassifier.classify(expression).orElseThrow(), roleIndex,
+        authoritySetRegistry);
+  }
+
+  private static boolean granted(AuthorizationManager<RequestAuthorizationContext> manager, String remoteAddr) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setRemoteAddr(remoteAddr);
+    AuthorizationDecision decision = manager.check(() -> new TestingAuthenticationToken("user", null, "ROLE_USER"),
+        new RequestAuthorizationContext(request));
+    return decision != null && decision.isGranted();
+  }
+}
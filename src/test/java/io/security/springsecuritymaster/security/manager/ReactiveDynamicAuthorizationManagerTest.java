@@ -0,0 +1,96 @@
+package io.security.springsecuritymaster.security.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.security.policy.TenantResolver;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+class ReactiveDynamicAuthorizationManagerTest {
+
+  private static final List<String> PATHS = List.of(
+      "/", "/user", "/manager", "/admin", "/admin/users/7", "/db", "/api/orders/3", "/api/orders/4", "/unknown");
+
+  private ResourcesRepository resourcesRepository;
+  private CustomDynamicAuthorizationManager servletManager;
+  private ReactiveDynamicAuthorizationManager reactiveManager;
+
+  @BeforeEach
+  void setUp() {
+    resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/user", null, 5, "ROLE_USER"),
+        new UrlRoleDto(3L, "/manager", null, 5, "hasRole('MANAGER') or hasRole('ADMIN')"),
+        new UrlRoleDto(4L, "/db", HttpMethod.GET, 5, "hasRole('DBA') and hasIpAddress('127.0.0.1')"),
+        new UrlRoleDto(5L, "/api/orders/{id}", null, 5, "#id == '3' and isAuthenticated()"),
+        new UrlRoleDto(6L, "/", null, 0, "permitAll")));
+
+    servletManager = AuthorizationManagerFixture.of(resourcesRepository).build();
+    reactiveManager = new ReactiveDynamicAuthorizationManager(servletManager,
+        new TenantResolver(resourcesRepository));
+  }
+
+  @Test
+  void sameDecisionsAsServletPath() {
+    for (Authentication authentication : List.of(
+        new AnonymousAuthenticationToken("anonymous", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+        new TestingAuthenticationToken("user", null, "ROLE_USER"),
+        new TestingAuthenticationToken("manager", null, "ROLE_MANAGER", "ROLE_DBA"),
+        new TestingAuthenticationToken("admin", null, "ROLE_ADMIN"))) {
+      for (String path : PATHS) {
+        // 요청 정보가 필요한 hasIpAddress 는 리액티브 쪽에서 거부되므로 원격 주소가 맞지 않는 요청과 비교한다.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        AuthorizationDecision expected = servletManager.check(() -> authentication,
+            new RequestAuthorizationContext(request));
+
+        assertThat(granted(Mono.just(authentication), path))
+            .as("%s -> %s", authentication.getName(), path)
+            .isEqualTo(expected != null && expected.isGranted());
+      }
+    }
+  }
+
+  @Test
+  void missingAuthenticationIsEvaluatedAsAnonymous() {
+    assertThat(granted(Mono.empty(), "/")).isTrue();
+    assertThat(granted(Mono.empty(), "/user")).isFalse();
+    assertThat(granted(Mono.empty(), "/unknown")).isTrue();
+  }
+
+  @Test
+  void reloadPicksUpNewRules() {
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(7L, "/unknown", null, 5, "ROLE_ADMIN")));
+
+    reactiveManager.reload().block();
+
+    assertThat(granted(Mono.empty(), "/unknown")).isFalse();
+  }
+
+  private boolean granted(Mono<Authentication> authentication, String path) {
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    AuthorizationDecision decision = reactiveManager.check(authentication, new AuthorizationContext(exchange)).block();
+    return decision != null && decision.isGranted();
+  }
+}
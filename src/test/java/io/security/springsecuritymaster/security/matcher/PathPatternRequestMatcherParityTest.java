@@ -0,0 +1,85 @@
+package io.security.springsecuritymaster.security.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+class PathPatternRequestMatcherParityTest {
+
+  private static final List<String> PATTERNS = List.of(
+      "/", "/css/**", "/js/**", "/images/**", "/favicon.*", "/*/icon-*", "/signup", "/login", "/logout",
+      "/denied", "/user", "/admin/**", "/admin/users/{id}", "/manager", "/db", "/api/**");
+
+  private static final List<String> PATHS = List.of(
+      "/", "/css/app.css", "/js/lib/app.js", "/images/logo.png", "/favicon.ico", "/images/icon-home",
+      "/signup", "/login", "/logout", "/denied", "/user", "/user/", "/users", "/admin", "/admin/",
+      "/admin/users", "/admin/users/7", "/admin/users/7/edit", "/manager", "/db", "/dba", "/api/user", "/unknown/path");
+
+  private static AnnotationConfigWebApplicationContext context;
+  private static HandlerMappingIntrospector introspector;
+
+  @BeforeAll
+  static void setUp() {
+    context = new AnnotationConfigWebApplicationContext();
+    context.setServletContext(new MockServletContext());
+    context.register(ParityMvcConfig.class, ParityController.class);
+    context.refresh();
+    introspector = context.getBean(HandlerMappingIntrospector.class);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    context.close();
+  }
+
+  @Test
+  void sameDecisionsAsMvcRequestMatcher() {
+    for (String pattern : PATTERNS) {
+      MvcRequestMatcher mvcRequestMatcher = new MvcRequestMatcher(introspector, pattern);
+      PathPatternRequestMatcher pathPatternRequestMatcher = PathPatternRequestMatcher.of(pattern);
+
+      for (String path : PATHS) {
+        MockHttpServletRequest request = new MockHttpServletRequest(context.getServletContext(), "GET", path);
+        MatchResult expected = mvcRequestMatcher.matcher(request);
+        MatchResult actual = pathPatternRequestMatcher.matcher(request);
+
+        assertThat(actual.isMatch()).as("%s -> %s", pattern, path).isEqualTo(expected.isMatch());
+        assertThat(actual.getVariables()).as("%s -> %s", pattern, path).isEqualTo(expected.getVariables());
+      }
+    }
+  }
+
+  @EnableWebMvc
+  @Configuration
+  static class ParityMvcConfig {
+
+  }
+
+  @RestController
+  static class ParityController {
+
+    @GetMapping({"/", "/signup", "/login", "/logout", "/denied", "/user", "/manager", "/db", "/admin/users"})
+    String page() {
+      return "page";
+    }
+
+    @GetMapping("/admin/users/{id}")
+    String user(@PathVariable Long id) {
+      return "user";
+    }
+  }
+}
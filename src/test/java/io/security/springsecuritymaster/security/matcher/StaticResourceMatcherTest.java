@@ -0,0 +1,55 @@
+package io.security.springsecuritymaster.security.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class StaticResourceMatcherTest {
+
+  @Test
+  void matchesStaticPatternsAndReloads() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findResourceNames(StaticResourceMatcher.RESOURCE_TYPE))
+        .willReturn(List.of("/css/**", "/favicon.*", "/robots.txt", "/*/icon-*"))
+        .willReturn(List.of());
+    StaticResourceMatcher matcher = new StaticResourceMatcher(resourcesRepository);
+    matcher.reload();
+
+    assertThat(matcher.matches(request("/css/app.css"))).isTrue();
+    assertThat(matcher.matches(request("/css/lib/app.css"))).isTrue();
+    assertThat(matcher.matches(request("/css"))).isTrue();
+    assertThat(matcher.matches(request("/cssx/app.css"))).isFalse();
+    assertThat(matcher.matches(request("/favicon.ico"))).isTrue();
+    assertThat(matcher.matches(request("/favicon.ico/admin"))).isFalse();
+    assertThat(matcher.matches(request("/robots.txt"))).isTrue();
+    assertThat(matcher.matches(request("/images/icon-home"))).isTrue();
+    assertThat(matcher.matches(request("/admin"))).isFalse();
+
+    matcher.reload();
+    assertThat(matcher.matches(request("/css/app.css"))).isFalse();
+  }
+
+  @Test
+  void rootWidePatternsAreIgnored() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findResourceNames(StaticResourceMatcher.RESOURCE_TYPE))
+        .willReturn(List.of("/**", "/*", "**", "/{*path}", "/*/**", "/{name}", "/js/**"));
+    StaticResourceMatcher matcher = new StaticResourceMatcher(resourcesRepository);
+    matcher.reload();
+
+    assertThat(matcher.size()).isEqualTo(1);
+    assertThat(matcher.matches(request("/js/app.js"))).isTrue();
+    assertThat(matcher.matches(request("/admin"))).isFalse();
+    assertThat(matcher.matches(request("/admin/users"))).isFalse();
+    assertThat(matcher.matches(request("/"))).isFalse();
+  }
+
+  private static MockHttpServletRequest request(String path) {
+    return new MockHttpServletRequest("GET", path);
+  }
+}
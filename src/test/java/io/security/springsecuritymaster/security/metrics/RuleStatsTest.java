@@ -0,0 +1,34 @@
+package io.security.springsecuritymaster.security.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RuleStatsTest {
+
+  @Test
+  void recordsCountsAndLatencyBuckets() {
+    RuleStats stats = new RuleStats("1|GET|/admin/**|ROLE_ADMIN");
+    for (int i = 0; i < 99; i++) {
+      stats.record(1, true, 1_000);
+    }
+    stats.record(3, false, 1_000_000);
+
+    assertThat(stats.getHitCount()).isEqualTo(100);
+    assertThat(stats.getGrantCount()).isEqualTo(99);
+    assertThat(stats.getDenyCount()).isEqualTo(1);
+    assertThat(stats.getAverageMatchersTested()).isEqualTo(1.02);
+    assertThat(stats.latencyPercentileNanos(0.5)).isEqualTo(1_024);
+    assertThat(stats.latencyPercentileNanos(1.0)).isEqualTo(1L << 20);
+  }
+
+  @Test
+  void bucketBoundariesArePowersOfTwo() {
+    assertThat(RuleStats.bucketOf(0)).isZero();
+    assertThat(RuleStats.bucketOf(1)).isZero();
+    assertThat(RuleStats.bucketOf(2)).isEqualTo(1);
+    assertThat(RuleStats.bucketOf(1023)).isEqualTo(9);
+    assertThat(RuleStats.bucketOf(1024)).isEqualTo(10);
+    assertThat(RuleStats.bucketOf(Long.MAX_VALUE)).isEqualTo(RuleStats.LATENCY_BUCKETS - 1);
+  }
+}
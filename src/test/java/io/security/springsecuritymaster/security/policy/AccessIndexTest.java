@@ -0,0 +1,54 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AccessIndexTest {
+
+  private static final String HIERARCHY = "ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER\n";
+
+  @Test
+  void expandsRolesThroughHierarchy() {
+    AccessIndex index = snapshot(rule(1L, "/user", "ROLE_USER"), rule(2L, "/manager", "ROLE_MANAGER"),
+        rule(3L, "/db", "hasRole('DBA') or hasRole('ADMIN')")).getAccessIndex();
+
+    assertThat(index.forPattern("/user").get(0).getRoles())
+        .containsExactly("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER");
+    assertThat(index.forPattern("/manager").get(0).getRoles()).containsExactly("ROLE_ADMIN", "ROLE_MANAGER");
+    assertThat(index.forPattern("/db").get(0).getRoles()).containsExactly("ROLE_ADMIN", "ROLE_DBA");
+    assertThat(index.forRole("ROLE_USER")).extracting(AccessIndex.Entry::getPattern).containsExactly("/user");
+    assertThat(index.forRole("ROLE_ADMIN")).extracting(AccessIndex.Entry::getPattern)
+        .containsExactly("/user", "/manager", "/db");
+  }
+
+  @Test
+  void classifiesRulesThatDoNotDependOnRoles() {
+    AccessIndex index = snapshot(rule(1L, "/", "permitAll"), rule(2L, "/closed", "denyAll"),
+        rule(3L, "/mypage", "isAuthenticated()"), rule(4L, "/both", "hasRole('USER') and hasRole('DBA')"))
+        .getAccessIndex();
+
+    assertThat(index.forPattern("/").get(0).getReach()).isEqualTo(AccessIndex.Reach.EVERYONE);
+    assertThat(index.forPattern("/closed").get(0).getReach()).isEqualTo(AccessIndex.Reach.NOBODY);
+    assertThat(index.forPattern("/closed").get(0).getRoles()).isEmpty();
+    assertThat(index.forPattern("/mypage").get(0).getReach()).isEqualTo(AccessIndex.Reach.CONDITIONAL);
+    assertThat(index.forPattern("/mypage").get(0).getRoles()).isEmpty();
+    // 역할 하나로는 두 조건을 모두 만족하지 못한다.
+    assertThat(index.forPattern("/both").get(0).getRoles()).isEmpty();
+    assertThat(index.forPattern("/unknown")).isEmpty();
+  }
+
+  private static PolicySnapshot snapshot(PolicyRule... rules) {
+    List<String> roles = List.of("ROLE_USER", "ROLE_MANAGER", "ROLE_DBA", "ROLE_ADMIN");
+    PolicySnapshot.Builder builder = PolicySnapshot.builder().roleIndex(RoleIndex.build(roles, HIERARCHY));
+    for (PolicyRule rule : rules) {
+      builder.add(rule);
+    }
+    return builder.build();
+  }
+
+  private static PolicyRule rule(Long resourceId, String pattern, String attribute) {
+    return PolicyRule.builder().resourceId(resourceId).pattern(pattern).attribute(attribute).build();
+  }
+}
@@ -0,0 +1,104 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.AccountGrantDto;
+import io.security.springsecuritymaster.domain.dto.AccountDto;
+import io.security.springsecuritymaster.security.token.AccountAuthenticationToken;
+import io.security.springsecuritymaster.security.token.RestAuthenticationToken;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class AccountGrantsTest {
+
+  @Test
+  void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+    GrantBloomFilter.Builder builder = GrantBloomFilter.builder(10_000);
+    for (long account = 0; account < 1_000; account++) {
+      for (long resource = 0; resource < 10; resource++) {
+        builder.put(account, resource);
+      }
+    }
+    GrantBloomFilter filter = builder.build();
+
+    for (long account = 0; account < 1_000; account++) {
+      for (long resource = 0; resource < 10; resource++) {
+        assertThat(filter.mightContain(account, resource)).isTrue();
+      }
+    }
+    int falsePositives = 0;
+    for (long account = 1_000; account < 101_000; account++) {
+      if (filter.mightContain(account, 1)) {
+        falsePositives++;
+      }
+    }
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  void accountsWithoutGrantsNeverReadTheirGrants() {
+    AccountResourcesRepository repository = mock(AccountResourcesRepository.class);
+    given(repository.findAllGrants()).willReturn(List.of(new AccountGrantDto(1L, 10L)));
+    AccountGrants grants = new AccountGrants(repository);
+    grants.reload();
+
+    AccountAuthenticationToken token = token(2L);
+    grants.attach(token);
+
+    assertThat(grants.isGranted(token, 10L)).isFalse();
+    verify(repository, never()).findResourceIdsByAccountId(anyLong());
+  }
+
+  @Test
+  void grantChangesApplyToExistingSessions() {
+    AccountResourcesRepository repository = mock(AccountResourcesRepository.class);
+    given(repository.findAllGrants()).willReturn(List.of(new AccountGrantDto(1L, 10L)));
+    given(repository.findResourceIdsByAccountId(1L)).willReturn(List.of(10L));
+    AccountGrants grants = new AccountGrants(repository);
+    grants.reload();
+
+    AccountAuthenticationToken token = token(1L);
+    grants.attach(token);
+    assertThat(grants.isGranted(token, 10L)).isTrue();
+    assertThat(grants.isGranted(token, 11L)).isFalse();
+
+    // 로그인한 상태에서 10 을 회수하고 11 을 허용한다.
+    given(repository.findAllGrants()).willReturn(List.of(new AccountGrantDto(1L, 11L)));
+    given(repository.findResourceIdsByAccountId(1L)).willReturn(List.of(11L));
+    grants.reload();
+
+    assertThat(grants.isGranted(token, 11L)).isTrue();
+    assertThat(grants.isGranted(token, 10L)).isFalse();
+  }
+
+  @Test
+  void restLoginsGetTheSameGrants() {
+    AccountResourcesRepository repository = mock(AccountResourcesRepository.class);
+    given(repository.findAllGrants()).willReturn(List.of(new AccountGrantDto(1L, 10L)));
+    given(repository.findResourceIdsByAccountId(1L)).willReturn(List.of(10L));
+    AccountGrants grants = new AccountGrants(repository);
+    grants.reload();
+
+    AccountDto account = AccountDto.builder().id(1L).username("user1").build();
+    RestAuthenticationToken token = new RestAuthenticationToken(AuthorityUtils.createAuthorityList("ROLE_USER"),
+        account, null);
+    grants.attach(token);
+
+    assertThat(grants.isGranted(token, 10L)).isTrue();
+    assertThat(grants.isGranted(token, 11L)).isFalse();
+    assertThat(grants.isGranted(new RestAuthenticationToken(AuthorityUtils.createAuthorityList("ROLE_USER"),
+        "no-account", null), 10L)).isFalse();
+  }
+
+  private static AccountAuthenticationToken token(Long accountId) {
+    AccountDto account = AccountDto.builder().id(accountId).username("user" + accountId).build();
+    return new AccountAuthenticationToken(account, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+  }
+}
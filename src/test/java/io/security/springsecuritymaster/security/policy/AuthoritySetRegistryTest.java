@@ -0,0 +1,48 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class AuthoritySetRegistryTest {
+
+  @Test
+  void sameAuthoritiesShareOneId() {
+    AuthoritySetRegistry registry = new AuthoritySetRegistry();
+
+    int user = registry.intern(AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_MANAGER"));
+    int sameInOtherOrder = registry.idOf(new TestingAuthenticationToken("b", null, "ROLE_MANAGER", "ROLE_USER"));
+    int admin = registry.intern(AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+    assertThat(user).isEqualTo(sameInOtherOrder).isNotEqualTo(AuthoritySetRegistry.UNKNOWN);
+    assertThat(admin).isNotEqualTo(user).isNotEqualTo(AuthoritySetRegistry.UNKNOWN);
+    assertThat(registry.size()).isEqualTo(2);
+  }
+
+  @Test
+  void registryOverflowsToUnknown() {
+    AuthoritySetRegistry registry = new AuthoritySetRegistry();
+    for (int i = 0; i < AuthoritySetRegistry.MAX_SETS; i++) {
+      assertThat(registry.intern(AuthorityUtils.createAuthorityList("ROLE_" + i)))
+          .isNotEqualTo(AuthoritySetRegistry.UNKNOWN);
+    }
+
+    assertThat(registry.intern(AuthorityUtils.createAuthorityList("ROLE_OVERFLOW")))
+        .isEqualTo(AuthoritySetRegistry.UNKNOWN);
+    assertThat(registry.intern(AuthorityUtils.createAuthorityList("ROLE_0"))).isEqualTo(1);
+    assertThat(registry.size()).isEqualTo(AuthoritySetRegistry.MAX_SETS);
+  }
+
+  @Test
+  void lookupFindsRegisteredSetsWithoutRegisteringNewOnes() {
+    AuthoritySetRegistry registry = new AuthoritySetRegistry();
+    int user = registry.intern(AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    assertThat(registry.lookup(AuthorityUtils.createAuthorityList("ROLE_USER"))).isEqualTo(user);
+    assertThat(registry.lookup(AuthorityUtils.createAuthorityList("ROLE_ARBITRARY")))
+        .isEqualTo(AuthoritySetRegistry.UNCACHED);
+    assertThat(registry.size()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,46 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DecisionTableTest {
+
+  @Test
+  void storesFirstDecisionPerRuleAndAuthoritySet() {
+    DecisionTable table = new DecisionTable(2);
+    assertThat(table.get(0, 1)).isEqualTo(DecisionTable.UNKNOWN);
+
+    table.put(0, 1, true);
+    table.put(0, 2, false);
+
+    assertThat(table.get(0, 1)).isEqualTo(DecisionTable.GRANTED);
+    assertThat(table.get(0, 2)).isEqualTo(DecisionTable.DENIED);
+    assertThat(table.get(1, 1)).isEqualTo(DecisionTable.UNKNOWN);
+  }
+
+  @Test
+  void neverCachesUnknownOrOutOfRangeKeys() {
+    DecisionTable table = new DecisionTable(1);
+    table.put(0, AuthoritySetRegistry.UNKNOWN, true);
+    table.put(0, AuthoritySetRegistry.MAX_SETS + 1, true);
+    table.put(1, 1, true);
+
+    assertThat(table.get(0, AuthoritySetRegistry.UNKNOWN)).isEqualTo(DecisionTable.UNKNOWN);
+    assertThat(table.get(0, AuthoritySetRegistry.MAX_SETS + 1)).isEqualTo(DecisionTable.UNKNOWN);
+    assertThat(table.get(1, 1)).isEqualTo(DecisionTable.UNKNOWN);
+  }
+
+  @Test
+  void rebuiltSnapshotStartsWithEmptyTable() {
+    PolicySnapshot policy = PolicySnapshot.builder()
+        .add(PolicyRule.builder().resourceId(1L).pattern("/admin/**").attribute("ROLE_ADMIN").build())
+        .build();
+    policy.getDecisionTable().put(0, 1, true);
+
+    PolicySnapshot reloaded = policy.toBuilder().build();
+
+    assertThat(policy.getDecisionTable().get(0, 1)).isEqualTo(DecisionTable.GRANTED);
+    assertThat(reloaded.getDecisionTable().get(0, 1)).isEqualTo(DecisionTable.UNKNOWN);
+  }
+}
@@ -0,0 +1,130 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class IpAccessPolicyTest {
+
+  @Test
+  void longestPrefixWinsForIpv4AndIpv6() {
+    IpRadixTree tree = IpRadixTree.builder(4)
+        .insert("10.0.0.0/8", 1)
+        .insert("10.1.0.0/16", 2)
+        .insert("2001:db8::/32", 3)
+        .insert("2001:db8:0:1::/64", 4)
+        .build((inherited, own) -> own);
+
+    assertThat(tree.lookup("10.2.3.4")).isEqualTo(1);
+    assertThat(tree.lookup("10.1.200.7")).isEqualTo(2);
+    assertThat(tree.lookup("11.0.0.1")).isEqualTo(IpRadixTree.NO_MATCH);
+    assertThat(tree.lookup("2001:db8:ffff::1")).isEqualTo(3);
+    assertThat(tree.lookup("2001:DB8:0:1:abcd::9")).isEqualTo(4);
+    assertThat(tree.lookup("2001:db8:0:1::1%eth0")).isEqualTo(4);
+    assertThat(tree.lookup("::ffff:10.1.0.1")).isEqualTo(2);
+    assertThat(tree.lookup("2001:db9::1")).isEqualTo(IpRadixTree.NO_MATCH);
+  }
+
+  @Test
+  void malformedAddressesDoNotMatch() {
+    IpRadixTree tree = IpRadixTree.builder(1).insert("0.0.0.0/0", 1).insert("::/0", 1).build((inherited, own) -> own);
+
+    assertThat(tree.lookup("1.2.3.4")).isEqualTo(1);
+    for (String address : List.of("", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1..2.3", "1:2::3::4", "1:2:3:4:5:6:7:8:9",
+        "gggg::1", "localhost")) {
+      assertThat(tree.lookup(address)).as(address).isEqualTo(IpRadixTree.NO_MATCH);
+    }
+    assertThatThrownBy(() -> IpRadixTree.Prefix.parse("10.0.0.0/33")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void addressHalvesWithOnlyTheTopBitSetAreValid() {
+    IpRadixTree tree = IpRadixTree.builder(2)
+        .insert("8000::/1", 1)
+        .insert("2001:db8::/32", 2)
+        .build((inherited, own) -> own);
+
+    assertThat(tree.lookup("8000::")).isEqualTo(1);
+    assertThat(tree.lookup("2001:db8::8000:0:0:0")).isEqualTo(2);
+    assertThat(tree.lookup("2001:db8:0:0:8000::")).isEqualTo(2);
+    assertThat(IpRadixTree.Prefix.parse("2001:db8::8000:0:0:0/128").getLo()).isEqualTo(Long.MIN_VALUE);
+  }
+
+  @Test
+  void bulkLoadsManyPrefixes() throws Exception {
+    IpRadixTree.Builder builder = IpRadixTree.builder(16);
+    for (int i = 0; i < 100_000; i++) {
+      builder.insert(0L, (0xFFFFL << 32) | (0x0A000000L + ((long) i << 8)), 120, i);
+    }
+    IpRadixTree tree = builder.build((inherited, own) -> own);
+
+    assertThat(tree.size()).isEqualTo(100_000);
+    assertThat(tree.lookup("10.1.134.159")).isEqualTo(0x0186);
+    assertThat(tree.lookup(InetAddress.getByName("10.1.134.1"))).isEqualTo(0x0186);
+  }
+
+  @Test
+  void denyAllBlocksRangeAndPermitAllCarvesOutException() {
+    IpAccessPolicy policy = policy(
+        new UrlRoleDto("203.0.113.0/24", "denyAll"),
+        new UrlRoleDto("203.0.113.8/29", "permitAll"));
+    Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+
+    assertThat(policy.apply(user, "203.0.113.1", RoleIndex.EMPTY)).isNull();
+    assertThat(policy.apply(user, "203.0.113.9", RoleIndex.EMPTY)).isSameAs(user);
+    assertThat(policy.apply(user, "198.51.100.1", RoleIndex.EMPTY)).isSameAs(user);
+  }
+
+  @Test
+  void adminRoleOnlyCountsFromOfficeRanges() {
+    IpAccessPolicy policy = policy(
+        new UrlRoleDto("10.20.0.0/16", "ROLE_ADMIN"),
+        new UrlRoleDto("2001:db8:10::/48", "ROLE_ADMIN"),
+        new UrlRoleDto("10.20.30.0/24", "ROLE_DBA"));
+    Authentication admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN", "ROLE_USER");
+    Authentication dba = new TestingAuthenticationToken("dba", null, "ROLE_ADMIN", "ROLE_DBA");
+
+    assertThat(policy.apply(admin, "10.20.1.1", RoleIndex.EMPTY)).isSameAs(admin);
+    assertThat(policy.apply(admin, "2001:db8:10::5", RoleIndex.EMPTY)).isSameAs(admin);
+    assertThat(authorities(policy.apply(admin, "192.0.2.1", RoleIndex.EMPTY))).containsExactly("ROLE_USER");
+    // 하위 범위는 상위 범위의 역할도 물려받는다.
+    assertThat(policy.apply(dba, "10.20.30.4", RoleIndex.EMPTY)).isSameAs(dba);
+    assertThat(authorities(policy.apply(dba, "10.20.1.1", RoleIndex.EMPTY))).containsExactly("ROLE_ADMIN");
+  }
+
+  @Test
+  void rolesThatImplyARestrictedRoleAreWithheldToo() {
+    IpAccessPolicy policy = policy(new UrlRoleDto("10.20.0.0/16", "ROLE_ADMIN"));
+    RoleIndex roleIndex = RoleIndex.build(List.of(), "ROLE_SUPER > ROLE_ADMIN\nROLE_SUPER > ROLE_AUDITOR\n"
+        + "ROLE_ADMIN > ROLE_USER");
+    Authentication superUser = new TestingAuthenticationToken("root", null, "ROLE_SUPER");
+
+    assertThat(policy.apply(superUser, "10.20.1.1", roleIndex)).isSameAs(superUser);
+    // 밖에서는 ROLE_SUPER 와 ROLE_ADMIN 이 빠지고, 둘이 물려주던 나머지 역할만 남는다.
+    assertThat(authorities(policy.apply(superUser, "192.0.2.1", roleIndex)))
+        .containsExactlyInAnyOrder("ROLE_AUDITOR", "ROLE_USER");
+  }
+
+  private static Set<String> authorities(Authentication authentication) {
+    return AuthorityUtils.authorityListToSet(authentication.getAuthorities());
+  }
+
+  private static IpAccessPolicy policy(UrlRoleDto... ranges) {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResourcesByType(IpAccessPolicy.RESOURCE_TYPE)).willReturn(List.of(ranges));
+    IpAccessPolicy policy = new IpAccessPolicy(resourcesRepository);
+    policy.reload();
+    return policy;
+  }
+}
@@ -0,0 +1,64 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+
+class MethodPolicyTest {
+
+  private static final String SERVICE = AccountService.class.getName();
+  private static final String SERVICE_IMPL = AccountServiceImpl.class.getName();
+
+  private final AuthorizationManager<MethodInvocation> modify = (authentication, invocation) -> new AuthorizationDecision(false);
+  private final AuthorizationManager<MethodInvocation> wildcard = (authentication, invocation) -> new AuthorizationDecision(true);
+
+  @Test
+  void resolvesByImplementationOrInterfaceName() throws NoSuchMethodException {
+    MethodPolicy policy = new MethodPolicy(List.of(
+        rule(1L, 1, SERVICE_IMPL + ".modify", modify),
+        rule(2L, 0, SERVICE + ".*", wildcard)));
+
+    Method modifyMethod = AccountService.class.getMethod("modify");
+    Method readMethod = AccountService.class.getMethod("read");
+
+    assertThat(policy.resolve(modifyMethod, AccountServiceImpl.class)).isSameAs(modify);
+    assertThat(policy.resolve(readMethod, AccountServiceImpl.class)).isSameAs(wildcard);
+    assertThat(policy.resolve(modifyMethod, AccountServiceImpl.class)).isSameAs(modify);
+  }
+
+  @Test
+  void unmatchedMethodsAbstain() throws NoSuchMethodException {
+    MethodPolicy policy = new MethodPolicy(List.of(rule(1L, 1, SERVICE_IMPL + ".modify", modify)));
+
+    assertThat(policy.resolve(AccountService.class.getMethod("read"), AccountServiceImpl.class)).isNull();
+    assertThat(MethodPolicy.EMPTY.resolve(AccountService.class.getMethod("modify"), AccountServiceImpl.class)).isNull();
+  }
+
+  private static MethodRule rule(Long id, int orderNum, String pattern, AuthorizationManager<MethodInvocation> manager) {
+    return MethodRule.builder().resourceId(id).orderNum(orderNum).pattern(pattern).attribute("test").manager(manager)
+        .build();
+  }
+
+  interface AccountService {
+
+    void modify();
+
+    void read();
+  }
+
+  static class AccountServiceImpl implements AccountService {
+
+    @Override
+    public void modify() {
+    }
+
+    @Override
+    public void read() {
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PathTrieTest {
+
+  @Test
+  void candidatesFollowInsertionOrder() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.insert("/admin/**", 1, "admin-all");
+    trie.insert("/admin/users/{id}", 0, "admin-user");
+    trie.insert("/user", 2, "user");
+
+    assertThat(trie.candidates("/admin/users/3")).containsExactly("admin-user", "admin-all");
+    assertThat(trie.candidates("/admin")).containsExactly("admin-all");
+    assertThat(trie.candidates("/user")).containsExactly("user");
+    assertThat(trie.candidates("/manager")).isEmpty();
+  }
+
+  @Test
+  void wildcardSegmentsAreCandidatesForAnySegment() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.insert("/", 0, "root");
+    trie.insert("/favicon.*", 1, "favicon");
+    trie.insert("/*/icon-*", 2, "icon");
+
+    assertThat(trie.candidates("/")).containsExactly("root");
+    assertThat(trie.candidates("/favicon.ico")).containsExactly("favicon");
+    assertThat(trie.candidates("/images/icon-home")).containsExactly("icon");
+  }
+
+  @Test
+  void withAndWithoutLeaveOriginalTrieUntouched() {
+    PathTrie<String> trie = new PathTrie<>();
+    trie.insert("/admin/**", 10, "admin-all");
+    trie.insert("/user", 20, "user");
+
+    PathTrie<String> added = trie.with("/admin/users/{id}", 5, "admin-user");
+    PathTrie<String> removed = added.without("/admin/**", "admin-all");
+
+    assertThat(trie.candidates("/admin/users/3")).containsExactly("admin-all");
+    assertThat(added.candidates("/admin/users/3")).containsExactly("admin-user", "admin-all");
+    assertThat(removed.candidates("/admin/users/3")).containsExactly("admin-user");
+    assertThat(removed.candidates("/admin")).isEmpty();
+    assertThat(removed.candidates("/user")).containsExactly("user");
+    assertThat(removed.size()).isEqualTo(2);
+    assertThat(removed.without("/missing", "user")).isSameAs(removed);
+  }
+
+  @Test
+  void candidatesStayFlatAsMappingsGrow() {
+    // 실행 시간 비교는 CI 에서 흔들리므로 후보 수로 확인한다. 시간은 AuthorizationCheckBenchmark 에서 잰다.
+    for (int mappings : new int[]{10, 50_000}) {
+      PathTrie<String> trie = new PathTrie<>();
+      for (int i = 0; i < mappings; i++) {
+        trie.insert("/module" + i + "/items/{id}", i, "rule" + i);
+      }
+      trie.insert("/**", mappings, "fallback");
+
+      assertThat(trie.candidates("/module" + (mappings - 1) + "/items/42"))
+          .containsExactly("rule" + (mappings - 1), "fallback");
+      assertThat(trie.candidates("/module" + mappings + "/items/42")).containsExactly("fallback");
+    }
+  }
+}
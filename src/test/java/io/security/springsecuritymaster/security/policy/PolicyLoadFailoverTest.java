@@ -0,0 +1,118 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.security.springsecuritymaster.SpringsecuritymasterApplication;
+import io.security.springsecuritymaster.admin.controller.ResourcesController;
+import io.security.springsecuritymaster.domain.dto.ResourcesDto;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 애플리케이션이 TCP 로 붙은 H2 서버를 재로딩 도중에 내려, DB 가 없는 동안 마지막 정책이 유지되고 서버가 돌아오면 재시도로
+ * 복구되는지 확인한다.
+ */
+class PolicyLoadFailoverTest {
+
+  private static final String PATTERN = "/failover/**";
+
+  private int port;
+  private Server server;
+  private ConfigurableApplicationContext context;
+
+  @BeforeEach
+  void setUp() throws IOException, SQLException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    server = startServer();
+    context = new SpringApplicationBuilder(SpringsecuritymasterApplication.class)
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:tcp://localhost:" + port + "/mem:failover;DB_CLOSE_DELAY=-1",
+            "spring.devtools.restart.enabled=false",
+            "security.policy.snapshot-file=",
+            "security.policy.version-poll-interval=PT1H",
+            "security.policy.reconcile-interval=PT1H",
+            "security.policy.load-timeout=PT1S",
+            "security.policy.retry-initial-backoff=PT0.1S",
+            "security.policy.retry-max-backoff=PT0.5S",
+            "security.policy.stale-after=PT0.5S")
+        .run();
+  }
+
+  @AfterEach
+  void tearDown() {
+    context.close();
+    server.stop();
+  }
+
+  @Test
+  void keepsLastKnownGoodPolicyWhileDatabaseIsDown() throws Exception {
+    context.getBean(ResourcesController.class).createResources(ResourcesDto.builder()
+        .resourceName(PATTERN)
+        .resourceType("url")
+        .orderNum(1)
+        .roleName("ROLE_ADMIN")
+        .build());
+
+    CustomDynamicAuthorizationManager manager = context.getBean(CustomDynamicAuthorizationManager.class);
+    PolicyHealthIndicator healthIndicator = context.getBean(PolicyHealthIndicator.class);
+    PolicyLoadState state = manager.getLoadState();
+    Authentication user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+    PolicySnapshot lastKnownGood = manager.getSnapshot();
+    assertThat(hasRule(manager)).isTrue();
+
+    server.stop();
+    long start = System.nanoTime();
+    manager.reload();
+
+    // 커넥션을 얻으려고 멈춰 있는 읽기를 load-timeout 에서 끊는다.
+    assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+    assertThat(manager.getSnapshot()).isSameAs(lastKnownGood);
+    assertThat(manager.isGranted(manager.getSnapshot(), user, HttpMethod.GET, "/failover/orders")).isFalse();
+    assertThat(state.getConsecutiveFailures()).isPositive();
+    assertThat(state.getNextRetryAt()).isNotNull();
+
+    Thread.sleep(600);
+    assertThat(healthIndicator.health().getStatus()).isEqualTo(PolicyHealthIndicator.STALE);
+    assertThat(manager.getSnapshot()).isSameAs(lastKnownGood);
+
+    server = startServer();
+    await(() -> state.getConsecutiveFailures() == 0);
+
+    assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    assertThat(state.getSource()).isEqualTo(PolicyLoadState.Source.DATABASE);
+    assertThat(hasRule(manager)).isTrue();
+  }
+
+  private Server startServer() throws SQLException {
+    return Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+  }
+
+  private static boolean hasRule(CustomDynamicAuthorizationManager manager) {
+    return manager.getSnapshot().getRules().stream().anyMatch(rule -> PATTERN.equals(rule.getPattern()));
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("policy was not reloaded after the database came back")
+          .isLessThan(deadline);
+      Thread.sleep(100);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+class PolicySnapshotFileTest {
+
+  private static final String HIERARCHY = "ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER\n";
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void roundTripsThroughMappedFile() throws Exception {
+    List<UrlRoleDto> urlRoles = List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/api/users", HttpMethod.POST, 5, "hasRole('MANAGER') and hasIpAddress('10.0.0.0/8')"),
+        new UrlRoleDto(3L, "/관리자", HttpMethod.GET, null, "permitAll"));
+    Path path = directory.resolve("policy.snapshot");
+    Files.write(path, PolicySnapshotFile.encode(HIERARCHY, urlRoles, 1234L));
+
+    PolicySnapshotFile.Contents contents = new PolicySnapshotFile(path.toString()).load().orElseThrow();
+
+    assertThat(contents.getSavedAt()).isEqualTo(1234L);
+    assertThat(contents.getHierarchy()).isEqualTo(HIERARCHY);
+    assertThat(contents.getUrlRoles()).usingRecursiveFieldByFieldElementComparator().isEqualTo(urlRoles);
+  }
+
+  @Test
+  void corruptedOrMissingFileIsIgnored() throws Exception {
+    byte[] encoded = PolicySnapshotFile.encode(HIERARCHY, List.of(new UrlRoleDto("/user", "ROLE_USER")), 1L);
+    encoded[encoded.length / 2] ^= 1;
+    assertThatThrownBy(() -> PolicySnapshotFile.decode(ByteBuffer.wrap(encoded)))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    Path path = directory.resolve("policy.snapshot");
+    Files.write(path, encoded);
+    assertThat(new PolicySnapshotFile(path.toString()).load()).isEmpty();
+    assertThat(new PolicySnapshotFile(directory.resolve("missing").toString()).load()).isEmpty();
+    assertThat(new PolicySnapshotFile("").load()).isEmpty();
+  }
+}
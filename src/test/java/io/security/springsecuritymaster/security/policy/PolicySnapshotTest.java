@@ -0,0 +1,51 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PolicySnapshotTest {
+
+  @Test
+  void replacedRulesReuseTheFreedSlots() {
+    PolicySnapshot policy = snapshot(4);
+
+    for (int i = 0; i < 1000; i++) {
+      policy = policy.withResources(Map.of(2L, List.of(rule(2L, "/changed/" + i))));
+    }
+
+    assertThat(policy.getRules()).extracting(PolicyRule::getSlot).containsExactlyInAnyOrder(0, 1, 2, 3);
+    assertThat(policy.candidates(null, "/changed/999")).extracting(PolicyRule::getResourceId).containsExactly(2L);
+    assertThat(policy.candidates(null, "/changed/998")).isEmpty();
+  }
+
+  @Test
+  void removedSlotsAreTakenByLaterAdditions() {
+    PolicySnapshot policy = snapshot(4).withResources(Map.of(1L, List.of()));
+    policy = policy.withResources(Map.of(9L, List.of(rule(9L, "/added"))));
+
+    assertThat(policy.getRules()).extracting(PolicyRule::getSlot).containsExactlyInAnyOrder(0, 1, 2, 3);
+  }
+
+  @Test
+  void compactsWhenFreeSlotsOutnumberRules() {
+    PolicySnapshot policy = snapshot(4).withResources(Map.of(1L, List.of(), 2L, List.of(), 3L, List.of()));
+
+    assertThat(policy.getRules()).extracting(PolicyRule::getSlot).containsExactly(0);
+    assertThat(policy.getRules()).extracting(PolicyRule::getResourceId).containsExactly(4L);
+  }
+
+  private static PolicySnapshot snapshot(int resources) {
+    PolicySnapshot.Builder builder = PolicySnapshot.builder();
+    for (long id = 1; id <= resources; id++) {
+      builder.add(rule(id, "/resource/" + id));
+    }
+    return builder.build();
+  }
+
+  private static PolicyRule rule(long resourceId, String pattern) {
+    return PolicyRule.builder().resourceId(resourceId).pattern(pattern).attribute("ROLE_USER").build();
+  }
+}
@@ -0,0 +1,107 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.security.springsecuritymaster.SpringsecuritymasterApplication;
+import io.security.springsecuritymaster.admin.controller.ResourcesController;
+import io.security.springsecuritymaster.admin.service.ResourcesService;
+import io.security.springsecuritymaster.domain.dto.ResourcesDto;
+import io.security.springsecuritymaster.domain.entity.Resources;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 같은 H2 DB 를 쓰는 두 애플리케이션 컨텍스트로 노드 두 개를 흉내 낸다.
+ */
+class PolicyVersionWatcherTest {
+
+  private static final String PATTERN = "/sync/**";
+  private static final String TENANT = "acme";
+
+  private ConfigurableApplicationContext nodeA;
+  private ConfigurableApplicationContext nodeB;
+
+  @BeforeEach
+  void setUp() {
+    nodeA = startNode();
+    nodeB = startNode();
+  }
+
+  @AfterEach
+  void tearDown() {
+    nodeB.close();
+    nodeA.close();
+  }
+
+  @Test
+  void otherNodePicksUpResourceChanges() throws InterruptedException {
+    ResourcesDto resourcesDto = ResourcesDto.builder()
+        .resourceName(PATTERN)
+        .resourceType("url")
+        .orderNum(1)
+        .roleName("ROLE_ADMIN")
+        .build();
+    nodeA.getBean(ResourcesController.class).createResources(resourcesDto);
+
+    assertThat(hasRule(nodeA)).isTrue();
+    await(() -> hasRule(nodeB));
+
+    Long id = nodeA.getBean(ResourcesService.class).getResources().stream()
+        .filter(resources -> PATTERN.equals(resources.getResourceName()))
+        .map(Resources::getId)
+        .findFirst()
+        .orElseThrow();
+    nodeA.getBean(ResourcesService.class).deleteResources(id);
+
+    await(() -> !hasRule(nodeB));
+  }
+
+  @Test
+  void otherNodeReloadsOnlyTheChangedTenant() throws InterruptedException {
+    CustomDynamicAuthorizationManager managerB = nodeB.getBean(CustomDynamicAuthorizationManager.class);
+    assertThat(managerB.getSnapshot(TENANT).getRules()).isEmpty();
+    await(() -> nodeB.getBean(PolicyVersionWatcher.class).getAppliedVersion() >= 0);
+    PolicySnapshot defaultPolicy = managerB.getSnapshot();
+
+    nodeA.getBean(ResourcesController.class).createResources(ResourcesDto.builder()
+        .resourceName(PATTERN)
+        .resourceType("url")
+        .orderNum(1)
+        .roleName("ROLE_ADMIN")
+        .tenant(TENANT)
+        .build());
+
+    await(() -> managerB.getSnapshot(TENANT).getRules().stream()
+        .anyMatch(rule -> PATTERN.equals(rule.getPattern())));
+    assertThat(managerB.getSnapshot()).isSameAs(defaultPolicy);
+  }
+
+  private ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(SpringsecuritymasterApplication.class)
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:policy-version;DB_CLOSE_DELAY=-1",
+            "spring.devtools.restart.enabled=false",
+            "security.policy.version-poll-interval=PT0.1S",
+            "security.policy.snapshot-file=")
+        .run();
+  }
+
+  private static boolean hasRule(ConfigurableApplicationContext node) {
+    return node.getBean(CustomDynamicAuthorizationManager.class).getSnapshot().getRules().stream()
+        .anyMatch(rule -> PATTERN.equals(rule.getPattern()));
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("policy change did not reach the other node").isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+}
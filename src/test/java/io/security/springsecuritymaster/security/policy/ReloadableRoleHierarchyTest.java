@@ -0,0 +1,62 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class ReloadableRoleHierarchyTest {
+
+  private static final String HIERARCHY = "ROLE_ADMIN > ROLE_MANAGER\nROLE_ADMIN > ROLE_DBA\nROLE_MANAGER > ROLE_USER\n";
+
+  @Test
+  void reachesSameAuthoritiesAsRoleHierarchyImpl() {
+    ReloadableRoleHierarchy reloadable = new ReloadableRoleHierarchy(HIERARCHY);
+    RoleHierarchyImpl expected = new RoleHierarchyImpl();
+    expected.setHierarchy(HIERARCHY);
+
+    for (List<GrantedAuthority> authorities : List.of(
+        AuthorityUtils.createAuthorityList("ROLE_ADMIN"),
+        AuthorityUtils.createAuthorityList("ROLE_MANAGER", "ROLE_DBA"),
+        AuthorityUtils.createAuthorityList("ROLE_USER", "read"),
+        AuthorityUtils.createAuthorityList("ROLE_UNKNOWN"))) {
+      assertThat(names(reloadable.getReachableGrantedAuthorities(authorities)))
+          .containsExactlyInAnyOrderElementsOf(names(expected.getReachableGrantedAuthorities(authorities)));
+    }
+  }
+
+  @Test
+  void repeatedLookupsReuseTheSameResult() {
+    ReloadableRoleHierarchy reloadable = new ReloadableRoleHierarchy(HIERARCHY);
+    List<GrantedAuthority> single = AuthorityUtils.createAuthorityList("ROLE_ADMIN");
+    List<GrantedAuthority> multiple = AuthorityUtils.createAuthorityList("ROLE_MANAGER", "ROLE_DBA");
+
+    assertThat(reloadable.getReachableGrantedAuthorities(single))
+        .isSameAs(reloadable.getReachableGrantedAuthorities(single));
+    assertThat(reloadable.getReachableGrantedAuthorities(multiple))
+        .isSameAs(reloadable.getReachableGrantedAuthorities(multiple));
+  }
+
+  @Test
+  void applySwapsHierarchyAndRejectsCycles() {
+    ReloadableRoleHierarchy reloadable = new ReloadableRoleHierarchy(HIERARCHY);
+    List<GrantedAuthority> dba = AuthorityUtils.createAuthorityList("ROLE_DBA");
+
+    reloadable.apply(HIERARCHY + "ROLE_DBA > ROLE_USER\n");
+    assertThat(names(reloadable.getReachableGrantedAuthorities(dba))).containsExactlyInAnyOrder("ROLE_DBA", "ROLE_USER");
+
+    assertThatThrownBy(() -> reloadable.apply(HIERARCHY + "ROLE_USER > ROLE_ADMIN\n"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("cycle");
+    assertThat(names(reloadable.getReachableGrantedAuthorities(dba))).containsExactlyInAnyOrder("ROLE_DBA", "ROLE_USER");
+  }
+
+  private static List<String> names(Collection<? extends GrantedAuthority> authorities) {
+    return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+  }
+}
@@ -0,0 +1,78 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class RoleIndexTest {
+
+  private static final String HIERARCHY = "ROLE_ADMIN > ROLE_MANAGER\nROLE_MANAGER > ROLE_USER\nROLE_ADMIN > ROLE_DBA";
+
+  @Test
+  void closureIncludesTransitiveChildren() {
+    RoleIndex index = RoleIndex.build(List.of("ROLE_GUEST"), HIERARCHY);
+
+    assertThat(roles(index, index.closureOf(index.idOf("ROLE_ADMIN"))))
+        .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER", "ROLE_DBA");
+    assertThat(roles(index, index.closureOf(index.idOf("ROLE_MANAGER"))))
+        .containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_USER");
+    assertThat(roles(index, index.closureOf(index.idOf("ROLE_GUEST")))).containsExactly("ROLE_GUEST");
+    assertThat(index.closureOf(index.idOf("ROLE_UNKNOWN"))).isEmpty();
+  }
+
+  @Test
+  void cyclesDoNotLoopForever() {
+    RoleIndex index = RoleIndex.build(List.of(), "ROLE_A > ROLE_B\nROLE_B > ROLE_A");
+
+    assertThat(roles(index, index.closureOf(index.idOf("ROLE_A")))).containsExactlyInAnyOrder("ROLE_A", "ROLE_B");
+  }
+
+  @Test
+  void bitsetsSpanMoreThanOneWord() {
+    StringBuilder chain = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      chain.append("ROLE_").append(i).append(" > ROLE_").append(i + 1).append('\n');
+    }
+    RoleIndex index = RoleIndex.build(List.of(), chain.toString());
+    long[] top = index.closureOf(index.idOf("ROLE_0"));
+
+    assertThat(top).hasSize(2);
+    assertThat(RoleIndex.contains(top, index.idOf("ROLE_100"))).isTrue();
+    assertThat(RoleIndex.contains(index.closureOf(index.idOf("ROLE_70")), index.idOf("ROLE_69"))).isFalse();
+  }
+
+  @Test
+  void expandUnionsClosuresOfAllAuthorities() {
+    RoleIndex index = RoleIndex.build(List.of("ROLE_AUDITOR"), HIERARCHY);
+
+    long[] bits = index.expand(AuthoritySetRegistry.UNKNOWN,
+        AuthorityUtils.createAuthorityList("ROLE_MANAGER", "ROLE_AUDITOR", "ROLE_NOT_INDEXED"));
+
+    assertThat(roles(index, bits)).containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_USER", "ROLE_AUDITOR");
+  }
+
+  @Test
+  void withRolesKeepsIndexWhenNothingIsNew() {
+    RoleIndex index = RoleIndex.build(List.of("ROLE_GUEST"), HIERARCHY);
+
+    assertThat(index.withRoles(List.of("ROLE_USER", "ROLE_GUEST"))).isSameAs(index);
+    RoleIndex extended = index.withRoles(List.of("ROLE_NEW"));
+    assertThat(extended).isNotSameAs(index);
+    assertThat(extended.idOf("ROLE_NEW")).isNotNegative();
+    assertThat(roles(extended, extended.closureOf(extended.idOf("ROLE_MANAGER"))))
+        .containsExactlyInAnyOrder("ROLE_MANAGER", "ROLE_USER");
+  }
+
+  private static List<String> roles(RoleIndex index, long[] bits) {
+    List<String> roles = new ArrayList<>();
+    for (String name : index.getNames()) {
+      if (RoleIndex.contains(bits, index.idOf(name))) {
+        roles.add(name);
+      }
+    }
+    return roles;
+  }
+}
@@ -0,0 +1,56 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.security.springsecuritymaster.security.policy.RuleExpression.Kind;
+import org.junit.jupiter.api.Test;
+
+class RuleClassifierTest {
+
+  @Test
+  void simpleFormsAreClassified() {
+    assertThat(kind("permitAll")).isEqualTo(Kind.PERMIT_ALL);
+    assertThat(kind("denyAll")).isEqualTo(Kind.DENY_ALL);
+    assertThat(kind("authenticated")).isEqualTo(Kind.AUTHENTICATED);
+    assertThat(kind("isAuthenticated()")).isEqualTo(Kind.AUTHENTICATED);
+    assertThat(kind("isAnonymous()")).isEqualTo(Kind.ANONYMOUS);
+    assertThat(kind("hasIpAddress('192.168.1.0/24')")).isEqualTo(Kind.HAS_IP_ADDRESS);
+
+    RuleExpression hasRole = RuleClassifier.classify("hasRole('DBA')").orElseThrow();
+    assertThat(hasRole.getKind()).isEqualTo(Kind.HAS_ANY_AUTHORITY);
+    assertThat(hasRole.getValues()).containsExactly("ROLE_DBA");
+    assertThat(RuleClassifier.classify("hasAnyRole('ROLE_ADMIN', \"MANAGER\")").orElseThrow().getValues())
+        .containsExactly("ROLE_ADMIN", "ROLE_MANAGER");
+    assertThat(RuleClassifier.classify("hasAuthority('read')").orElseThrow().getValues()).containsExactly("read");
+  }
+
+  @Test
+  void andOrCombinationsAreFlattened() {
+    RuleExpression expression = RuleClassifier
+        .classify("hasRole('DBA') or hasRole('MANAGER') OR (isAuthenticated() && hasIpAddress('10.0.0.1'))")
+        .orElseThrow();
+
+    assertThat(expression.getKind()).isEqualTo(Kind.ANY_OF);
+    assertThat(expression.getChildren()).extracting(RuleExpression::getKind)
+        .containsExactly(Kind.HAS_ANY_AUTHORITY, Kind.HAS_ANY_AUTHORITY, Kind.ALL_OF);
+    assertThat(expression.getAuthorities()).containsExactly("ROLE_DBA", "ROLE_MANAGER");
+    assertThat(expression.isAuthorityOnly()).isFalse();
+    assertThat(RuleClassifier.classify("hasRole('A') and hasAuthority('b')").orElseThrow().isAuthorityOnly()).isTrue();
+  }
+
+  @Test
+  void complexExpressionsAreLeftToSpel() {
+    assertThat(RuleClassifier.classify("!hasRole('DBA')")).isEmpty();
+    assertThat(RuleClassifier.classify("not hasRole('DBA')")).isEmpty();
+    assertThat(RuleClassifier.classify("@webSecurity.check(authentication, request)")).isEmpty();
+    assertThat(RuleClassifier.classify("hasRole(#role)")).isEmpty();
+    assertThat(RuleClassifier.classify("hasRole('A', 'B')")).isEmpty();
+    assertThat(RuleClassifier.classify("hasRole('DBA') or")).isEmpty();
+    assertThat(RuleClassifier.classify("(hasRole('DBA')")).isEmpty();
+    assertThat(RuleClassifier.classify("principal.username == 'admin'")).isEmpty();
+  }
+
+  private static Kind kind(String expression) {
+    return RuleClassifier.classify(expression).orElseThrow().getKind();
+  }
+}
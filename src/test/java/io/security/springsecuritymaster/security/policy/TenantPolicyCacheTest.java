@@ -0,0 +1,140 @@
+package io.security.springsecuritymaster.security.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TenantPolicyCacheTest {
+
+  private static final long SNAPSHOT_BYTES = PolicySnapshot.builder().build().estimatedBytes();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final Map<String, Integer> loads = new ConcurrentHashMap<>();
+  private final Function<String, PolicySnapshot> loader = tenant -> {
+    loads.merge(tenant, 1, Integer::sum);
+    return PolicySnapshot.builder().build();
+  };
+
+  @Test
+  void loadsTenantsLazilyAndServesHitsFromCache() {
+    TenantPolicyCache cache = new TenantPolicyCache(loader, Long.MAX_VALUE, Duration.ofSeconds(1), clock::get);
+
+    PolicySnapshot first = cache.get("a");
+    assertThat(cache.get("a")).isSameAs(first);
+    assertThat(loads).containsExactly(Map.entry("a", 1));
+  }
+
+  @Test
+  void reloadRebuildsOnlyThatTenant() {
+    TenantPolicyCache cache = new TenantPolicyCache(loader, Long.MAX_VALUE, Duration.ofSeconds(1), clock::get);
+    PolicySnapshot a = cache.get("a");
+    PolicySnapshot b = cache.get("b");
+
+    cache.reload("a");
+    cache.reload("c");
+
+    assertThat(cache.get("a")).isNotSameAs(a);
+    assertThat(cache.get("b")).isSameAs(b);
+    assertThat(loads).containsOnly(Map.entry("a", 2), Map.entry("b", 1));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedTenantOverBudget() {
+    TenantPolicyCache cache = new TenantPolicyCache(loader, 2 * SNAPSHOT_BYTES, Duration.ofSeconds(1), clock::get);
+    cache.get("a");
+    clock.set(Duration.ofMillis(10).toNanos());
+    cache.get("b");
+    clock.set(Duration.ofMillis(20).toNanos());
+    cache.get("a");
+    clock.set(Duration.ofMillis(30).toNanos());
+    cache.get("c");
+
+    assertThat(cache.getCachedTenants()).containsExactlyInAnyOrder("a", "c");
+    assertThat(cache.getUsedBytes()).isEqualTo(2 * SNAPSHOT_BYTES);
+
+    cache.get("b");
+    assertThat(loads.get("b")).isEqualTo(2);
+  }
+
+  @Test
+  void failedReloadKeepsPreviousSnapshot() {
+    boolean[] failing = {false};
+    TenantPolicyCache cache = new TenantPolicyCache(tenant -> {
+      if (failing[0]) {
+        throw new IllegalStateException("database down");
+      }
+      return PolicySnapshot.builder().build();
+    }, Long.MAX_VALUE, Duration.ofSeconds(1), clock::get);
+    PolicySnapshot loaded = cache.get("a");
+
+    failing[0] = true;
+    cache.reload("a");
+
+    assertThat(cache.get("a")).isSameAs(loaded);
+  }
+
+  @Test
+  void failedFirstLoadDeniesUntilBackoffElapses() {
+    int[] attempts = {0};
+    TenantPolicyCache cache = new TenantPolicyCache(tenant -> {
+      if (attempts[0]++ == 0) {
+        throw new IllegalStateException("database down");
+      }
+      return PolicySnapshot.builder().build();
+    }, Long.MAX_VALUE, Duration.ofSeconds(1), clock::get);
+
+    assertThat(cache.get("a")).isSameAs(PolicySnapshot.EMPTY);
+    assertThat(cache.get("a")).isSameAs(PolicySnapshot.EMPTY);
+    assertThat(attempts[0]).isEqualTo(1);
+
+    clock.set(Duration.ofSeconds(1).toNanos());
+    assertThat(cache.get("a")).isNotSameAs(PolicySnapshot.EMPTY);
+  }
+
+  @Test
+  void resolvesTenantFromHostBeforeKnownHeader() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findTenants()).willReturn(List.of("acme"));
+    TenantResolver resolver = new TenantResolver(resourcesRepository);
+    ReflectionTestUtils.setField(resolver, "hostMappings", new String[]{"shop.example.com=globex"});
+    resolver.reload();
+
+    assertThat(resolver.resolve("acme", "localhost")).isEqualTo("acme");
+    assertThat(resolver.resolve("unknown", "localhost")).isNull();
+    assertThat(resolver.resolve(null, "Shop.Example.com")).isEqualTo("globex");
+    assertThat(resolver.resolve("acme", "shop.example.com")).isEqualTo("globex");
+    assertThat(resolver.resolve("globex", null)).isEqualTo("globex");
+  }
+
+  @Test
+  void tenantHeaderIsReadOnlyFromTrustedProxies() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findTenants()).willReturn(List.of("acme"));
+    TenantResolver resolver = new TenantResolver(resourcesRepository);
+    ReflectionTestUtils.setField(resolver, "header", "X-Tenant-Id");
+    resolver.reload();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+    request.setRemoteAddr("10.0.0.1");
+    request.addHeader("X-Tenant-Id", "acme");
+
+    assertThat(resolver.resolve(request)).isNull();
+
+    ReflectionTestUtils.setField(resolver, "trustedProxyRanges", new String[]{"10.0.0.0/24"});
+    resolver.reload();
+
+    assertThat(resolver.resolve(request)).isEqualTo("acme");
+    request.setRemoteAddr("10.0.1.1");
+    assertThat(resolver.resolve(request)).isNull();
+  }
+}
@@ -0,0 +1,132 @@
+package io.security.springsecuritymaster.security.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.security.springsecuritymaster.admin.repository.AccountResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.ResourcesRepository;
+import io.security.springsecuritymaster.admin.repository.qdto.AccountGrantDto;
+import io.security.springsecuritymaster.admin.repository.qdto.UrlRoleDto;
+import io.security.springsecuritymaster.domain.entity.Account;
+import io.security.springsecuritymaster.security.manager.AuthorizationManagerFixture;
+import io.security.springsecuritymaster.security.manager.CustomDynamicAuthorizationManager;
+import io.security.springsecuritymaster.security.policy.AccountGrants;
+import io.security.springsecuritymaster.security.policy.AuthoritySetRegistry;
+import io.security.springsecuritymaster.users.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AuthorizationDecisionServiceTest {
+
+  private AuthorizationDecisionService service;
+  private AuthoritySetRegistry authoritySetRegistry;
+
+  @BeforeEach
+  void setUp() {
+    ResourcesRepository resourcesRepository = mock(ResourcesRepository.class);
+    given(resourcesRepository.findAllResources()).willReturn(List.of(
+        new UrlRoleDto(1L, "/admin/**", null, 10, "ROLE_ADMIN"),
+        new UrlRoleDto(2L, "/user", null, 5, "ROLE_USER"),
+        new UrlRoleDto(3L, "/orders/{id}", HttpMethod.DELETE, 5, "hasRole('MANAGER')"),
+        new UrlRoleDto(4L, "/mypage", null, 5, "isAuthenticated()"),
+        new UrlRoleDto(5L, "/", null, 0, "permitAll")));
+    given(resourcesRepository.findAllResourcesByTenant("acme")).willReturn(List.of(
+        new UrlRoleDto(6L, "/admin/**", null, 10, "ROLE_USER")));
+
+    authoritySetRegistry = new AuthoritySetRegistry();
+    AccountResourcesRepository accountResourcesRepository = mock(AccountResourcesRepository.class);
+    given(accountResourcesRepository.findAllGrants()).willReturn(List.of(new AccountGrantDto(7L, 1L)));
+    given(accountResourcesRepository.findResourceIdsByAccountId(7L)).willReturn(List.of(1L));
+    AccountGrants accountGrants = new AccountGrants(accountResourcesRepository);
+    accountGrants.reload();
+    CustomDynamicAuthorizationManager manager = AuthorizationManagerFixture.of(resourcesRepository)
+        .authoritySetRegistry(authoritySetRegistry)
+        .accountGrants(accountGrants)
+        .build();
+    Account acmeAccount = new Account("acme-user", null, 0);
+    acmeAccount.setId(9L);
+    acmeAccount.setTenant("acme");
+    UserRepository userRepository = mock(UserRepository.class);
+    given(userRepository.findAllById(any())).willReturn(List.of(acmeAccount));
+    service = new AuthorizationDecisionService(manager, authoritySetRegistry, accountGrants, userRepository,
+        new ObjectMapper());
+  }
+
+  @Test
+  void decisionsFollowTupleOrder() throws IOException {
+    boolean[] granted = decide("""
+        {"tuples": [[0, "GET", "/user"], [1, "GET", "/user"], [1, "GET", "/admin/users"],
+                    [2, "DELETE", "/orders/3"], [0, "DELETE", "/orders/3"], [2, "GET", "/orders/3"],
+                    [3, "GET", "/mypage"], [0, "GET", "/mypage"], [3, "GET", "/"]],
+         "authorities": [["ROLE_USER"], ["ROLE_ADMIN"], ["ROLE_MANAGER", "ROLE_USER"], null]}
+        """);
+
+    assertThat(granted).containsExactly(true, false, true, true, false, true, false, true, true);
+  }
+
+  @Test
+  void callerSuppliedAuthoritySetsAreNotInternedGlobally() throws IOException {
+    StringBuilder authorities = new StringBuilder();
+    StringBuilder tuples = new StringBuilder();
+    for (int i = 0; i <= AuthoritySetRegistry.MAX_SETS; i++) {
+      authorities.append(i > 0 ? "," : "").append("[\"ROLE_ADMIN\", \"ROLE_").append(i).append("\"]");
+      tuples.append(i > 0 ? "," : "").append("[").append(i).append(", \"GET\", \"/admin/users\"]");
+    }
+
+    boolean[] granted = decide("{\"authorities\": [" + authorities + "], \"tuples\": [" + tuples + "]}");
+
+    assertThat(granted).hasSize(AuthoritySetRegistry.MAX_SETS + 1).doesNotContain(false);
+    assertThat(authoritySetRegistry.size()).isZero();
+    assertThat(authoritySetRegistry.intern(AuthorityUtils.createAuthorityList("ROLE_USER")))
+        .isNotEqualTo(AuthoritySetRegistry.UNKNOWN);
+  }
+
+  @Test
+  void accountIdAppliesDirectGrants() throws IOException {
+    boolean[] granted = decide("""
+        {"authorities": [{"accountId": 7, "authorities": ["ROLE_USER"]}, {"accountId": 8, "authorities": ["ROLE_USER"]},
+                         ["ROLE_USER"]],
+         "tuples": [[0, "GET", "/admin/users"], [1, "GET", "/admin/users"], [2, "GET", "/admin/users"],
+                    [0, "GET", "/user"]]}
+        """);
+
+    assertThat(granted).containsExactly(true, false, false, true);
+  }
+
+  @Test
+  void accountIdSelectsTheAccountsTenantPolicy() throws IOException {
+    boolean[] granted = decide("""
+        {"authorities": [{"accountId": 9, "authorities": ["ROLE_USER"]}, ["ROLE_USER"]],
+         "tuples": [[0, "GET", "/admin/users"], [1, "GET", "/admin/users"]]}
+        """);
+
+    assertThat(granted).containsExactly(true, false);
+  }
+
+  @Test
+  void rejectsMalformedBatches() {
+    assertThatThrownBy(() -> decide("{\"authorities\": [[\"ROLE_USER\"]], \"tuples\": [[1, \"GET\", \"/\"]]}"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> decide("{\"authorities\": [[\"ROLE_USER\"]], \"tuples\": [[0, \"/\"]]}"))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    ReflectionTestUtils.setField(service, "maxBatchSize", 1);
+    assertThatThrownBy(() -> decide("{\"authorities\": [null], \"tuples\": [[0, \"GET\", \"/\"], [0, \"GET\", \"/\"]]}"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private boolean[] decide(String json) throws IOException {
+    return service.decide(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+  }
+}